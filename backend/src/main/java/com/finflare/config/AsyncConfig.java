@@ -0,0 +1,114 @@
+package com.finflare.config;
+
+import com.finflare.util.KeyedSerialExecutor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import reactor.core.scheduler.Scheduler;
+import reactor.core.scheduler.Schedulers;
+
+import java.util.concurrent.ThreadPoolExecutor;
+
+@Configuration
+public class AsyncConfig {
+
+    @Value("${app.alerts.mail.pool-size:2}")
+    private int mailPoolSize;
+
+    @Value("${app.alerts.mail.queue-capacity:100}")
+    private int mailQueueCapacity;
+
+    @Value("${app.gamification.lanes:8}")
+    private int gamificationLanes;
+
+    @Value("${app.gamification.queue-capacity:1000}")
+    private int gamificationQueueCapacity;
+
+    @Value("${app.security.hashing.pool-size:0}")
+    private int hashingPoolSize;
+
+    @Value("${app.security.hashing.queue-capacity:64}")
+    private int hashingQueueCapacity;
+
+    @Value("${app.budgets.reconcile.parallelism:4}")
+    private int reconcileParallelism;
+
+    @Value("${app.mvc.async.pool-size:16}")
+    private int mvcPoolSize;
+
+    // Keep at or below the JDBC pool size so blocking reads never wait on a connection
+    @Value("${app.db.scheduler.threads:10}")
+    private int dbSchedulerThreads;
+
+    @Value("${app.db.scheduler.queue-capacity:1000}")
+    private int dbSchedulerQueueCapacity;
+
+    @Bean(name = "mailExecutor")
+    public ThreadPoolTaskExecutor mailExecutor() {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(mailPoolSize);
+        executor.setMaxPoolSize(mailPoolSize);
+        executor.setQueueCapacity(mailQueueCapacity);
+        executor.setThreadNamePrefix("mail-");
+        // Rejected digests stay PENDING and are picked up on the next run
+        executor.setRejectedExecutionHandler(new ThreadPoolExecutor.AbortPolicy());
+        executor.setWaitForTasksToCompleteOnShutdown(true);
+        executor.setAwaitTerminationSeconds(30);
+        executor.initialize();
+        return executor;
+    }
+
+    @Bean(name = "gamificationExecutor", destroyMethod = "shutdown")
+    public KeyedSerialExecutor gamificationExecutor() {
+        return new KeyedSerialExecutor("gamification-", gamificationLanes, gamificationQueueCapacity);
+    }
+
+    @Bean(name = "passwordHashExecutor")
+    public ThreadPoolTaskExecutor passwordHashExecutor() {
+        // Defaults to half the cores so hashing can't take the whole CPU from other endpoints
+        int poolSize = hashingPoolSize > 0
+                ? hashingPoolSize
+                : Math.max(1, Runtime.getRuntime().availableProcessors() / 2);
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(poolSize);
+        executor.setMaxPoolSize(poolSize);
+        executor.setQueueCapacity(hashingQueueCapacity);
+        executor.setThreadNamePrefix("password-hash-");
+        // Rejections surface as 429 from AuthController
+        executor.setRejectedExecutionHandler(new ThreadPoolExecutor.AbortPolicy());
+        executor.initialize();
+        return executor;
+    }
+
+    // Reconciliation workers block on JDBC and sleep between partitions, so they get their own threads
+    @Bean(name = "reconciliationExecutor")
+    public ThreadPoolTaskExecutor reconciliationExecutor() {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(reconcileParallelism);
+        executor.setMaxPoolSize(reconcileParallelism);
+        // Only one run at a time submits one worker per thread
+        executor.setQueueCapacity(reconcileParallelism);
+        executor.setThreadNamePrefix("reconcile-");
+        executor.setRejectedExecutionHandler(new ThreadPoolExecutor.AbortPolicy());
+        executor.initialize();
+        return executor;
+    }
+
+    // Writes reactive (Mono/Flux) controller results back to the servlet response
+    @Bean(name = "mvcTaskExecutor")
+    public ThreadPoolTaskExecutor mvcTaskExecutor() {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(mvcPoolSize);
+        executor.setMaxPoolSize(mvcPoolSize);
+        executor.setThreadNamePrefix("mvc-async-");
+        executor.initialize();
+        return executor;
+    }
+
+    // Runs blocking JPA calls for reactive endpoints so request threads are released up front
+    @Bean(name = "dbScheduler", destroyMethod = "dispose")
+    public Scheduler dbScheduler() {
+        return Schedulers.newBoundedElastic(dbSchedulerThreads, dbSchedulerQueueCapacity, "db");
+    }
+}
\ No newline at end of file
@@ -0,0 +1,28 @@
+package com.finflare.config;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.web.servlet.config.annotation.AsyncSupportConfigurer;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+@Configuration
+public class WebMvcConfig implements WebMvcConfigurer {
+
+    @Autowired
+    @Qualifier("mvcTaskExecutor")
+    private ThreadPoolTaskExecutor mvcTaskExecutor;
+
+    // Streaming responses (SSE) stay open until the provider finishes
+    @Value("${app.mvc.async.timeout-ms:120000}")
+    private long asyncTimeoutMs;
+
+    @Override
+    public void configureAsyncSupport(AsyncSupportConfigurer configurer) {
+        // The custom executors in AsyncConfig switch off Boot's default applicationTaskExecutor
+        configurer.setTaskExecutor(mvcTaskExecutor);
+        configurer.setDefaultTimeout(asyncTimeoutMs);
+    }
+}
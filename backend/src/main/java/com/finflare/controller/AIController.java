@@ -5,17 +5,19 @@ import com.finflare.dto.ChatResponse;
 import com.finflare.dto.ExpenseCategorizeRequest;
 import com.finflare.security.UserPrincipal;
 import com.finflare.service.AIService;
-import com.finflare.service.ExpenseService;
+import com.finflare.service.AiInsightService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.http.codec.ServerSentEvent;
 import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.web.bind.annotation.*;
+import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 
-import java.util.List;
 import java.util.Map;
 
 @RestController
@@ -27,7 +29,7 @@ public class AIController {
     private AIService aiService;
 
     @Autowired
-    private ExpenseService expenseService;
+    private AiInsightService aiInsightService;
 
     @PostMapping("/chat")
     @Operation(summary = "Chat with AI financial assistant")
@@ -42,6 +44,17 @@ public class AIController {
                 .map(response -> ResponseEntity.ok(new ChatResponse(response)));
     }
 
+    @PostMapping(value = "/chat/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    @Operation(summary = "Chat with AI financial assistant, streaming the reply as server-sent events")
+    public Flux<ServerSentEvent<String>> chatStream(
+            @Valid @RequestBody ChatRequest request,
+            @AuthenticationPrincipal UserPrincipal userPrincipal) {
+
+        String userContext = String.format("User ID: %d", userPrincipal.getId());
+
+        return aiService.streamChatbotResponse(request.getMessage(), userContext);
+    }
+
     @PostMapping("/categorize")
     @Operation(summary = "Auto-categorize expense using AI")
     public Mono<ResponseEntity<Map<String, String>>> categorizeExpense(
@@ -57,10 +70,8 @@ public class AIController {
             @AuthenticationPrincipal UserPrincipal userPrincipal,
             @RequestParam(defaultValue = "30") int days) {
         
-        List<Map<String, Object>> recentExpenses = expenseService.getRecentExpensesForAnalysis(
-                userPrincipal.getId(), days);
-        
-        return aiService.analyzeSpendingPattern(recentExpenses)
+        // DB work runs on dbScheduler, so the request thread is free for the whole call
+        return aiInsightService.getSpendingAnalysis(userPrincipal.getId(), days)
                 .map(analysis -> ResponseEntity.ok(new ChatResponse(analysis)));
     }
 
@@ -70,10 +81,7 @@ public class AIController {
             @AuthenticationPrincipal UserPrincipal userPrincipal,
             @RequestParam(required = false, defaultValue = "0") double monthlyIncome) {
         
-        Map<String, Double> categorySpending = expenseService.getCategorySpendingForCurrentMonth(
-                userPrincipal.getId());
-        
-        return aiService.generateBudgetAdvice(monthlyIncome, categorySpending)
+        return aiInsightService.getBudgetAdvice(userPrincipal.getId(), monthlyIncome)
                 .map(advice -> ResponseEntity.ok(new ChatResponse(advice)));
     }
 
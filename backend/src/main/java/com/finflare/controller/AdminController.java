@@ -0,0 +1,89 @@
+package com.finflare.controller;
+
+import com.finflare.dto.ReconciliationReport;
+import com.finflare.pricing.MarkToMarketService;
+import com.finflare.security.UserPrincipal;
+import com.finflare.security.UserStatusCache;
+import com.finflare.service.AIService;
+import com.finflare.service.BudgetReconciliationService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.Map;
+
+@RestController
+@RequestMapping("/admin")
+@PreAuthorize("hasRole('ADMIN')")
+@Tag(name = "Administration", description = "Maintenance jobs for administrators")
+public class AdminController {
+
+    @Autowired
+    private BudgetReconciliationService reconciliationService;
+
+    @Autowired
+    private UserStatusCache userStatusCache;
+
+    @Autowired
+    private AIService aiService;
+
+    @Autowired
+    private MarkToMarketService markToMarketService;
+
+    @PostMapping("/budgets/reconciliation")
+    @Operation(summary = "Start or resume budget spent-amount reconciliation")
+    public ResponseEntity<ReconciliationReport> startReconciliation(
+            @AuthenticationPrincipal UserPrincipal userPrincipal) {
+        ReconciliationReport report = reconciliationService.startOrResume(userPrincipal.getUsername());
+        return ResponseEntity.accepted().body(report);
+    }
+
+    @GetMapping("/budgets/reconciliation/{runId}")
+    @Operation(summary = "Get the drift report of a reconciliation run")
+    public ResponseEntity<ReconciliationReport> getReconciliationReport(@PathVariable Long runId) {
+        return ResponseEntity.ok(reconciliationService.getReport(runId));
+    }
+
+    @PostMapping("/users/{userId}/disable")
+    @Operation(summary = "Disable a user account and reject its tokens")
+    public ResponseEntity<Void> disableUser(@PathVariable Long userId) {
+        userStatusCache.disableUser(userId);
+        return ResponseEntity.noContent().build();
+    }
+
+    @PostMapping("/users/{userId}/enable")
+    @Operation(summary = "Re-enable a disabled user account")
+    public ResponseEntity<Void> enableUser(@PathVariable Long userId) {
+        userStatusCache.enableUser(userId);
+        return ResponseEntity.noContent().build();
+    }
+
+    @PostMapping("/users/{userId}/revoke-tokens")
+    @Operation(summary = "Reject all access tokens issued to a user so far")
+    public ResponseEntity<Void> revokeTokens(@PathVariable Long userId) {
+        userStatusCache.revokeTokens(userId);
+        return ResponseEntity.noContent().build();
+    }
+
+    @GetMapping("/ai/cache-stats")
+    @Operation(summary = "Get AI response cache hit ratio and tokens saved")
+    public ResponseEntity<Map<String, Object>> getAiCacheStats() {
+        return ResponseEntity.ok(aiService.getCacheStats());
+    }
+
+    @GetMapping("/ai/provider-stats")
+    @Operation(summary = "Get LLM provider concurrency and latency statistics")
+    public ResponseEntity<Map<String, Object>> getAiProviderStats() {
+        return ResponseEntity.ok(aiService.getProviderStats());
+    }
+
+    @GetMapping("/prices/stats")
+    @Operation(summary = "Get price feed and mark-to-market statistics")
+    public ResponseEntity<Map<String, Object>> getPriceStats() {
+        return ResponseEntity.ok(markToMarketService.getStats());
+    }
+}
@@ -3,12 +3,23 @@ package com.finflare.controller;
 import com.finflare.dto.JwtResponse;
 import com.finflare.dto.LoginRequest;
 import com.finflare.dto.SignupRequest;
+import com.finflare.dto.TokenRefreshRequest;
+import com.finflare.dto.UserIdentity;
 import com.finflare.model.User;
 import com.finflare.repository.UserRepository;
+import com.finflare.security.CurrentUser;
+import com.finflare.security.InvalidRefreshTokenException;
 import com.finflare.security.JwtUtils;
+import com.finflare.security.PasswordHashingBusyException;
+import com.finflare.security.PasswordHashingService;
+import com.finflare.security.RefreshTokenService;
+import com.finflare.security.TokenRevocationService;
 import com.finflare.security.UserPrincipal;
+import io.jsonwebtoken.Claims;
 import jakarta.validation.Valid;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
@@ -36,23 +47,92 @@ public class AuthController {
     @Autowired
     JwtUtils jwtUtils;
 
+    @Autowired
+    RefreshTokenService refreshTokenService;
+
+    @Autowired
+    TokenRevocationService tokenRevocationService;
+
+    @Autowired
+    CurrentUser currentUser;
+
+    @Autowired
+    PasswordHashingService passwordHashingService;
+
     @PostMapping("/signin")
     public ResponseEntity<?> authenticateUser(@Valid @RequestBody LoginRequest loginRequest) {
-        Authentication authentication = authenticationManager.authenticate(
-                new UsernamePasswordAuthenticationToken(loginRequest.getUsername(), loginRequest.getPassword()));
+        Authentication authentication;
+        try {
+            authentication = passwordHashingService.call(() -> authenticationManager.authenticate(
+                    new UsernamePasswordAuthenticationToken(loginRequest.getUsername(), loginRequest.getPassword())));
+        } catch (PasswordHashingBusyException e) {
+            return tooManyRequests(e);
+        }
 
         SecurityContextHolder.getContext().setAuthentication(authentication);
         String jwt = jwtUtils.generateJwtToken(authentication);
 
         UserPrincipal userDetails = (UserPrincipal) authentication.getPrincipal();
-        User user = userRepository.findById(userDetails.getId()).orElse(null);
 
-        return ResponseEntity.ok(new JwtResponse(jwt,
+        JwtResponse jwtResponse = new JwtResponse(jwt,
                 userDetails.getId(),
                 userDetails.getUsername(),
                 userDetails.getEmail(),
-                user != null ? user.getFirstName() : null,
-                user != null ? user.getLastName() : null));
+                userDetails.getFirstName(),
+                userDetails.getLastName());
+        jwtResponse.setRefreshToken(refreshTokenService.issue(userDetails.getId()));
+        jwtResponse.setExpiresIn(jwtUtils.getJwtExpirationMs() / 1000L);
+        return ResponseEntity.ok(jwtResponse);
+    }
+
+    @PostMapping("/refresh")
+    public ResponseEntity<?> refreshToken(@Valid @RequestBody TokenRefreshRequest request) {
+        RefreshTokenService.Rotation rotation;
+        try {
+            rotation = refreshTokenService.rotate(request.getRefreshToken());
+        } catch (InvalidRefreshTokenException e) {
+            Map<String, String> response = new HashMap<>();
+            response.put("message", "Error: " + e.getMessage());
+            return ResponseEntity.status(HttpStatus.UNAUTHORIZED).body(response);
+        }
+
+        User user = userRepository.findById(rotation.getUserId()).orElse(null);
+        if (user == null || !user.isEnabled()) {
+            refreshTokenService.revoke(rotation.getRefreshToken());
+            Map<String, String> response = new HashMap<>();
+            response.put("message", "Error: Account is not active");
+            return ResponseEntity.status(HttpStatus.UNAUTHORIZED).body(response);
+        }
+
+        // Role and email are re-read here, so changes reach the claims on the next refresh
+        JwtResponse jwtResponse = new JwtResponse(jwtUtils.generateJwtToken(UserPrincipal.create(user)),
+                user.getId(),
+                user.getUsername(),
+                user.getEmail(),
+                user.getFirstName(),
+                user.getLastName());
+        jwtResponse.setRefreshToken(rotation.getRefreshToken());
+        jwtResponse.setExpiresIn(jwtUtils.getJwtExpirationMs() / 1000L);
+        return ResponseEntity.ok(jwtResponse);
+    }
+
+    @PostMapping("/logout")
+    public ResponseEntity<?> logout(
+            @RequestHeader(value = HttpHeaders.AUTHORIZATION, required = false) String authorization,
+            @RequestBody(required = false) TokenRefreshRequest request) {
+        if (authorization != null && authorization.startsWith("Bearer ")) {
+            Claims claims = jwtUtils.parseClaims(authorization.substring(7));
+            if (claims != null) {
+                tokenRevocationService.revoke(claims.getId(), claims.getExpiration());
+            }
+        }
+        if (request != null && request.getRefreshToken() != null) {
+            refreshTokenService.revoke(request.getRefreshToken());
+        }
+
+        Map<String, String> response = new HashMap<>();
+        response.put("message", "Logged out successfully!");
+        return ResponseEntity.ok(response);
     }
 
     @PostMapping("/signup")
@@ -69,10 +149,17 @@ public class AuthController {
             return ResponseEntity.badRequest().body(response);
         }
 
+        String encodedPassword;
+        try {
+            encodedPassword = passwordHashingService.call(() -> encoder.encode(signUpRequest.getPassword()));
+        } catch (PasswordHashingBusyException e) {
+            return tooManyRequests(e);
+        }
+
         // Create new user's account
         User user = new User(signUpRequest.getUsername(),
                            signUpRequest.getEmail(),
-                           encoder.encode(signUpRequest.getPassword()));
+                           encodedPassword);
 
         user.setFirstName(signUpRequest.getFirstName());
         user.setLastName(signUpRequest.getLastName());
@@ -88,17 +175,16 @@ public class AuthController {
     public ResponseEntity<?> validateToken() {
         Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
         if (authentication != null && authentication.isAuthenticated()) {
-            UserPrincipal userDetails = (UserPrincipal) authentication.getPrincipal();
-            User user = userRepository.findById(userDetails.getId()).orElse(null);
+            UserIdentity identity = currentUser.getIdentity();
             
             Map<String, Object> response = new HashMap<>();
             response.put("valid", true);
             response.put("user", new JwtResponse("",
-                    userDetails.getId(),
-                    userDetails.getUsername(),
-                    userDetails.getEmail(),
-                    user != null ? user.getFirstName() : null,
-                    user != null ? user.getLastName() : null));
+                    identity.getId(),
+                    identity.getUsername(),
+                    identity.getEmail(),
+                    identity.getFirstName(),
+                    identity.getLastName()));
             
             return ResponseEntity.ok(response);
         }
@@ -107,4 +193,12 @@ public class AuthController {
         response.put("valid", false);
         return ResponseEntity.ok(response);
     }
+
+    private ResponseEntity<?> tooManyRequests(PasswordHashingBusyException e) {
+        Map<String, String> response = new HashMap<>();
+        response.put("message", "Error: " + e.getMessage());
+        return ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS)
+                .header(HttpHeaders.RETRY_AFTER, "1")
+                .body(response);
+    }
 }
\ No newline at end of file
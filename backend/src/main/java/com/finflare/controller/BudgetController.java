@@ -2,17 +2,21 @@ package com.finflare.controller;
 
 import com.finflare.dto.BudgetCreateRequest;
 import com.finflare.dto.BudgetResponse;
+import com.finflare.dto.BudgetSimulationRequest;
+import com.finflare.dto.BudgetSimulationResponse;
 import com.finflare.dto.BudgetUpdateRequest;
-import com.finflare.model.Budget;
 import com.finflare.model.ExpenseCategory;
 import com.finflare.security.UserPrincipal;
 import com.finflare.service.BudgetService;
+import com.finflare.service.BudgetSimulationService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.web.PageableDefault;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.web.bind.annotation.*;
@@ -27,30 +31,30 @@ public class BudgetController {
     @Autowired
     private BudgetService budgetService;
 
+    @Autowired
+    private BudgetSimulationService budgetSimulationService;
+
     @PostMapping
     @Operation(summary = "Create a new budget")
     public ResponseEntity<BudgetResponse> createBudget(
             @Valid @RequestBody BudgetCreateRequest request,
             @AuthenticationPrincipal UserPrincipal userPrincipal) {
-        Budget budget = budgetService.createBudget(request, userPrincipal.getId());
-        return ResponseEntity.ok(BudgetResponse.fromBudget(budget));
+        return ResponseEntity.ok(budgetService.createBudget(request, userPrincipal.getId()));
     }
 
     @GetMapping
     @Operation(summary = "Get all budgets for the authenticated user")
-    public ResponseEntity<Page<BudgetResponse>> getAllBudgets(
+    public ResponseEntity<Slice<BudgetResponse>> getAllBudgets(
             @AuthenticationPrincipal UserPrincipal userPrincipal,
-            Pageable pageable) {
-        Page<Budget> budgets = budgetService.getBudgetsByUserId(userPrincipal.getId(), pageable);
-        return ResponseEntity.ok(budgets.map(BudgetResponse::fromBudget));
+            @PageableDefault(size = 20, sort = "createdAt", direction = Sort.Direction.DESC) Pageable pageable) {
+        return ResponseEntity.ok(budgetService.getBudgetsByUserId(userPrincipal.getId(), pageable));
     }
 
     @GetMapping("/active")
     @Operation(summary = "Get all active budgets for the authenticated user")
     public ResponseEntity<List<BudgetResponse>> getActiveBudgets(
             @AuthenticationPrincipal UserPrincipal userPrincipal) {
-        List<Budget> budgets = budgetService.getActiveBudgetsByUserId(userPrincipal.getId());
-        return ResponseEntity.ok(budgets.stream().map(BudgetResponse::fromBudget).toList());
+        return ResponseEntity.ok(budgetService.getActiveBudgetsByUserId(userPrincipal.getId()));
     }
 
     @GetMapping("/{id}")
@@ -58,8 +62,7 @@ public class BudgetController {
     public ResponseEntity<BudgetResponse> getBudgetById(
             @PathVariable Long id,
             @AuthenticationPrincipal UserPrincipal userPrincipal) {
-        Budget budget = budgetService.getBudgetById(id, userPrincipal.getId());
-        return ResponseEntity.ok(BudgetResponse.fromBudget(budget));
+        return ResponseEntity.ok(budgetService.getBudgetById(id, userPrincipal.getId()));
     }
 
     @GetMapping("/category/{category}")
@@ -67,8 +70,7 @@ public class BudgetController {
     public ResponseEntity<List<BudgetResponse>> getBudgetsByCategory(
             @PathVariable ExpenseCategory category,
             @AuthenticationPrincipal UserPrincipal userPrincipal) {
-        List<Budget> budgets = budgetService.getBudgetsByCategory(category, userPrincipal.getId());
-        return ResponseEntity.ok(budgets.stream().map(BudgetResponse::fromBudget).toList());
+        return ResponseEntity.ok(budgetService.getBudgetsByCategory(category, userPrincipal.getId()));
     }
 
     @PutMapping("/{id}")
@@ -77,8 +79,7 @@ public class BudgetController {
             @PathVariable Long id,
             @Valid @RequestBody BudgetUpdateRequest request,
             @AuthenticationPrincipal UserPrincipal userPrincipal) {
-        Budget budget = budgetService.updateBudget(id, request, userPrincipal.getId());
-        return ResponseEntity.ok(BudgetResponse.fromBudget(budget));
+        return ResponseEntity.ok(budgetService.updateBudget(id, request, userPrincipal.getId()));
     }
 
     @DeleteMapping("/{id}")
@@ -95,16 +96,14 @@ public class BudgetController {
     public ResponseEntity<BudgetResponse> toggleBudgetAlert(
             @PathVariable Long id,
             @AuthenticationPrincipal UserPrincipal userPrincipal) {
-        Budget budget = budgetService.toggleBudgetAlert(id, userPrincipal.getId());
-        return ResponseEntity.ok(BudgetResponse.fromBudget(budget));
+        return ResponseEntity.ok(budgetService.toggleBudgetAlert(id, userPrincipal.getId()));
     }
 
     @GetMapping("/alerts")
     @Operation(summary = "Get budget alerts for the authenticated user")
     public ResponseEntity<List<BudgetResponse>> getBudgetAlerts(
             @AuthenticationPrincipal UserPrincipal userPrincipal) {
-        List<Budget> budgets = budgetService.getBudgetAlerts(userPrincipal.getId());
-        return ResponseEntity.ok(budgets.stream().map(BudgetResponse::fromBudget).toList());
+        return ResponseEntity.ok(budgetService.getBudgetAlerts(userPrincipal.getId()));
     }
 
     @PostMapping("/{id}/reset")
@@ -112,7 +111,14 @@ public class BudgetController {
     public ResponseEntity<BudgetResponse> resetBudget(
             @PathVariable Long id,
             @AuthenticationPrincipal UserPrincipal userPrincipal) {
-        Budget budget = budgetService.resetBudget(id, userPrincipal.getId());
-        return ResponseEntity.ok(BudgetResponse.fromBudget(budget));
+        return ResponseEntity.ok(budgetService.resetBudget(id, userPrincipal.getId()));
+    }
+
+    @PostMapping("/simulate")
+    @Operation(summary = "Replay recent expenses against hypothetical budget changes")
+    public ResponseEntity<BudgetSimulationResponse> simulateBudgets(
+            @Valid @RequestBody BudgetSimulationRequest request,
+            @AuthenticationPrincipal UserPrincipal userPrincipal) {
+        return ResponseEntity.ok(budgetSimulationService.simulate(userPrincipal.getId(), request));
     }
-}
\ No newline at end of file
+}
@@ -2,15 +2,12 @@ package com.finflare.controller;
 
 import com.finflare.model.Expense;
 import com.finflare.model.ExpenseCategory;
-import com.finflare.model.User;
-import com.finflare.repository.UserRepository;
-import com.finflare.security.UserPrincipal;
+import com.finflare.security.CurrentUser;
 import com.finflare.service.ExpenseService;
 import jakarta.validation.Valid;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.ResponseEntity;
-import org.springframework.security.core.Authentication;
 import org.springframework.web.bind.annotation.*;
 
 import java.time.LocalDate;
@@ -27,36 +24,24 @@ public class ExpenseController {
     private ExpenseService expenseService;
 
     @Autowired
-    private UserRepository userRepository;
-
-    private User getCurrentUser(Authentication authentication) {
-        UserPrincipal userPrincipal = (UserPrincipal) authentication.getPrincipal();
-        return userRepository.findById(userPrincipal.getId())
-                .orElseThrow(() -> new RuntimeException("User not found"));
-    }
+    private CurrentUser currentUser;
 
     @GetMapping
-    public ResponseEntity<List<Expense>> getUserExpenses(Authentication authentication) {
-        User user = getCurrentUser(authentication);
-        List<Expense> expenses = expenseService.getUserExpenses(user);
+    public ResponseEntity<List<Expense>> getUserExpenses() {
+        List<Expense> expenses = expenseService.getUserExpenses(currentUser.getId());
         return ResponseEntity.ok(expenses);
     }
 
     @PostMapping
-    public ResponseEntity<Expense> createExpense(@Valid @RequestBody Expense expense, 
-                                               Authentication authentication) {
-        User user = getCurrentUser(authentication);
-        expense.setUser(user);
-        Expense savedExpense = expenseService.createExpense(expense);
+    public ResponseEntity<Expense> createExpense(@Valid @RequestBody Expense expense) {
+        Expense savedExpense = expenseService.createExpense(expense, currentUser.getId());
         return ResponseEntity.ok(savedExpense);
     }
 
     @PutMapping("/{id}")
     public ResponseEntity<Expense> updateExpense(@PathVariable Long id, 
-                                               @Valid @RequestBody Expense expense,
-                                               Authentication authentication) {
-        User user = getCurrentUser(authentication);
-        Expense updatedExpense = expenseService.updateExpense(id, expense, user);
+                                               @Valid @RequestBody Expense expense) {
+        Expense updatedExpense = expenseService.updateExpense(id, expense, currentUser.getId());
         if (updatedExpense != null) {
             return ResponseEntity.ok(updatedExpense);
         }
@@ -64,10 +49,8 @@ public class ExpenseController {
     }
 
     @DeleteMapping("/{id}")
-    public ResponseEntity<Void> deleteExpense(@PathVariable Long id, 
-                                            Authentication authentication) {
-        User user = getCurrentUser(authentication);
-        boolean deleted = expenseService.deleteExpense(id, user);
+    public ResponseEntity<Void> deleteExpense(@PathVariable Long id) {
+        boolean deleted = expenseService.deleteExpense(id, currentUser.getId());
         if (deleted) {
             return ResponseEntity.ok().build();
         }
@@ -75,30 +58,24 @@ public class ExpenseController {
     }
 
     @GetMapping("/category/{category}")
-    public ResponseEntity<List<Expense>> getExpensesByCategory(@PathVariable ExpenseCategory category,
-                                                             Authentication authentication) {
-        User user = getCurrentUser(authentication);
-        List<Expense> expenses = expenseService.getUserExpensesByCategory(user, category);
+    public ResponseEntity<List<Expense>> getExpensesByCategory(@PathVariable ExpenseCategory category) {
+        List<Expense> expenses = expenseService.getUserExpensesByCategory(currentUser.getId(), category);
         return ResponseEntity.ok(expenses);
     }
 
     @GetMapping("/date-range")
     public ResponseEntity<List<Expense>> getExpensesByDateRange(
             @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate startDate,
-            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate endDate,
-            Authentication authentication) {
-        User user = getCurrentUser(authentication);
-        List<Expense> expenses = expenseService.getUserExpensesByDateRange(user, startDate, endDate);
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate endDate) {
+        List<Expense> expenses = expenseService.getUserExpensesByDateRange(currentUser.getId(), startDate, endDate);
         return ResponseEntity.ok(expenses);
     }
 
     @GetMapping("/reports/monthly/{year}/{month}")
     public ResponseEntity<Map<String, Object>> getMonthlyReport(@PathVariable int year, 
-                                                               @PathVariable int month,
-                                                               Authentication authentication) {
-        User user = getCurrentUser(authentication);
+                                                               @PathVariable int month) {
         YearMonth yearMonth = YearMonth.of(year, month);
-        Map<String, Object> report = expenseService.getMonthlyReport(user, yearMonth);
+        Map<String, Object> report = expenseService.getMonthlyReport(currentUser.getId(), yearMonth);
         return ResponseEntity.ok(report);
     }
 
@@ -0,0 +1,59 @@
+package com.finflare.controller;
+
+import com.finflare.dto.InvestmentCreateRequest;
+import com.finflare.dto.InvestmentUpdateRequest;
+import com.finflare.dto.PortfolioSummary;
+import com.finflare.model.Investment;
+import com.finflare.security.CurrentUser;
+import com.finflare.service.InvestmentService;
+import jakarta.validation.Valid;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+
+@RestController
+@RequestMapping("/investments")
+@CrossOrigin(origins = "*", maxAge = 3600)
+public class InvestmentController {
+
+    @Autowired
+    private InvestmentService investmentService;
+
+    @Autowired
+    private CurrentUser currentUser;
+
+    @GetMapping
+    public ResponseEntity<List<Investment>> getUserInvestments() {
+        return ResponseEntity.ok(investmentService.getUserInvestments(currentUser.getId()));
+    }
+
+    @PostMapping
+    public ResponseEntity<Investment> createInvestment(@Valid @RequestBody InvestmentCreateRequest request) {
+        return ResponseEntity.ok(investmentService.createInvestment(request, currentUser.getId()));
+    }
+
+    @PutMapping("/{id}")
+    public ResponseEntity<Investment> updateInvestment(@PathVariable Long id,
+                                                       @Valid @RequestBody InvestmentUpdateRequest request) {
+        Investment updatedInvestment = investmentService.updateInvestment(id, request, currentUser.getId());
+        if (updatedInvestment != null) {
+            return ResponseEntity.ok(updatedInvestment);
+        }
+        return ResponseEntity.notFound().build();
+    }
+
+    @DeleteMapping("/{id}")
+    public ResponseEntity<Void> deleteInvestment(@PathVariable Long id) {
+        if (investmentService.deleteInvestment(id, currentUser.getId())) {
+            return ResponseEntity.ok().build();
+        }
+        return ResponseEntity.notFound().build();
+    }
+
+    @GetMapping("/portfolio/summary")
+    public ResponseEntity<PortfolioSummary> getPortfolioSummary() {
+        return ResponseEntity.ok(investmentService.getPortfolioSummary(currentUser.getId()));
+    }
+}
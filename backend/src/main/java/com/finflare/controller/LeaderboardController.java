@@ -0,0 +1,49 @@
+package com.finflare.controller;
+
+import com.finflare.dto.LeaderboardResponse;
+import com.finflare.model.LeaderboardType;
+import com.finflare.security.UserPrincipal;
+import com.finflare.service.LeaderboardService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
+import org.springframework.web.bind.annotation.*;
+
+@RestController
+@RequestMapping("/leaderboard")
+@Tag(name = "Leaderboard", description = "All-time, weekly and monthly rankings")
+public class LeaderboardController {
+
+    @Autowired
+    private LeaderboardService leaderboardService;
+
+    @GetMapping
+    @Operation(summary = "Get the top ranked users and the authenticated user's rank")
+    public ResponseEntity<LeaderboardResponse> getTop(
+            @RequestParam(defaultValue = "POINTS") LeaderboardType type,
+            @RequestParam(defaultValue = "10") int limit,
+            @AuthenticationPrincipal UserPrincipal userPrincipal) {
+        return ResponseEntity.ok(leaderboardService.getTop(type, limit, userPrincipal.getId()));
+    }
+
+    @GetMapping("/me")
+    @Operation(summary = "Get the users ranked around the authenticated user")
+    public ResponseEntity<LeaderboardResponse> getAroundMe(
+            @RequestParam(defaultValue = "POINTS") LeaderboardType type,
+            @RequestParam(defaultValue = "5") int radius,
+            @AuthenticationPrincipal UserPrincipal userPrincipal) {
+        return ResponseEntity.ok(leaderboardService.getAround(type, userPrincipal.getId(), radius));
+    }
+
+    @GetMapping("/archive")
+    @Operation(summary = "Get a closed weekly or monthly leaderboard")
+    public ResponseEntity<LeaderboardResponse> getArchived(
+            @RequestParam(defaultValue = "WEEKLY") LeaderboardType type,
+            @RequestParam(defaultValue = "1") int periodsAgo,
+            @RequestParam(defaultValue = "10") int limit,
+            @AuthenticationPrincipal UserPrincipal userPrincipal) {
+        return ResponseEntity.ok(leaderboardService.getArchived(type, periodsAgo, limit, userPrincipal.getId()));
+    }
+}
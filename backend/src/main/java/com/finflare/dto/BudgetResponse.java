@@ -5,6 +5,7 @@ import com.finflare.model.BudgetPeriod;
 import com.finflare.model.ExpenseCategory;
 
 import java.math.BigDecimal;
+import java.math.RoundingMode;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 
@@ -29,26 +30,36 @@ public class BudgetResponse {
     // Constructors
     public BudgetResponse() {}
 
-    // Static factory method
+    // Projection constructor, used directly by JPQL constructor expressions
+    public BudgetResponse(Long id, ExpenseCategory category, BigDecimal budgetAmount, BigDecimal spentAmount,
+                          LocalDate startDate, LocalDate endDate, BudgetPeriod period, boolean alertEnabled,
+                          Integer alertThreshold, boolean isActive, LocalDateTime createdAt, LocalDateTime updatedAt) {
+        BigDecimal spent = spentAmount != null ? spentAmount : BigDecimal.ZERO;
+        this.id = id;
+        this.category = category;
+        this.budgetAmount = budgetAmount;
+        this.spentAmount = spent;
+        this.remainingAmount = budgetAmount.subtract(spent);
+        this.spentPercentage = budgetAmount.compareTo(BigDecimal.ZERO) == 0 ? 0.0 :
+                spent.divide(budgetAmount, 4, RoundingMode.HALF_UP).multiply(BigDecimal.valueOf(100)).doubleValue();
+        this.startDate = startDate;
+        this.endDate = endDate;
+        this.period = period;
+        this.alertEnabled = alertEnabled;
+        this.alertThreshold = alertThreshold;
+        this.isActive = isActive;
+        this.isOverBudget = spent.compareTo(budgetAmount) > 0;
+        this.shouldAlert = alertEnabled && alertThreshold != null && this.spentPercentage >= alertThreshold;
+        this.createdAt = createdAt;
+        this.updatedAt = updatedAt;
+    }
+
+    // Static factory method; reads only columns of the budget row, never the user association
     public static BudgetResponse fromBudget(Budget budget) {
-        BudgetResponse response = new BudgetResponse();
-        response.setId(budget.getId());
-        response.setCategory(budget.getCategory());
-        response.setBudgetAmount(budget.getBudgetAmount());
-        response.setSpentAmount(budget.getSpentAmount());
-        response.setRemainingAmount(budget.getRemainingAmount());
-        response.setSpentPercentage(budget.getSpentPercentage());
-        response.setStartDate(budget.getStartDate());
-        response.setEndDate(budget.getEndDate());
-        response.setPeriod(budget.getPeriod());
-        response.setAlertEnabled(budget.isAlertEnabled());
-        response.setAlertThreshold(budget.getAlertThreshold());
-        response.setActive(budget.isActive());
-        response.setOverBudget(budget.isOverBudget());
-        response.setShouldAlert(budget.shouldAlert());
-        response.setCreatedAt(budget.getCreatedAt());
-        response.setUpdatedAt(budget.getUpdatedAt());
-        return response;
+        return new BudgetResponse(budget.getId(), budget.getCategory(), budget.getBudgetAmount(),
+                budget.getSpentAmount(), budget.getStartDate(), budget.getEndDate(), budget.getPeriod(),
+                budget.isAlertEnabled(), budget.getAlertThreshold(), budget.isActive(),
+                budget.getCreatedAt(), budget.getUpdatedAt());
     }
 
     // Getters and Setters
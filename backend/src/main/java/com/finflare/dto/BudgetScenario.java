@@ -0,0 +1,27 @@
+package com.finflare.dto;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.Size;
+
+import java.util.ArrayList;
+import java.util.List;
+
+public class BudgetScenario {
+    @NotBlank
+    @Size(max = 100)
+    private String name;
+
+    @Valid
+    private List<BudgetScenarioChange> changes = new ArrayList<>();
+
+    // Constructors
+    public BudgetScenario() {}
+
+    // Getters and Setters
+    public String getName() { return name; }
+    public void setName(String name) { this.name = name; }
+
+    public List<BudgetScenarioChange> getChanges() { return changes; }
+    public void setChanges(List<BudgetScenarioChange> changes) { this.changes = changes; }
+}
@@ -0,0 +1,41 @@
+package com.finflare.dto;
+
+import com.finflare.model.BudgetPeriod;
+import com.finflare.model.ExpenseCategory;
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Positive;
+
+import java.math.BigDecimal;
+
+public class BudgetScenarioChange {
+    @NotNull
+    private ExpenseCategory category;
+
+    // Null keeps the current budget amount for the category
+    @Positive
+    private BigDecimal budgetAmount;
+
+    @Min(1)
+    @Max(100)
+    private Integer alertThreshold;
+
+    private BudgetPeriod period;
+
+    // Constructors
+    public BudgetScenarioChange() {}
+
+    // Getters and Setters
+    public ExpenseCategory getCategory() { return category; }
+    public void setCategory(ExpenseCategory category) { this.category = category; }
+
+    public BigDecimal getBudgetAmount() { return budgetAmount; }
+    public void setBudgetAmount(BigDecimal budgetAmount) { this.budgetAmount = budgetAmount; }
+
+    public Integer getAlertThreshold() { return alertThreshold; }
+    public void setAlertThreshold(Integer alertThreshold) { this.alertThreshold = alertThreshold; }
+
+    public BudgetPeriod getPeriod() { return period; }
+    public void setPeriod(BudgetPeriod period) { this.period = period; }
+}
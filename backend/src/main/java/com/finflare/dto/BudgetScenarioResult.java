@@ -0,0 +1,39 @@
+package com.finflare.dto;
+
+import java.math.BigDecimal;
+
+public class BudgetScenarioResult {
+    private String name;
+    private int overBudgetDays;
+    private int alertCount;
+    private BigDecimal projectedSavings;
+    private BigDecimal averageMonthlySavings;
+
+    // Constructors
+    public BudgetScenarioResult() {}
+
+    public BudgetScenarioResult(String name, int overBudgetDays, int alertCount,
+                                BigDecimal projectedSavings, BigDecimal averageMonthlySavings) {
+        this.name = name;
+        this.overBudgetDays = overBudgetDays;
+        this.alertCount = alertCount;
+        this.projectedSavings = projectedSavings;
+        this.averageMonthlySavings = averageMonthlySavings;
+    }
+
+    // Getters and Setters
+    public String getName() { return name; }
+    public void setName(String name) { this.name = name; }
+
+    public int getOverBudgetDays() { return overBudgetDays; }
+    public void setOverBudgetDays(int overBudgetDays) { this.overBudgetDays = overBudgetDays; }
+
+    public int getAlertCount() { return alertCount; }
+    public void setAlertCount(int alertCount) { this.alertCount = alertCount; }
+
+    public BigDecimal getProjectedSavings() { return projectedSavings; }
+    public void setProjectedSavings(BigDecimal projectedSavings) { this.projectedSavings = projectedSavings; }
+
+    public BigDecimal getAverageMonthlySavings() { return averageMonthlySavings; }
+    public void setAverageMonthlySavings(BigDecimal averageMonthlySavings) { this.averageMonthlySavings = averageMonthlySavings; }
+}
@@ -0,0 +1,30 @@
+package com.finflare.dto;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.Size;
+
+import java.util.List;
+
+public class BudgetSimulationRequest {
+    @Min(1)
+    @Max(24)
+    private int months = 6;
+
+    @NotEmpty
+    @Size(max = 200)
+    @Valid
+    private List<BudgetScenario> scenarios;
+
+    // Constructors
+    public BudgetSimulationRequest() {}
+
+    // Getters and Setters
+    public int getMonths() { return months; }
+    public void setMonths(int months) { this.months = months; }
+
+    public List<BudgetScenario> getScenarios() { return scenarios; }
+    public void setScenarios(List<BudgetScenario> scenarios) { this.scenarios = scenarios; }
+}
@@ -0,0 +1,31 @@
+package com.finflare.dto;
+
+import java.time.LocalDate;
+import java.util.List;
+
+public class BudgetSimulationResponse {
+    private LocalDate startDate;
+    private LocalDate endDate;
+    private int months;
+    private BudgetScenarioResult current;
+    private List<BudgetScenarioResult> scenarios;
+
+    // Constructors
+    public BudgetSimulationResponse() {}
+
+    // Getters and Setters
+    public LocalDate getStartDate() { return startDate; }
+    public void setStartDate(LocalDate startDate) { this.startDate = startDate; }
+
+    public LocalDate getEndDate() { return endDate; }
+    public void setEndDate(LocalDate endDate) { this.endDate = endDate; }
+
+    public int getMonths() { return months; }
+    public void setMonths(int months) { this.months = months; }
+
+    public BudgetScenarioResult getCurrent() { return current; }
+    public void setCurrent(BudgetScenarioResult current) { this.current = current; }
+
+    public List<BudgetScenarioResult> getScenarios() { return scenarios; }
+    public void setScenarios(List<BudgetScenarioResult> scenarios) { this.scenarios = scenarios; }
+}
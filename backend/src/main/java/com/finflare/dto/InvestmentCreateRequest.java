@@ -0,0 +1,68 @@
+package com.finflare.dto;
+
+import com.finflare.model.InvestmentType;
+import com.finflare.model.RiskLevel;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Positive;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+public class InvestmentCreateRequest {
+    @NotBlank
+    private String symbol;
+
+    @NotBlank
+    private String name;
+
+    @NotNull
+    private InvestmentType type;
+
+    @NotNull
+    @Positive
+    private Integer quantity;
+
+    @NotNull
+    @Positive
+    private BigDecimal purchasePrice;
+
+    private LocalDateTime purchaseDate;
+
+    private RiskLevel riskLevel;
+
+    private String sector;
+
+    private String description;
+
+    // Constructors
+    public InvestmentCreateRequest() {}
+
+    // Getters and Setters
+    public String getSymbol() { return symbol; }
+    public void setSymbol(String symbol) { this.symbol = symbol; }
+
+    public String getName() { return name; }
+    public void setName(String name) { this.name = name; }
+
+    public InvestmentType getType() { return type; }
+    public void setType(InvestmentType type) { this.type = type; }
+
+    public Integer getQuantity() { return quantity; }
+    public void setQuantity(Integer quantity) { this.quantity = quantity; }
+
+    public BigDecimal getPurchasePrice() { return purchasePrice; }
+    public void setPurchasePrice(BigDecimal purchasePrice) { this.purchasePrice = purchasePrice; }
+
+    public LocalDateTime getPurchaseDate() { return purchaseDate; }
+    public void setPurchaseDate(LocalDateTime purchaseDate) { this.purchaseDate = purchaseDate; }
+
+    public RiskLevel getRiskLevel() { return riskLevel; }
+    public void setRiskLevel(RiskLevel riskLevel) { this.riskLevel = riskLevel; }
+
+    public String getSector() { return sector; }
+    public void setSector(String sector) { this.sector = sector; }
+
+    public String getDescription() { return description; }
+    public void setDescription(String description) { this.description = description; }
+}
@@ -3,6 +3,8 @@ package com.finflare.dto;
 public class JwtResponse {
     private String token;
     private String type = "Bearer";
+    private String refreshToken;
+    private Long expiresIn;
     private Long id;
     private String username;
     private String email;
@@ -26,6 +28,23 @@ public class JwtResponse {
         this.token = accessToken;
     }
 
+    public String getRefreshToken() {
+        return refreshToken;
+    }
+
+    public void setRefreshToken(String refreshToken) {
+        this.refreshToken = refreshToken;
+    }
+
+    // Access token lifetime in seconds
+    public Long getExpiresIn() {
+        return expiresIn;
+    }
+
+    public void setExpiresIn(Long expiresIn) {
+        this.expiresIn = expiresIn;
+    }
+
     public String getTokenType() {
         return type;
     }
@@ -0,0 +1,34 @@
+package com.finflare.dto;
+
+public class LeaderboardEntry {
+    private int rank;
+    private Long userId;
+    private String username;
+    private String displayName;
+    private long score;
+
+    // Constructors
+    public LeaderboardEntry() {}
+
+    public LeaderboardEntry(int rank, Long userId, long score) {
+        this.rank = rank;
+        this.userId = userId;
+        this.score = score;
+    }
+
+    // Getters and Setters
+    public int getRank() { return rank; }
+    public void setRank(int rank) { this.rank = rank; }
+
+    public Long getUserId() { return userId; }
+    public void setUserId(Long userId) { this.userId = userId; }
+
+    public String getUsername() { return username; }
+    public void setUsername(String username) { this.username = username; }
+
+    public String getDisplayName() { return displayName; }
+    public void setDisplayName(String displayName) { this.displayName = displayName; }
+
+    public long getScore() { return score; }
+    public void setScore(long score) { this.score = score; }
+}
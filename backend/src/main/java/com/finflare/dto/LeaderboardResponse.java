@@ -0,0 +1,41 @@
+package com.finflare.dto;
+
+import com.finflare.model.LeaderboardType;
+
+import java.time.LocalDate;
+import java.util.List;
+
+public class LeaderboardResponse {
+    private LeaderboardType type;
+    private int totalRanked;
+    private List<LeaderboardEntry> entries;
+    private LeaderboardEntry me;
+    // Start of the window for weekly and monthly boards
+    private LocalDate periodStart;
+
+    // Constructors
+    public LeaderboardResponse() {}
+
+    public LeaderboardResponse(LeaderboardType type, int totalRanked, List<LeaderboardEntry> entries, LeaderboardEntry me) {
+        this.type = type;
+        this.totalRanked = totalRanked;
+        this.entries = entries;
+        this.me = me;
+    }
+
+    // Getters and Setters
+    public LeaderboardType getType() { return type; }
+    public void setType(LeaderboardType type) { this.type = type; }
+
+    public int getTotalRanked() { return totalRanked; }
+    public void setTotalRanked(int totalRanked) { this.totalRanked = totalRanked; }
+
+    public List<LeaderboardEntry> getEntries() { return entries; }
+    public void setEntries(List<LeaderboardEntry> entries) { this.entries = entries; }
+
+    public LeaderboardEntry getMe() { return me; }
+    public void setMe(LeaderboardEntry me) { this.me = me; }
+
+    public LocalDate getPeriodStart() { return periodStart; }
+    public void setPeriodStart(LocalDate periodStart) { this.periodStart = periodStart; }
+}
@@ -0,0 +1,39 @@
+package com.finflare.dto;
+
+import java.math.BigDecimal;
+
+public class PortfolioPosition {
+    private String symbol;
+    private String type;
+    private long quantity;
+    private BigDecimal totalInvestment;
+    private BigDecimal currentValue;
+
+    // Constructors
+    public PortfolioPosition() {}
+
+    public PortfolioPosition(String symbol, String type, long quantity,
+                             BigDecimal totalInvestment, BigDecimal currentValue) {
+        this.symbol = symbol;
+        this.type = type;
+        this.quantity = quantity;
+        this.totalInvestment = totalInvestment;
+        this.currentValue = currentValue;
+    }
+
+    // Getters and Setters
+    public String getSymbol() { return symbol; }
+    public void setSymbol(String symbol) { this.symbol = symbol; }
+
+    public String getType() { return type; }
+    public void setType(String type) { this.type = type; }
+
+    public long getQuantity() { return quantity; }
+    public void setQuantity(long quantity) { this.quantity = quantity; }
+
+    public BigDecimal getTotalInvestment() { return totalInvestment; }
+    public void setTotalInvestment(BigDecimal totalInvestment) { this.totalInvestment = totalInvestment; }
+
+    public BigDecimal getCurrentValue() { return currentValue; }
+    public void setCurrentValue(BigDecimal currentValue) { this.currentValue = currentValue; }
+}
@@ -0,0 +1,45 @@
+package com.finflare.dto;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.Map;
+
+public class PortfolioSummary {
+    private BigDecimal totalValue;
+    private BigDecimal totalInvestment;
+    private BigDecimal totalProfitLoss;
+    private double totalProfitLossPercentage;
+    // 0 for a single holding, approaching 100 as value spreads evenly over many symbols
+    private double diversificationScore;
+    private int symbolCount;
+    private Map<String, BigDecimal> valueByType;
+    private List<PortfolioPosition> positions;
+
+    // Constructors
+    public PortfolioSummary() {}
+
+    // Getters and Setters
+    public BigDecimal getTotalValue() { return totalValue; }
+    public void setTotalValue(BigDecimal totalValue) { this.totalValue = totalValue; }
+
+    public BigDecimal getTotalInvestment() { return totalInvestment; }
+    public void setTotalInvestment(BigDecimal totalInvestment) { this.totalInvestment = totalInvestment; }
+
+    public BigDecimal getTotalProfitLoss() { return totalProfitLoss; }
+    public void setTotalProfitLoss(BigDecimal totalProfitLoss) { this.totalProfitLoss = totalProfitLoss; }
+
+    public double getTotalProfitLossPercentage() { return totalProfitLossPercentage; }
+    public void setTotalProfitLossPercentage(double totalProfitLossPercentage) { this.totalProfitLossPercentage = totalProfitLossPercentage; }
+
+    public double getDiversificationScore() { return diversificationScore; }
+    public void setDiversificationScore(double diversificationScore) { this.diversificationScore = diversificationScore; }
+
+    public int getSymbolCount() { return symbolCount; }
+    public void setSymbolCount(int symbolCount) { this.symbolCount = symbolCount; }
+
+    public Map<String, BigDecimal> getValueByType() { return valueByType; }
+    public void setValueByType(Map<String, BigDecimal> valueByType) { this.valueByType = valueByType; }
+
+    public List<PortfolioPosition> getPositions() { return positions; }
+    public void setPositions(List<PortfolioPosition> positions) { this.positions = positions; }
+}
@@ -0,0 +1,59 @@
+package com.finflare.dto;
+
+import com.finflare.model.JobStatus;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+
+public class ReconciliationReport {
+    private Long runId;
+    private JobStatus status;
+    private LocalDateTime startedAt;
+    private LocalDateTime finishedAt;
+    private int totalPartitions;
+    private int completedPartitions;
+    private long budgetsChecked;
+    private long budgetsFixed;
+    private BigDecimal totalDrift;
+    private List<Map<String, Object>> largestDrifts;
+    private String failureReason;
+
+    // Constructors
+    public ReconciliationReport() {}
+
+    // Getters and Setters
+    public Long getRunId() { return runId; }
+    public void setRunId(Long runId) { this.runId = runId; }
+
+    public JobStatus getStatus() { return status; }
+    public void setStatus(JobStatus status) { this.status = status; }
+
+    public LocalDateTime getStartedAt() { return startedAt; }
+    public void setStartedAt(LocalDateTime startedAt) { this.startedAt = startedAt; }
+
+    public LocalDateTime getFinishedAt() { return finishedAt; }
+    public void setFinishedAt(LocalDateTime finishedAt) { this.finishedAt = finishedAt; }
+
+    public int getTotalPartitions() { return totalPartitions; }
+    public void setTotalPartitions(int totalPartitions) { this.totalPartitions = totalPartitions; }
+
+    public int getCompletedPartitions() { return completedPartitions; }
+    public void setCompletedPartitions(int completedPartitions) { this.completedPartitions = completedPartitions; }
+
+    public long getBudgetsChecked() { return budgetsChecked; }
+    public void setBudgetsChecked(long budgetsChecked) { this.budgetsChecked = budgetsChecked; }
+
+    public long getBudgetsFixed() { return budgetsFixed; }
+    public void setBudgetsFixed(long budgetsFixed) { this.budgetsFixed = budgetsFixed; }
+
+    public BigDecimal getTotalDrift() { return totalDrift; }
+    public void setTotalDrift(BigDecimal totalDrift) { this.totalDrift = totalDrift; }
+
+    public List<Map<String, Object>> getLargestDrifts() { return largestDrifts; }
+    public void setLargestDrifts(List<Map<String, Object>> largestDrifts) { this.largestDrifts = largestDrifts; }
+
+    public String getFailureReason() { return failureReason; }
+    public void setFailureReason(String failureReason) { this.failureReason = failureReason; }
+}
@@ -0,0 +1,23 @@
+package com.finflare.event;
+
+import java.time.LocalDate;
+
+// Published by the rollover job once per user and closing month for the monthly or longer budgets it closed
+public class BudgetPeriodClosedEvent {
+    private final Long userId;
+    private final LocalDate periodStart;
+    private final LocalDate periodEnd;
+    private final boolean withinBudget;
+
+    public BudgetPeriodClosedEvent(Long userId, LocalDate periodStart, LocalDate periodEnd, boolean withinBudget) {
+        this.userId = userId;
+        this.periodStart = periodStart;
+        this.periodEnd = periodEnd;
+        this.withinBudget = withinBudget;
+    }
+
+    public Long getUserId() { return userId; }
+    public LocalDate getPeriodStart() { return periodStart; }
+    public LocalDate getPeriodEnd() { return periodEnd; }
+    public boolean isWithinBudget() { return withinBudget; }
+}
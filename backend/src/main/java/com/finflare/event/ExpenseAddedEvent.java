@@ -0,0 +1,29 @@
+package com.finflare.event;
+
+import com.finflare.model.ExpenseCategory;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+public class ExpenseAddedEvent {
+    private final Long userId;
+    private final Long expenseId;
+    private final ExpenseCategory category;
+    private final LocalDate expenseDate;
+    private final LocalDateTime occurredAt;
+
+    public ExpenseAddedEvent(Long userId, Long expenseId, ExpenseCategory category,
+                             LocalDate expenseDate, LocalDateTime occurredAt) {
+        this.userId = userId;
+        this.expenseId = expenseId;
+        this.category = category;
+        this.expenseDate = expenseDate;
+        this.occurredAt = occurredAt;
+    }
+
+    public Long getUserId() { return userId; }
+    public Long getExpenseId() { return expenseId; }
+    public ExpenseCategory getCategory() { return category; }
+    public LocalDate getExpenseDate() { return expenseDate; }
+    public LocalDateTime getOccurredAt() { return occurredAt; }
+}
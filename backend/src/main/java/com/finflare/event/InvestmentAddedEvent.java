@@ -0,0 +1,19 @@
+package com.finflare.event;
+
+import java.time.LocalDateTime;
+
+public class InvestmentAddedEvent {
+    private final Long userId;
+    private final Long investmentId;
+    private final LocalDateTime occurredAt;
+
+    public InvestmentAddedEvent(Long userId, Long investmentId, LocalDateTime occurredAt) {
+        this.userId = userId;
+        this.investmentId = investmentId;
+        this.occurredAt = occurredAt;
+    }
+
+    public Long getUserId() { return userId; }
+    public Long getInvestmentId() { return investmentId; }
+    public LocalDateTime getOccurredAt() { return occurredAt; }
+}
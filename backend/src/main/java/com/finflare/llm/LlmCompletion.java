@@ -0,0 +1,14 @@
+package com.finflare.llm;
+
+public class LlmCompletion {
+    private final String content;
+    private final int totalTokens;
+
+    public LlmCompletion(String content, int totalTokens) {
+        this.content = content;
+        this.totalTokens = totalTokens;
+    }
+
+    public String getContent() { return content; }
+    public int getTotalTokens() { return totalTokens; }
+}
@@ -0,0 +1,100 @@
+package com.finflare.llm;
+
+import com.finflare.util.LatencyHistogram;
+import jakarta.annotation.PostConstruct;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Single entry point to the configured {@link LlmProvider}. Caps in-flight calls at
+ * the provider's concurrency limit (excess calls fail immediately rather than queue)
+ * and records completion, first-token and full-stream latencies.
+ */
+@Component
+public class LlmGateway {
+
+    @Autowired
+    private LlmProvider provider;
+
+    private Semaphore permits;
+
+    private final LatencyHistogram completionLatency = new LatencyHistogram();
+    private final LatencyHistogram firstTokenLatency = new LatencyHistogram();
+    private final LatencyHistogram streamLatency = new LatencyHistogram();
+    private final LongAdder rejected = new LongAdder();
+    private final LongAdder errors = new LongAdder();
+    private final AtomicInteger peakInFlight = new AtomicInteger();
+
+    @PostConstruct
+    void init() {
+        permits = new Semaphore(provider.getMaxConcurrency());
+    }
+
+    public String getModel() {
+        return provider.getModel();
+    }
+
+    public Mono<LlmCompletion> complete(LlmRequest request) {
+        return Mono.defer(() -> {
+            if (!permits.tryAcquire()) {
+                rejected.increment();
+                return Mono.error(new RuntimeException("LLM provider " + provider.getName() + " is at capacity"));
+            }
+            recordInFlight();
+            long startedAt = System.nanoTime();
+            return provider.complete(request)
+                    .doOnSuccess(completion -> completionLatency.record(System.nanoTime() - startedAt))
+                    .doOnError(e -> errors.increment())
+                    .doFinally(signal -> permits.release());
+        });
+    }
+
+    public Flux<String> stream(LlmRequest request) {
+        return Flux.defer(() -> {
+            if (!permits.tryAcquire()) {
+                rejected.increment();
+                return Flux.error(new RuntimeException("LLM provider " + provider.getName() + " is at capacity"));
+            }
+            recordInFlight();
+            long startedAt = System.nanoTime();
+            AtomicBoolean first = new AtomicBoolean(true);
+            return provider.stream(request)
+                    .doOnNext(token -> {
+                        if (first.compareAndSet(true, false)) {
+                            firstTokenLatency.record(System.nanoTime() - startedAt);
+                        }
+                    })
+                    .doOnComplete(() -> streamLatency.record(System.nanoTime() - startedAt))
+                    .doOnError(e -> errors.increment())
+                    .doFinally(signal -> permits.release());
+        });
+    }
+
+    private void recordInFlight() {
+        peakInFlight.accumulateAndGet(provider.getMaxConcurrency() - permits.availablePermits(), Math::max);
+    }
+
+    public Map<String, Object> getStats() {
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("provider", provider.getName());
+        stats.put("model", provider.getModel());
+        stats.put("maxConcurrency", provider.getMaxConcurrency());
+        stats.put("inFlight", provider.getMaxConcurrency() - permits.availablePermits());
+        stats.put("peakInFlight", peakInFlight.get());
+        stats.put("rejected", rejected.sum());
+        stats.put("errors", errors.sum());
+        stats.put("completionLatency", completionLatency.snapshot());
+        stats.put("firstTokenLatency", firstTokenLatency.snapshot());
+        stats.put("streamLatency", streamLatency.snapshot());
+        return stats;
+    }
+}
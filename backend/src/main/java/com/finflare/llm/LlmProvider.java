@@ -0,0 +1,24 @@
+package com.finflare.llm;
+
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * A chat-completion backend. Implementations own their model choice, wire format and
+ * HTTP client; callers go through {@link LlmGateway}, which adds concurrency limits
+ * and latency tracking. The active provider is chosen with app.llm.provider.
+ */
+public interface LlmProvider {
+
+    String getName();
+
+    String getModel();
+
+    // Upper bound on concurrent calls LlmGateway lets through to this provider
+    int getMaxConcurrency();
+
+    Mono<LlmCompletion> complete(LlmRequest request);
+
+    // Content deltas in arrival order
+    Flux<String> stream(LlmRequest request);
+}
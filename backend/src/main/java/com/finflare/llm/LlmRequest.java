@@ -0,0 +1,21 @@
+package com.finflare.llm;
+
+public class LlmRequest {
+    private final String prompt;
+    private final int maxTokens;
+    private final double temperature;
+
+    public LlmRequest(String prompt, int maxTokens) {
+        this(prompt, maxTokens, 0.7);
+    }
+
+    public LlmRequest(String prompt, int maxTokens, double temperature) {
+        this.prompt = prompt;
+        this.maxTokens = maxTokens;
+        this.temperature = temperature;
+    }
+
+    public String getPrompt() { return prompt; }
+    public int getMaxTokens() { return maxTokens; }
+    public double getTemperature() { return temperature; }
+}
@@ -0,0 +1,173 @@
+package com.finflare.llm;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.netty.channel.ChannelOption;
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.core.ParameterizedTypeReference;
+import org.springframework.http.MediaType;
+import org.springframework.http.client.reactive.ReactorClientHttpConnector;
+import org.springframework.http.codec.ServerSentEvent;
+import org.springframework.stereotype.Component;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.netty.http.HttpProtocol;
+import reactor.netty.http.client.HttpClient;
+import reactor.netty.resources.ConnectionProvider;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+@Component
+@ConditionalOnProperty(name = "app.llm.provider", havingValue = "openai", matchIfMissing = true)
+public class OpenAiLlmProvider implements LlmProvider {
+
+    private static final Logger logger = LoggerFactory.getLogger(OpenAiLlmProvider.class);
+
+    private static final ParameterizedTypeReference<ServerSentEvent<String>> SSE_TYPE =
+            new ParameterizedTypeReference<ServerSentEvent<String>>() {};
+
+    @Value("${app.openai.api.key:}")
+    private String openaiApiKey;
+
+    @Value("${app.openai.api.url:https://api.openai.com/v1}")
+    private String openaiApiUrl;
+
+    @Value("${app.llm.openai.model:gpt-3.5-turbo}")
+    private String model;
+
+    @Value("${app.llm.openai.max-concurrency:32}")
+    private int maxConcurrency;
+
+    @Value("${app.llm.openai.max-connections:64}")
+    private int maxConnections;
+
+    @Value("${app.llm.openai.http2:true}")
+    private boolean http2;
+
+    @Value("${app.llm.openai.connect-timeout-ms:3000}")
+    private int connectTimeoutMs;
+
+    @Value("${app.llm.openai.response-timeout-ms:30000}")
+    private long responseTimeoutMs;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    private WebClient webClient;
+
+    // Built here rather than in the constructor so the @Value fields are already injected
+    @PostConstruct
+    void init() {
+        ConnectionProvider connectionProvider = ConnectionProvider.builder("openai")
+                .maxConnections(maxConnections)
+                .pendingAcquireTimeout(Duration.ofMillis(connectTimeoutMs))
+                .maxIdleTime(Duration.ofSeconds(30))
+                .build();
+
+        HttpClient httpClient = HttpClient.create(connectionProvider)
+                .option(ChannelOption.CONNECT_TIMEOUT_MILLIS, connectTimeoutMs)
+                .responseTimeout(Duration.ofMillis(responseTimeoutMs));
+        // HTTP/2 is negotiated over TLS (ALPN), with HTTP/1.1 as the fallback
+        if (http2 && openaiApiUrl.startsWith("https")) {
+            httpClient = httpClient.protocol(HttpProtocol.H2, HttpProtocol.HTTP11).secure();
+        }
+
+        webClient = WebClient.builder()
+                .clientConnector(new ReactorClientHttpConnector(httpClient))
+                .baseUrl(openaiApiUrl)
+                .defaultHeader("Authorization", "Bearer " + openaiApiKey)
+                .defaultHeader("Content-Type", "application/json")
+                .build();
+    }
+
+    @Override
+    public String getName() {
+        return "openai";
+    }
+
+    @Override
+    public String getModel() {
+        return model;
+    }
+
+    @Override
+    public int getMaxConcurrency() {
+        return maxConcurrency;
+    }
+
+    @Override
+    public Mono<LlmCompletion> complete(LlmRequest request) {
+        return webClient.post()
+                .uri("/chat/completions")
+                .bodyValue(createChatCompletionRequest(request, false))
+                .retrieve()
+                .bodyToMono(JsonNode.class)
+                .flatMap(response -> {
+                    String content = extractMessageContent(response);
+                    if (content == null) {
+                        // An error, not a placeholder, so it is neither cached nor stored as an insight
+                        return Mono.error(new RuntimeException("OpenAI response had no message content"));
+                    }
+                    return Mono.just(new LlmCompletion(content, response.path("usage").path("total_tokens").asInt(0)));
+                });
+    }
+
+    @Override
+    public Flux<String> stream(LlmRequest request) {
+        return webClient.post()
+                .uri("/chat/completions")
+                .accept(MediaType.TEXT_EVENT_STREAM)
+                .bodyValue(createChatCompletionRequest(request, true))
+                .retrieve()
+                .bodyToFlux(SSE_TYPE)
+                // Comment and keep-alive lines arrive as events without data
+                .mapNotNull(ServerSentEvent::data)
+                .takeWhile(data -> !"[DONE]".equals(data))
+                .map(this::extractDeltaContent)
+                .filter(token -> !token.isEmpty());
+    }
+
+    private Map<String, Object> createChatCompletionRequest(LlmRequest request, boolean stream) {
+        Map<String, Object> message = new HashMap<>();
+        message.put("role", "user");
+        message.put("content", request.getPrompt());
+
+        List<Map<String, Object>> messages = new ArrayList<>();
+        messages.add(message);
+
+        Map<String, Object> requestBody = new HashMap<>();
+        requestBody.put("model", model);
+        requestBody.put("messages", messages);
+        requestBody.put("max_tokens", request.getMaxTokens());
+        requestBody.put("temperature", request.getTemperature());
+        if (stream) {
+            requestBody.put("stream", true);
+        }
+        return requestBody;
+    }
+
+    // Null when the response carries no choices[0].message.content
+    private String extractMessageContent(JsonNode response) {
+        JsonNode content = response.path("choices").path(0).path("message").path("content");
+        return content.isTextual() ? content.asText() : null;
+    }
+
+    // Pulls choices[0].delta.content out of one streamed chunk; empty for role or finish chunks
+    private String extractDeltaContent(String chunk) {
+        try {
+            JsonNode content = objectMapper.readTree(chunk).path("choices").path(0).path("delta").path("content");
+            return content.isTextual() ? content.asText() : "";
+        } catch (Exception e) {
+            logger.warn("Skipping unparseable AI stream chunk: {}", e.getMessage());
+            return "";
+        }
+    }
+}
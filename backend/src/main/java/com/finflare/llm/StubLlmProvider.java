@@ -0,0 +1,84 @@
+package com.finflare.llm;
+
+import com.finflare.util.TokenEstimator;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+
+/**
+ * In-process provider for load tests. Replies are derived from the prompt hash, so the
+ * same prompt always gets the same text, and latency is simulated with a fixed
+ * first-token delay plus a per-token delay. Never touches the network.
+ */
+@Component
+@ConditionalOnProperty(name = "app.llm.provider", havingValue = "stub")
+public class StubLlmProvider implements LlmProvider {
+
+    private static final String[] WORDS = {
+        "budget", "spending", "savings", "groceries", "track", "monthly", "reduce", "category",
+        "income", "goal", "plan", "weekly", "expenses", "review", "limit", "emergency", "fund"
+    };
+
+    @Value("${app.llm.stub.max-concurrency:256}")
+    private int maxConcurrency;
+
+    @Value("${app.llm.stub.first-token-ms:200}")
+    private long firstTokenMs;
+
+    @Value("${app.llm.stub.per-token-ms:10}")
+    private long perTokenMs;
+
+    @Override
+    public String getName() {
+        return "stub";
+    }
+
+    @Override
+    public String getModel() {
+        return "stub";
+    }
+
+    @Override
+    public int getMaxConcurrency() {
+        return maxConcurrency;
+    }
+
+    @Override
+    public Mono<LlmCompletion> complete(LlmRequest request) {
+        List<String> tokens = reply(request);
+        String content = String.join("", tokens);
+        int totalTokens = TokenEstimator.estimate(request.getPrompt()) + tokens.size();
+        return Mono.just(new LlmCompletion(content, totalTokens))
+                .delayElement(Duration.ofMillis(firstTokenMs + perTokenMs * tokens.size()));
+    }
+
+    @Override
+    public Flux<String> stream(LlmRequest request) {
+        List<String> tokens = reply(request);
+        Flux<String> rest = Flux.fromIterable(tokens.subList(1, tokens.size()));
+        if (perTokenMs > 0) {
+            rest = rest.delayElements(Duration.ofMillis(perTokenMs));
+        }
+        return Mono.just(tokens.get(0))
+                .delayElement(Duration.ofMillis(firstTokenMs))
+                .concatWith(rest);
+    }
+
+    private List<String> reply(LlmRequest request) {
+        SplittableRandom random = new SplittableRandom(request.getPrompt().hashCode());
+        int length = Math.max(1, Math.min(request.getMaxTokens(), 20 + random.nextInt(40)));
+        List<String> tokens = new ArrayList<>(length);
+        for (int i = 0; i < length; i++) {
+            String word = WORDS[random.nextInt(WORDS.length)];
+            tokens.add(i == 0 ? word : " " + word);
+        }
+        return tokens;
+    }
+}
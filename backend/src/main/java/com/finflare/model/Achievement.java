@@ -83,26 +83,3 @@ public class Achievement {
     public LocalDateTime getCreatedAt() { return createdAt; }
     public void setCreatedAt(LocalDateTime createdAt) { this.createdAt = createdAt; }
 }
-
-enum AchievementType {
-    FIRST_EXPENSE("First Expense"),
-    WEEKLY_STREAK("Weekly Streak"),
-    MONTHLY_STREAK("Monthly Streak"),
-    BUDGET_KEEPER("Budget Keeper"),
-    SAVINGS_MILESTONE("Savings Milestone"),
-    INVESTMENT_STARTER("Investment Starter"),
-    EXPENSE_TRACKER("Expense Tracker"),
-    CATEGORY_MASTER("Category Master"),
-    EARLY_BIRD("Early Bird"),
-    NIGHT_OWL("Night Owl");
-
-    private final String displayName;
-
-    AchievementType(String displayName) {
-        this.displayName = displayName;
-    }
-
-    public String getDisplayName() {
-        return displayName;
-    }
-}
\ No newline at end of file
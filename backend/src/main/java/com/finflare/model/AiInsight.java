@@ -0,0 +1,64 @@
+package com.finflare.model;
+
+import jakarta.persistence.*;
+import jakarta.validation.constraints.NotNull;
+
+import java.time.LocalDateTime;
+
+// Latest generated AI text per user and type, valid while the user's data version is unchanged
+@Entity
+@Table(name = "ai_insights", uniqueConstraints = {
+    @UniqueConstraint(name = "uk_ai_insight_user_type", columnNames = {"userId", "type"})
+})
+public class AiInsight {
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @NotNull
+    private Long userId;
+
+    @NotNull
+    @Enumerated(EnumType.STRING)
+    @Column(length = 30)
+    private AiInsightType type;
+
+    // Window, request parameters and expense aggregates the content was generated from
+    @NotNull
+    @Column(length = 200)
+    private String dataVersion;
+
+    @NotNull
+    @Column(columnDefinition = "TEXT")
+    private String content;
+
+    @NotNull
+    private LocalDateTime generatedAt;
+
+    // Constructors
+    public AiInsight() {}
+
+    public AiInsight(Long userId, AiInsightType type) {
+        this.userId = userId;
+        this.type = type;
+    }
+
+    // Getters and Setters
+    public Long getId() { return id; }
+    public void setId(Long id) { this.id = id; }
+
+    public Long getUserId() { return userId; }
+    public void setUserId(Long userId) { this.userId = userId; }
+
+    public AiInsightType getType() { return type; }
+    public void setType(AiInsightType type) { this.type = type; }
+
+    public String getDataVersion() { return dataVersion; }
+    public void setDataVersion(String dataVersion) { this.dataVersion = dataVersion; }
+
+    public String getContent() { return content; }
+    public void setContent(String content) { this.content = content; }
+
+    public LocalDateTime getGeneratedAt() { return generatedAt; }
+    public void setGeneratedAt(LocalDateTime generatedAt) { this.generatedAt = generatedAt; }
+}
@@ -0,0 +1,5 @@
+package com.finflare.model;
+
+public enum AiInsightType {
+    SPENDING_ANALYSIS, BUDGET_ADVICE
+}
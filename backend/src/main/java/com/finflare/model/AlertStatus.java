@@ -0,0 +1,5 @@
+package com.finflare.model;
+
+public enum AlertStatus {
+    PENDING, SENDING, SENT, FAILED
+}
@@ -11,7 +11,11 @@ import java.time.LocalDate;
 import java.time.LocalDateTime;
 
 @Entity
-@Table(name = "budgets")
+@Table(name = "budgets", indexes = {
+    @Index(name = "idx_budgets_user_active_category", columnList = "user_id, isActive, category"),
+    @Index(name = "idx_budgets_user_created", columnList = "user_id, createdAt"),
+    @Index(name = "idx_budgets_active_end", columnList = "isActive, endDate")
+})
 public class Budget {
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
@@ -86,6 +90,23 @@ public class Budget {
         return alertEnabled && getSpentPercentage() >= alertThreshold;
     }
 
+    // Successor budget for the first period that is still running on the given date
+    public Budget nextPeriod(LocalDate asOf) {
+        BudgetPeriod budgetPeriod = period != null ? period : BudgetPeriod.MONTHLY;
+        LocalDate nextStart = endDate.plusDays(1);
+        LocalDate nextEnd = budgetPeriod.advance(nextStart).minusDays(1);
+        while (nextEnd.isBefore(asOf)) {
+            nextStart = nextEnd.plusDays(1);
+            nextEnd = budgetPeriod.advance(nextStart).minusDays(1);
+        }
+
+        Budget next = new Budget(category, budgetAmount, nextStart, nextEnd, user);
+        next.setPeriod(budgetPeriod);
+        next.setAlertEnabled(alertEnabled);
+        next.setAlertThreshold(alertThreshold);
+        return next;
+    }
+
     // Getters and Setters
     public Long getId() { return id; }
     public void setId(Long id) { this.id = id; }
@@ -126,7 +147,3 @@ public class Budget {
     public LocalDateTime getUpdatedAt() { return updatedAt; }
     public void setUpdatedAt(LocalDateTime updatedAt) { this.updatedAt = updatedAt; }
 }
-
-enum BudgetPeriod {
-    WEEKLY, MONTHLY, QUARTERLY, YEARLY
-}
\ No newline at end of file
@@ -0,0 +1,125 @@
+package com.finflare.model;
+
+import jakarta.persistence.*;
+import jakarta.validation.constraints.NotNull;
+import org.hibernate.annotations.CreationTimestamp;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+@Entity
+@Table(name = "budget_alerts", indexes = {
+    @Index(name = "idx_budget_alerts_status_next", columnList = "status, nextAttemptAt"),
+    @Index(name = "idx_budget_alerts_user_status", columnList = "user_id, status")
+})
+public class BudgetAlert {
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "user_id", nullable = false)
+    private User user;
+
+    // Plain id so deleting a budget never blocks on queued alerts
+    @NotNull
+    private Long budgetId;
+
+    @Enumerated(EnumType.STRING)
+    @NotNull
+    private ExpenseCategory category;
+
+    @Column(precision = 10, scale = 2)
+    private BigDecimal budgetAmount;
+
+    @Column(precision = 10, scale = 2)
+    private BigDecimal spentAmount;
+
+    private Double spentPercentage;
+
+    private Integer alertThreshold;
+
+    private boolean overBudget = false;
+
+    @Enumerated(EnumType.STRING)
+    private AlertStatus status = AlertStatus.PENDING;
+
+    private Integer attempts = 0;
+
+    private LocalDateTime nextAttemptAt;
+
+    private LocalDateTime claimedAt;
+
+    // Set by the digest run that claimed the row; only that run sends it
+    @Column(length = 36)
+    private String claimToken;
+
+    private LocalDateTime sentAt;
+
+    @CreationTimestamp
+    private LocalDateTime createdAt;
+
+    // Constructors
+    public BudgetAlert() {}
+
+    public BudgetAlert(Budget budget, User user) {
+        this.user = user;
+        this.budgetId = budget.getId();
+        this.category = budget.getCategory();
+        this.budgetAmount = budget.getBudgetAmount();
+        this.spentAmount = budget.getSpentAmount();
+        this.spentPercentage = budget.getSpentPercentage();
+        this.alertThreshold = budget.getAlertThreshold();
+        this.overBudget = budget.isOverBudget();
+        this.nextAttemptAt = LocalDateTime.now();
+    }
+
+    // Getters and Setters
+    public Long getId() { return id; }
+    public void setId(Long id) { this.id = id; }
+
+    public User getUser() { return user; }
+    public void setUser(User user) { this.user = user; }
+
+    public Long getBudgetId() { return budgetId; }
+    public void setBudgetId(Long budgetId) { this.budgetId = budgetId; }
+
+    public ExpenseCategory getCategory() { return category; }
+    public void setCategory(ExpenseCategory category) { this.category = category; }
+
+    public BigDecimal getBudgetAmount() { return budgetAmount; }
+    public void setBudgetAmount(BigDecimal budgetAmount) { this.budgetAmount = budgetAmount; }
+
+    public BigDecimal getSpentAmount() { return spentAmount; }
+    public void setSpentAmount(BigDecimal spentAmount) { this.spentAmount = spentAmount; }
+
+    public Double getSpentPercentage() { return spentPercentage; }
+    public void setSpentPercentage(Double spentPercentage) { this.spentPercentage = spentPercentage; }
+
+    public Integer getAlertThreshold() { return alertThreshold; }
+    public void setAlertThreshold(Integer alertThreshold) { this.alertThreshold = alertThreshold; }
+
+    public boolean isOverBudget() { return overBudget; }
+    public void setOverBudget(boolean overBudget) { this.overBudget = overBudget; }
+
+    public AlertStatus getStatus() { return status; }
+    public void setStatus(AlertStatus status) { this.status = status; }
+
+    public Integer getAttempts() { return attempts; }
+    public void setAttempts(Integer attempts) { this.attempts = attempts; }
+
+    public LocalDateTime getNextAttemptAt() { return nextAttemptAt; }
+    public void setNextAttemptAt(LocalDateTime nextAttemptAt) { this.nextAttemptAt = nextAttemptAt; }
+
+    public LocalDateTime getClaimedAt() { return claimedAt; }
+    public void setClaimedAt(LocalDateTime claimedAt) { this.claimedAt = claimedAt; }
+
+    public String getClaimToken() { return claimToken; }
+    public void setClaimToken(String claimToken) { this.claimToken = claimToken; }
+
+    public LocalDateTime getSentAt() { return sentAt; }
+    public void setSentAt(LocalDateTime sentAt) { this.sentAt = sentAt; }
+
+    public LocalDateTime getCreatedAt() { return createdAt; }
+    public void setCreatedAt(LocalDateTime createdAt) { this.createdAt = createdAt; }
+}
@@ -0,0 +1,16 @@
+package com.finflare.model;
+
+import java.time.LocalDate;
+
+public enum BudgetPeriod {
+    WEEKLY, MONTHLY, QUARTERLY, YEARLY;
+
+    public LocalDate advance(LocalDate from) {
+        switch (this) {
+            case WEEKLY: return from.plusWeeks(1);
+            case QUARTERLY: return from.plusMonths(3);
+            case YEARLY: return from.plusYears(1);
+            default: return from.plusMonths(1);
+        }
+    }
+}
@@ -1,5 +1,6 @@
 package com.finflare.model;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import jakarta.persistence.*;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.NotNull;
@@ -13,7 +14,10 @@ import java.time.LocalDateTime;
 import jakarta.validation.constraints.Size;
 
 @Entity
-@Table(name = "expenses")
+@Table(name = "expenses", indexes = {
+    @Index(name = "idx_expenses_user_category_date", columnList = "user_id, category, expenseDate"),
+    @Index(name = "idx_expenses_user_date", columnList = "user_id, expenseDate")
+})
 public class Expense {
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
@@ -48,6 +52,7 @@ public class Expense {
     @Enumerated(EnumType.STRING)
     private RecurrenceType recurrenceType;
 
+    @JsonIgnore
     @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "user_id", nullable = false)
     private User user;
@@ -124,40 +129,3 @@ public class Expense {
     public boolean isAiCategorized() { return aiCategorized; }
     public void setAiCategorized(boolean aiCategorized) { this.aiCategorized = aiCategorized; }
 }
-
-enum ExpenseCategory {
-    FOOD_DINING("Food & Dining"),
-    TRANSPORTATION("Transportation"),
-    SHOPPING("Shopping"),
-    ENTERTAINMENT("Entertainment"),
-    BILLS_UTILITIES("Bills & Utilities"),
-    HEALTHCARE("Healthcare"),
-    EDUCATION("Education"),
-    TRAVEL("Travel"),
-    GROCERIES("Groceries"),
-    INSURANCE("Insurance"),
-    INVESTMENTS("Investments"),
-    GIFTS_DONATIONS("Gifts & Donations"),
-    PERSONAL_CARE("Personal Care"),
-    HOME_GARDEN("Home & Garden"),
-    BUSINESS("Business"),
-    OTHER("Other");
-
-    private final String displayName;
-
-    ExpenseCategory(String displayName) {
-        this.displayName = displayName;
-    }
-
-    public String getDisplayName() {
-        return displayName;
-    }
-}
-
-enum ExpenseSource {
-    MANUAL, OCR, VOICE
-}
-
-enum RecurrenceType {
-    DAILY, WEEKLY, MONTHLY, YEARLY
-}
\ No newline at end of file
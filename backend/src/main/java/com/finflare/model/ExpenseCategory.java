@@ -0,0 +1,30 @@
+package com.finflare.model;
+
+public enum ExpenseCategory {
+    FOOD_DINING("Food & Dining"),
+    TRANSPORTATION("Transportation"),
+    SHOPPING("Shopping"),
+    ENTERTAINMENT("Entertainment"),
+    BILLS_UTILITIES("Bills & Utilities"),
+    HEALTHCARE("Healthcare"),
+    EDUCATION("Education"),
+    TRAVEL("Travel"),
+    GROCERIES("Groceries"),
+    INSURANCE("Insurance"),
+    INVESTMENTS("Investments"),
+    GIFTS_DONATIONS("Gifts & Donations"),
+    PERSONAL_CARE("Personal Care"),
+    HOME_GARDEN("Home & Garden"),
+    BUSINESS("Business"),
+    OTHER("Other");
+
+    private final String displayName;
+
+    ExpenseCategory(String displayName) {
+        this.displayName = displayName;
+    }
+
+    public String getDisplayName() {
+        return displayName;
+    }
+}
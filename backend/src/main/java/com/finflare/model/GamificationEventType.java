@@ -0,0 +1,5 @@
+package com.finflare.model;
+
+public enum GamificationEventType {
+    EXPENSE_ADDED, INVESTMENT_ADDED, BUDGET_PERIOD_CLOSED
+}
@@ -0,0 +1,84 @@
+package com.finflare.model;
+
+import jakarta.persistence.*;
+import jakarta.validation.constraints.NotNull;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+// A gamification event that could not be queued in memory; replayed in enqueue order per user
+@Entity
+@Table(name = "gamification_outbox", indexes = {
+    @Index(name = "idx_gamification_outbox_user", columnList = "userId, enqueuedAt")
+})
+public class GamificationOutboxEvent {
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @NotNull
+    private Long userId;
+
+    @Enumerated(EnumType.STRING)
+    @NotNull
+    private GamificationEventType type;
+
+    // Expense or investment id
+    private Long referenceId;
+
+    @Enumerated(EnumType.STRING)
+    private ExpenseCategory category;
+
+    // Budget period start
+    private LocalDate startDate;
+
+    // Expense date or budget period end
+    private LocalDate eventDate;
+
+    private LocalDateTime occurredAt;
+
+    private boolean withinBudget;
+
+    @NotNull
+    private LocalDateTime enqueuedAt;
+
+    // Constructors
+    public GamificationOutboxEvent() {}
+
+    public GamificationOutboxEvent(Long userId, GamificationEventType type, LocalDateTime enqueuedAt) {
+        this.userId = userId;
+        this.type = type;
+        this.enqueuedAt = enqueuedAt;
+    }
+
+    // Getters and Setters
+    public Long getId() { return id; }
+    public void setId(Long id) { this.id = id; }
+
+    public Long getUserId() { return userId; }
+    public void setUserId(Long userId) { this.userId = userId; }
+
+    public GamificationEventType getType() { return type; }
+    public void setType(GamificationEventType type) { this.type = type; }
+
+    public Long getReferenceId() { return referenceId; }
+    public void setReferenceId(Long referenceId) { this.referenceId = referenceId; }
+
+    public ExpenseCategory getCategory() { return category; }
+    public void setCategory(ExpenseCategory category) { this.category = category; }
+
+    public LocalDate getStartDate() { return startDate; }
+    public void setStartDate(LocalDate startDate) { this.startDate = startDate; }
+
+    public LocalDate getEventDate() { return eventDate; }
+    public void setEventDate(LocalDate eventDate) { this.eventDate = eventDate; }
+
+    public LocalDateTime getOccurredAt() { return occurredAt; }
+    public void setOccurredAt(LocalDateTime occurredAt) { this.occurredAt = occurredAt; }
+
+    public boolean isWithinBudget() { return withinBudget; }
+    public void setWithinBudget(boolean withinBudget) { this.withinBudget = withinBudget; }
+
+    public LocalDateTime getEnqueuedAt() { return enqueuedAt; }
+    public void setEnqueuedAt(LocalDateTime enqueuedAt) { this.enqueuedAt = enqueuedAt; }
+}
@@ -0,0 +1,188 @@
+package com.finflare.model;
+
+import jakarta.persistence.*;
+
+import java.util.Arrays;
+import java.util.EnumSet;
+
+// Running per-user counters that achievement rules are evaluated against
+@Entity
+@Table(name = "gamification_stats")
+public class GamificationStats {
+    // activeDays only covers a trailing window of this many bytes (about 22 years of days)
+    private static final int MAX_ACTIVE_DAY_BYTES = 1024;
+
+    @Id
+    private Long userId;
+
+    // Bit i set means the user logged an expense dated activeDaysOrigin + i (epoch days)
+    @Column(length = MAX_ACTIVE_DAY_BYTES)
+    private byte[] activeDays = new byte[0];
+
+    private long activeDaysOrigin;
+
+    private int activeDayCount;
+
+    // Expenses logged on countDay (epoch day), reset when the day changes
+    private long countDay;
+
+    private int countDayExpenses;
+
+    // Bit per ExpenseCategory ordinal
+    private int categoryMask;
+
+    // Consecutive months within budget, ending at lastBudgetMonth
+    private int budgetKeptMonths;
+
+    // yyyy * 12 + month - 1 of the last month a budget closed in
+    private int lastBudgetMonth;
+
+    private int earlyBirdCount;
+
+    private int nightOwlCount;
+
+    private int investmentCount;
+
+    // Bit per AchievementType ordinal
+    private long unlockedMask;
+
+    @Transient
+    private EnumSet<AchievementType> unlocked;
+
+    // Constructors
+    public GamificationStats() {}
+
+    public GamificationStats(Long userId) {
+        this.userId = userId;
+    }
+
+    // Decoded from the persisted mask on first use
+    private EnumSet<AchievementType> unlockedSet() {
+        if (unlocked == null) {
+            unlocked = EnumSet.noneOf(AchievementType.class);
+            for (AchievementType type : AchievementType.values()) {
+                if ((unlockedMask & (1L << type.ordinal())) != 0) {
+                    unlocked.add(type);
+                }
+            }
+        }
+        return unlocked;
+    }
+
+    public boolean isUnlocked(AchievementType type) {
+        return unlockedSet().contains(type);
+    }
+
+    public void markUnlocked(AchievementType type) {
+        unlockedSet().add(type);
+        unlockedMask |= 1L << type.ordinal();
+    }
+
+    /**
+     * Records activity on the given epoch day. Returns true if it is a new distinct day.
+     * Days older than the tracked window are ignored; days that slide out of it stay counted.
+     */
+    public boolean markActiveDay(long epochDay) {
+        if (activeDays.length == 0) {
+            activeDaysOrigin = epochDay;
+        } else if (epochDay < activeDaysOrigin) {
+            // Back-dated expense: grow the bitmap to the left, keeping byte alignment
+            long shiftBytes = (activeDaysOrigin - epochDay + 7) / 8;
+            if (activeDays.length + shiftBytes > MAX_ACTIVE_DAY_BYTES) {
+                return false;
+            }
+            byte[] grown = new byte[activeDays.length + (int) shiftBytes];
+            System.arraycopy(activeDays, 0, grown, (int) shiftBytes, activeDays.length);
+            activeDays = grown;
+            activeDaysOrigin -= shiftBytes * 8L;
+        }
+
+        long byteIndex = (epochDay - activeDaysOrigin) / 8;
+        if (byteIndex >= MAX_ACTIVE_DAY_BYTES) {
+            // Slide the window forward, dropping the oldest days
+            long drop = byteIndex - MAX_ACTIVE_DAY_BYTES + 1;
+            activeDays = drop >= activeDays.length
+                    ? new byte[0]
+                    : Arrays.copyOfRange(activeDays, (int) drop, activeDays.length);
+            activeDaysOrigin += drop * 8L;
+            byteIndex -= drop;
+        }
+        if (byteIndex >= activeDays.length) {
+            activeDays = Arrays.copyOf(activeDays, (int) Math.min(byteIndex + 16, MAX_ACTIVE_DAY_BYTES));
+        }
+
+        int bit = (int) (epochDay - activeDaysOrigin);
+        if ((activeDays[bit / 8] & (1 << (bit % 8))) != 0) {
+            return false;
+        }
+        activeDays[bit / 8] |= (byte) (1 << (bit % 8));
+        activeDayCount++;
+        return true;
+    }
+
+    public void countExpenseOn(long epochDay) {
+        if (countDay != epochDay) {
+            countDay = epochDay;
+            countDayExpenses = 0;
+        }
+        countDayExpenses++;
+    }
+
+    public void addCategory(ExpenseCategory category) {
+        categoryMask |= 1 << category.ordinal();
+    }
+
+    public int getDistinctCategoryCount() {
+        return Integer.bitCount(categoryMask);
+    }
+
+    /**
+     * Records budgets kept from firstMonth through lastMonth (yyyy * 12 + month - 1 keys).
+     * The count only grows while the months follow on from the last one recorded.
+     */
+    public void recordBudgetKept(int firstMonth, int lastMonth) {
+        if (lastMonth <= lastBudgetMonth) {
+            return;
+        }
+        int from = Math.max(firstMonth, lastBudgetMonth + 1);
+        int months = lastMonth - from + 1;
+        budgetKeptMonths = from == lastBudgetMonth + 1 ? budgetKeptMonths + months : months;
+        lastBudgetMonth = lastMonth;
+    }
+
+    // An over-budget month ends the run; an older one cuts it back to the months after it
+    public void recordBudgetMissed(int monthKey) {
+        if (monthKey >= lastBudgetMonth) {
+            budgetKeptMonths = 0;
+            lastBudgetMonth = monthKey;
+        } else {
+            budgetKeptMonths = Math.min(budgetKeptMonths, lastBudgetMonth - monthKey);
+        }
+    }
+
+    // Getters and Setters
+    public Long getUserId() { return userId; }
+    public void setUserId(Long userId) { this.userId = userId; }
+
+    public int getActiveDayCount() { return activeDayCount; }
+
+    public long getCountDay() { return countDay; }
+
+    public int getCountDayExpenses() { return countDayExpenses; }
+    public void setCountDayExpenses(int countDayExpenses) { this.countDayExpenses = countDayExpenses; }
+
+    public int getCategoryMask() { return categoryMask; }
+
+    public int getBudgetKeptMonths() { return budgetKeptMonths; }
+
+    public int getEarlyBirdCount() { return earlyBirdCount; }
+    public void setEarlyBirdCount(int earlyBirdCount) { this.earlyBirdCount = earlyBirdCount; }
+
+    public int getNightOwlCount() { return nightOwlCount; }
+    public void setNightOwlCount(int nightOwlCount) { this.nightOwlCount = nightOwlCount; }
+
+    public int getInvestmentCount() { return investmentCount; }
+    public void setInvestmentCount(int investmentCount) { this.investmentCount = investmentCount; }
+
+    public EnumSet<AchievementType> getUnlocked() { return EnumSet.copyOf(unlockedSet()); }
+}
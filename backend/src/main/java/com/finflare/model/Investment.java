@@ -1,5 +1,6 @@
 package com.finflare.model;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import jakarta.persistence.*;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.NotNull;
@@ -11,7 +12,9 @@ import java.math.BigDecimal;
 import java.time.LocalDateTime;
 
 @Entity
-@Table(name = "investments")
+@Table(name = "investments", indexes = {
+    @Index(name = "idx_investments_symbol", columnList = "symbol")
+})
 public class Investment {
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
@@ -49,6 +52,8 @@ public class Investment {
 
     private String description;
 
+    // Owner is implied by the request; never serialize the (lazy) user with its password hash
+    @JsonIgnore
     @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "user_id", nullable = false)
     private User user;
@@ -141,11 +146,3 @@ public class Investment {
     public LocalDateTime getUpdatedAt() { return updatedAt; }
     public void setUpdatedAt(LocalDateTime updatedAt) { this.updatedAt = updatedAt; }
 }
-
-enum InvestmentType {
-    STOCK, CRYPTO, BOND, ETF, MUTUAL_FUND
-}
-
-enum RiskLevel {
-    LOW, MEDIUM, HIGH, VERY_HIGH
-}
\ No newline at end of file
@@ -0,0 +1,5 @@
+package com.finflare.model;
+
+public enum InvestmentType {
+    STOCK, CRYPTO, BOND, ETF, MUTUAL_FUND
+}
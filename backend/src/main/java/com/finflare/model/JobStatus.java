@@ -0,0 +1,5 @@
+package com.finflare.model;
+
+public enum JobStatus {
+    PENDING, RUNNING, COMPLETED, FAILED
+}
@@ -0,0 +1,9 @@
+package com.finflare.model;
+
+public enum LeaderboardType {
+    POINTS, STREAK, WEEKLY, MONTHLY;
+
+    public boolean isWindowed() {
+        return this == WEEKLY || this == MONTHLY;
+    }
+}
@@ -0,0 +1,60 @@
+package com.finflare.model;
+
+import jakarta.persistence.*;
+import jakarta.validation.constraints.NotNull;
+
+import java.time.LocalDateTime;
+
+// Insert-only record of a points change; old rows are folded into one checkpoint row per user
+@Entity
+@Table(name = "points_ledger", indexes = {
+    @Index(name = "idx_points_ledger_user", columnList = "userId, id"),
+    @Index(name = "idx_points_ledger_created", columnList = "createdAt")
+})
+public class PointsLedgerEntry {
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @NotNull
+    @Column(updatable = false)
+    private Long userId;
+
+    @NotNull
+    @Column(updatable = false)
+    private Integer delta;
+
+    @Column(length = 50, updatable = false)
+    private String reason;
+
+    @Column(updatable = false)
+    private boolean checkpoint = false;
+
+    @NotNull
+    @Column(updatable = false)
+    private LocalDateTime createdAt;
+
+    // Constructors
+    public PointsLedgerEntry() {}
+
+    public PointsLedgerEntry(Long userId, Integer delta, String reason, LocalDateTime createdAt) {
+        this.userId = userId;
+        this.delta = delta;
+        this.reason = reason;
+        this.createdAt = createdAt;
+    }
+
+    public static PointsLedgerEntry checkpoint(Long userId, Integer delta, LocalDateTime createdAt) {
+        PointsLedgerEntry entry = new PointsLedgerEntry(userId, delta, "CHECKPOINT", createdAt);
+        entry.checkpoint = true;
+        return entry;
+    }
+
+    // Getters
+    public Long getId() { return id; }
+    public Long getUserId() { return userId; }
+    public Integer getDelta() { return delta; }
+    public String getReason() { return reason; }
+    public boolean isCheckpoint() { return checkpoint; }
+    public LocalDateTime getCreatedAt() { return createdAt; }
+}
@@ -0,0 +1,85 @@
+package com.finflare.model;
+
+import jakarta.persistence.*;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+@Entity
+@Table(name = "reconciliation_partitions", indexes = {
+    @Index(name = "idx_reconciliation_partitions_run", columnList = "run_id, status")
+})
+public class ReconciliationPartition {
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "run_id", nullable = false)
+    private ReconciliationRun run;
+
+    // Half-open user id range [fromUserId, toUserId)
+    private Long fromUserId;
+
+    private Long toUserId;
+
+    @Enumerated(EnumType.STRING)
+    private JobStatus status = JobStatus.PENDING;
+
+    private Integer budgetsChecked = 0;
+
+    private Integer budgetsFixed = 0;
+
+    @Column(precision = 14, scale = 2)
+    private BigDecimal totalDrift = BigDecimal.ZERO;
+
+    @Column(precision = 10, scale = 2)
+    private BigDecimal maxDrift = BigDecimal.ZERO;
+
+    private Long maxDriftBudgetId;
+
+    private LocalDateTime completedAt;
+
+    // Constructors
+    public ReconciliationPartition() {}
+
+    public ReconciliationPartition(ReconciliationRun run, Long fromUserId, Long toUserId) {
+        this.run = run;
+        this.fromUserId = fromUserId;
+        this.toUserId = toUserId;
+    }
+
+    // Getters and Setters
+    public Long getId() { return id; }
+    public void setId(Long id) { this.id = id; }
+
+    public ReconciliationRun getRun() { return run; }
+    public void setRun(ReconciliationRun run) { this.run = run; }
+
+    public Long getFromUserId() { return fromUserId; }
+    public void setFromUserId(Long fromUserId) { this.fromUserId = fromUserId; }
+
+    public Long getToUserId() { return toUserId; }
+    public void setToUserId(Long toUserId) { this.toUserId = toUserId; }
+
+    public JobStatus getStatus() { return status; }
+    public void setStatus(JobStatus status) { this.status = status; }
+
+    public Integer getBudgetsChecked() { return budgetsChecked; }
+    public void setBudgetsChecked(Integer budgetsChecked) { this.budgetsChecked = budgetsChecked; }
+
+    public Integer getBudgetsFixed() { return budgetsFixed; }
+    public void setBudgetsFixed(Integer budgetsFixed) { this.budgetsFixed = budgetsFixed; }
+
+    public BigDecimal getTotalDrift() { return totalDrift; }
+    public void setTotalDrift(BigDecimal totalDrift) { this.totalDrift = totalDrift; }
+
+    public BigDecimal getMaxDrift() { return maxDrift; }
+    public void setMaxDrift(BigDecimal maxDrift) { this.maxDrift = maxDrift; }
+
+    public Long getMaxDriftBudgetId() { return maxDriftBudgetId; }
+    public void setMaxDriftBudgetId(Long maxDriftBudgetId) { this.maxDriftBudgetId = maxDriftBudgetId; }
+
+    public LocalDateTime getCompletedAt() { return completedAt; }
+    public void setCompletedAt(LocalDateTime completedAt) { this.completedAt = completedAt; }
+}
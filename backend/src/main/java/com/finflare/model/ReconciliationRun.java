@@ -0,0 +1,62 @@
+package com.finflare.model;
+
+import jakarta.persistence.*;
+
+import java.time.LocalDateTime;
+
+@Entity
+@Table(name = "reconciliation_runs")
+public class ReconciliationRun {
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Enumerated(EnumType.STRING)
+    private JobStatus status = JobStatus.RUNNING;
+
+    private Long usersPerPartition;
+
+    private Integer totalPartitions;
+
+    private String triggeredBy;
+
+    private String failureReason;
+
+    private LocalDateTime startedAt;
+
+    private LocalDateTime finishedAt;
+
+    // Constructors
+    public ReconciliationRun() {}
+
+    public ReconciliationRun(Long usersPerPartition, String triggeredBy) {
+        this.usersPerPartition = usersPerPartition;
+        this.triggeredBy = triggeredBy;
+        this.startedAt = LocalDateTime.now();
+    }
+
+    // Getters and Setters
+    public Long getId() { return id; }
+    public void setId(Long id) { this.id = id; }
+
+    public JobStatus getStatus() { return status; }
+    public void setStatus(JobStatus status) { this.status = status; }
+
+    public Long getUsersPerPartition() { return usersPerPartition; }
+    public void setUsersPerPartition(Long usersPerPartition) { this.usersPerPartition = usersPerPartition; }
+
+    public Integer getTotalPartitions() { return totalPartitions; }
+    public void setTotalPartitions(Integer totalPartitions) { this.totalPartitions = totalPartitions; }
+
+    public String getTriggeredBy() { return triggeredBy; }
+    public void setTriggeredBy(String triggeredBy) { this.triggeredBy = triggeredBy; }
+
+    public String getFailureReason() { return failureReason; }
+    public void setFailureReason(String failureReason) { this.failureReason = failureReason; }
+
+    public LocalDateTime getStartedAt() { return startedAt; }
+    public void setStartedAt(LocalDateTime startedAt) { this.startedAt = startedAt; }
+
+    public LocalDateTime getFinishedAt() { return finishedAt; }
+    public void setFinishedAt(LocalDateTime finishedAt) { this.finishedAt = finishedAt; }
+}
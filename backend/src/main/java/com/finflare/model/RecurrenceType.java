@@ -0,0 +1,5 @@
+package com.finflare.model;
+
+public enum RecurrenceType {
+    DAILY, WEEKLY, MONTHLY, YEARLY
+}
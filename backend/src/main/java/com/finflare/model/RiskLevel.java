@@ -0,0 +1,5 @@
+package com.finflare.model;
+
+public enum RiskLevel {
+    LOW, MEDIUM, HIGH, VERY_HIGH
+}
@@ -12,7 +12,13 @@ import java.util.HashSet;
 import java.util.Set;
 
 @Entity
-@Table(name = "users")
+@Table(name = "users", indexes = {
+    // Leaderboard catch-up after loading a snapshot
+    @Index(name = "idx_users_updated_at", columnList = "updatedAt"),
+    // Token restriction reloads in UserStatusCache
+    @Index(name = "idx_users_enabled", columnList = "enabled"),
+    @Index(name = "idx_users_tokens_revoked_at", columnList = "tokensRevokedAt")
+})
 public class User {
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
@@ -49,6 +55,9 @@ public class User {
 
     private boolean enabled = true;
 
+    // Access tokens issued before this instant are rejected
+    private LocalDateTime tokensRevokedAt;
+
     @CreationTimestamp
     private LocalDateTime createdAt;
 
@@ -56,6 +65,8 @@ public class User {
     private LocalDateTime updatedAt;
 
     // Gamification fields
+    // Only changed through PointsLedgerService, which updates it atomically
+    @Column(updatable = false)
     private Integer totalPoints = 0;
     private Integer currentStreak = 0;
     private Integer maxStreak = 0;
@@ -113,6 +124,9 @@ public class User {
     public boolean isEnabled() { return enabled; }
     public void setEnabled(boolean enabled) { this.enabled = enabled; }
 
+    public LocalDateTime getTokensRevokedAt() { return tokensRevokedAt; }
+    public void setTokensRevokedAt(LocalDateTime tokensRevokedAt) { this.tokensRevokedAt = tokensRevokedAt; }
+
     public LocalDateTime getCreatedAt() { return createdAt; }
     public void setCreatedAt(LocalDateTime createdAt) { this.createdAt = createdAt; }
 
@@ -143,7 +157,3 @@ public class User {
     public Set<Achievement> getAchievements() { return achievements; }
     public void setAchievements(Set<Achievement> achievements) { this.achievements = achievements; }
 }
-
-enum UserRole {
-    USER, ADMIN
-}
\ No newline at end of file
@@ -0,0 +1,5 @@
+package com.finflare.model;
+
+public enum UserRole {
+    USER, ADMIN
+}
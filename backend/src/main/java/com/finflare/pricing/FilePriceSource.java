@@ -0,0 +1,79 @@
+package com.finflare.pricing;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+
+/**
+ * Reads SYMBOL,PRICE lines from a local file, re-reading only when the file's
+ * modification time changes. Blank lines and lines starting with # are ignored.
+ */
+@Component
+@ConditionalOnProperty(name = "app.prices.source", havingValue = "file")
+public class FilePriceSource implements PriceSource {
+
+    private static final Logger logger = LoggerFactory.getLogger(FilePriceSource.class);
+
+    @Value("${app.prices.file.path:data/prices.csv}")
+    private String path;
+
+    private long lastModified = -1L;
+
+    @Override
+    public String getName() {
+        return "file";
+    }
+
+    @Override
+    public void poll(PriceTable table) {
+        Path file = Paths.get(path);
+        try {
+            if (!Files.exists(file)) {
+                return;
+            }
+            long modified = Files.getLastModifiedTime(file).toMillis();
+            if (modified == lastModified) {
+                return;
+            }
+
+            int updated = 0;
+            try (BufferedReader reader = Files.newBufferedReader(file, StandardCharsets.UTF_8)) {
+                String line;
+                while ((line = reader.readLine()) != null) {
+                    line = line.trim();
+                    if (line.isEmpty() || line.startsWith("#")) {
+                        continue;
+                    }
+                    int comma = line.indexOf(',');
+                    if (comma <= 0) {
+                        continue;
+                    }
+                    try {
+                        long cents = new BigDecimal(line.substring(comma + 1).trim())
+                                .setScale(2, RoundingMode.HALF_UP).unscaledValue().longValueExact();
+                        if (table.update(line.substring(0, comma), cents)) {
+                            updated++;
+                        }
+                    } catch (ArithmeticException | NumberFormatException e) {
+                        logger.warn("Skipping bad price line '{}'", line);
+                    }
+                }
+            }
+            lastModified = modified;
+            logger.info("Loaded price file {}: {} prices changed", path, updated);
+        } catch (IOException e) {
+            logger.warn("Could not read price file {}: {}", path, e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,138 @@
+package com.finflare.pricing;
+
+import com.finflare.repository.InvestmentRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Polls the configured price source into the shared price table and writes changed
+ * prices back to investments.current_price, a bounded number of rows per transaction.
+ * Portfolio summaries read prices from the table, so a pass invalidates nothing.
+ * With no app.prices.source configured there is no feed and this job does nothing.
+ */
+@Service
+public class MarkToMarketService {
+
+    private static final Logger logger = LoggerFactory.getLogger(MarkToMarketService.class);
+
+    @Autowired(required = false)
+    private PriceSource priceSource;
+
+    @Autowired
+    private InvestmentRepository investmentRepository;
+
+    @Autowired
+    private PriceTable priceTable;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Value("${app.prices.symbol-refresh-ms:60000}")
+    private long symbolRefreshMs;
+
+    @Value("${app.prices.rows-per-transaction:5000}")
+    private int rowsPerTransaction;
+
+    private long lastSymbolRefresh;
+    private volatile long lastMarkedAt;
+    private volatile int lastMarkedSymbols;
+    private volatile long lastMarkedRows;
+    private volatile int lastMarkedTransactions;
+
+    @Scheduled(fixedDelayString = "${app.prices.mark-interval-ms:2000}",
+               initialDelayString = "${app.prices.mark-interval-ms:2000}")
+    public synchronized void markToMarket() {
+        if (priceSource == null) {
+            return;
+        }
+
+        long now = System.currentTimeMillis();
+        if (lastSymbolRefresh == 0 || now - lastSymbolRefresh >= symbolRefreshMs) {
+            refreshSymbols();
+            lastSymbolRefresh = now;
+        }
+
+        priceSource.poll(priceTable);
+        PriceTable.Changes changes = priceTable.drainChanged();
+        if (changes.size() == 0) {
+            return;
+        }
+
+        // Each transaction marks up to rowsPerTransaction holdings, then commits and moves on
+        WriteCursor cursor = new WriteCursor();
+        while (cursor.symbol < changes.size()) {
+            int firstSymbol = cursor.symbol;
+            try {
+                transactionTemplate.executeWithoutResult(status -> writePrices(changes, cursor));
+            } catch (RuntimeException e) {
+                // Earlier transactions stay committed; the rolled-back symbols onward are retried next pass
+                priceTable.markChanged(changes, firstSymbol);
+                logger.warn("Mark-to-market stopped at symbol {} of {}: {}",
+                        firstSymbol, changes.size(), e.getMessage());
+                return;
+            }
+            cursor.transactions++;
+        }
+
+        lastMarkedAt = System.currentTimeMillis();
+        lastMarkedSymbols = changes.size();
+        lastMarkedRows = cursor.rows;
+        lastMarkedTransactions = cursor.transactions;
+        logger.debug("Marked {} holdings across {} symbols to market in {} transactions, {} ms",
+                cursor.rows, changes.size(), cursor.transactions, lastMarkedAt - now);
+    }
+
+    public Map<String, Object> getStats() {
+        Map<String, Object> stats = new HashMap<>();
+        stats.put("source", priceSource != null ? priceSource.getName() : "none");
+        stats.put("symbols", priceTable.size());
+        stats.put("lastMarkedAt", lastMarkedAt);
+        stats.put("lastMarkedSymbols", lastMarkedSymbols);
+        stats.put("lastMarkedRows", lastMarkedRows);
+        stats.put("lastMarkedTransactions", lastMarkedTransactions);
+        return stats;
+    }
+
+    // Advances the cursor only past symbols whose holdings are all marked
+    private void writePrices(PriceTable.Changes changes, WriteCursor cursor) {
+        int budget = rowsPerTransaction;
+        while (budget > 0 && cursor.symbol < changes.size()) {
+            int limit = budget;
+            int updated = investmentRepository.updateCurrentPriceBySymbol(changes.symbolAt(cursor.symbol),
+                    BigDecimal.valueOf(changes.centsAt(cursor.symbol), 2), limit);
+            cursor.rows += updated;
+            budget -= updated;
+            if (updated < limit) {
+                cursor.symbol++;
+            }
+        }
+    }
+
+    private void refreshSymbols() {
+        List<Object[]> rows = investmentRepository.getSymbolReferencePrices();
+        for (Object[] row : rows) {
+            if (row[0] == null || row[1] == null) {
+                continue;
+            }
+            BigDecimal reference = new BigDecimal(row[1].toString()).setScale(2, RoundingMode.HALF_UP);
+            priceTable.register((String) row[0], reference.unscaledValue().longValue());
+        }
+    }
+
+    private static final class WriteCursor {
+        private int symbol;
+        private long rows;
+        private int transactions;
+    }
+}
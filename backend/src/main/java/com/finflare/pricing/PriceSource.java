@@ -0,0 +1,13 @@
+package com.finflare.pricing;
+
+/**
+ * A feed of market prices. Polled once per mark-to-market pass; implementations push
+ * whatever prices they have into the table, which keeps track of what changed. The
+ * active source is chosen with app.prices.source; with none set there is no feed.
+ */
+public interface PriceSource {
+
+    String getName();
+
+    void poll(PriceTable table);
+}
@@ -0,0 +1,141 @@
+package com.finflare.pricing;
+
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * In-memory symbol to price table. Each symbol gets a dense int id on first sight;
+ * prices live in a long[] of cents indexed by that id and a BitSet tracks which ids
+ * changed since the last drain, so a tick touches no boxed values. Seed prices are
+ * kept apart from prices the source supplied and are never reported as a price. Shared by the
+ * mark-to-market job and the portfolio summary, which values positions from it on read.
+ */
+@Component
+public class PriceTable {
+
+    private final Map<String, Integer> ids = new HashMap<>();
+    private String[] symbols = new String[64];
+    private long[] cents = new long[64];
+    private long[] seeds = new long[64];
+    private final BitSet changed = new BitSet();
+    private int size;
+
+    public static String normalize(String symbol) {
+        return symbol.trim().toUpperCase(Locale.ROOT);
+    }
+
+    /**
+     * Registers the symbol with a seed price for sources that move prices from a starting
+     * point. The seed is not a price: priceOf stays 0 until the source supplies one.
+     */
+    public synchronized int register(String symbol, long seedCents) {
+        int id = idOf(normalize(symbol));
+        seeds[id] = seedCents;
+        return id;
+    }
+
+    // Returns true if the price differs from the current one and was marked changed
+    public synchronized boolean update(String symbol, long newCents) {
+        if (newCents <= 0) {
+            return false;
+        }
+        int id = idOf(normalize(symbol));
+        if (cents[id] == newCents) {
+            return false;
+        }
+        cents[id] = newCents;
+        changed.set(id);
+        return true;
+    }
+
+    public synchronized void update(int id, long newCents) {
+        if (newCents > 0 && cents[id] != newCents) {
+            cents[id] = newCents;
+            changed.set(id);
+        }
+    }
+
+    // 0 when the symbol is unknown or the source has not priced it yet
+    public synchronized long priceOf(String symbol) {
+        Integer id = ids.get(normalize(symbol));
+        return id != null ? cents[id] : 0;
+    }
+
+    public synchronized long priceOf(int id) {
+        return cents[id];
+    }
+
+    // The supplied price, or the seed until there is one
+    public synchronized long referencePriceOf(int id) {
+        return cents[id] > 0 ? cents[id] : seeds[id];
+    }
+
+    public synchronized int size() {
+        return size;
+    }
+
+    public synchronized List<String> symbols() {
+        return new ArrayList<>(Arrays.asList(symbols).subList(0, size));
+    }
+
+    // Snapshot of the changed prices; clears the changed set
+    public synchronized Changes drainChanged() {
+        int count = changed.cardinality();
+        String[] changedSymbols = new String[count];
+        long[] changedCents = new long[count];
+        int i = 0;
+        for (int id = changed.nextSetBit(0); id >= 0; id = changed.nextSetBit(id + 1)) {
+            changedSymbols[i] = symbols[id];
+            changedCents[i] = cents[id];
+            i++;
+        }
+        changed.clear();
+        return new Changes(changedSymbols, changedCents);
+    }
+
+    // Re-marks symbols whose write failed so the next drain retries them
+    public synchronized void markChanged(Changes changes, int fromIndex) {
+        for (int i = fromIndex; i < changes.symbols.length; i++) {
+            Integer id = ids.get(changes.symbols[i]);
+            if (id != null) {
+                changed.set(id);
+            }
+        }
+    }
+
+    private int idOf(String symbol) {
+        Integer id = ids.get(symbol);
+        if (id != null) {
+            return id;
+        }
+        if (size == symbols.length) {
+            symbols = Arrays.copyOf(symbols, size * 2);
+            cents = Arrays.copyOf(cents, size * 2);
+            seeds = Arrays.copyOf(seeds, size * 2);
+        }
+        symbols[size] = symbol;
+        ids.put(symbol, size);
+        return size++;
+    }
+
+    public static final class Changes {
+        private final String[] symbols;
+        private final long[] cents;
+
+        Changes(String[] symbols, long[] cents) {
+            this.symbols = symbols;
+            this.cents = cents;
+        }
+
+        public int size() { return symbols.length; }
+        public String symbolAt(int index) { return symbols[index]; }
+        public long centsAt(int index) { return cents[index]; }
+    }
+}
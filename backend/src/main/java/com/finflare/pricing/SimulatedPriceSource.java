@@ -0,0 +1,58 @@
+package com.finflare.pricing;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.util.SplittableRandom;
+
+/**
+ * Random-walk stand-in for a market feed, for development and load tests only: it is
+ * enabled by the loadtest profile and writes fake prices into current_price. Each poll
+ * moves a fraction of the known symbols by a small gaussian step from their current
+ * price, or their seed before the first move. Deterministic for a given seed.
+ */
+@Component
+@ConditionalOnProperty(name = "app.prices.source", havingValue = "simulated")
+public class SimulatedPriceSource implements PriceSource {
+
+    @Value("${app.prices.simulated.volatility:0.002}")
+    private double volatility;
+
+    @Value("${app.prices.simulated.change-ratio:0.25}")
+    private double changeRatio;
+
+    private final SplittableRandom random;
+
+    public SimulatedPriceSource(@Value("${app.prices.simulated.seed:42}") long seed) {
+        this.random = new SplittableRandom(seed);
+    }
+
+    @Override
+    public String getName() {
+        return "simulated";
+    }
+
+    @Override
+    public void poll(PriceTable table) {
+        int size = table.size();
+        for (int id = 0; id < size; id++) {
+            if (random.nextDouble() >= changeRatio) {
+                continue;
+            }
+            long cents = table.referencePriceOf(id);
+            if (cents <= 0) {
+                continue;
+            }
+            double step = 1.0 + volatility * gaussian();
+            table.update(id, Math.max(1L, Math.round(cents * step)));
+        }
+    }
+
+    // Box-Muller, so the walk only depends on the seeded SplittableRandom
+    private double gaussian() {
+        double u1 = 1.0 - random.nextDouble();
+        double u2 = random.nextDouble();
+        return Math.sqrt(-2.0 * Math.log(u1)) * Math.cos(2.0 * Math.PI * u2);
+    }
+}
@@ -0,0 +1,14 @@
+package com.finflare.repository;
+
+import com.finflare.model.AiInsight;
+import com.finflare.model.AiInsightType;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.util.Optional;
+
+@Repository
+public interface AiInsightRepository extends JpaRepository<AiInsight, Long> {
+
+    Optional<AiInsight> findByUserIdAndType(Long userId, AiInsightType type);
+}
@@ -0,0 +1,73 @@
+package com.finflare.repository;
+
+import com.finflare.model.AlertStatus;
+import com.finflare.model.BudgetAlert;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+@Repository
+public interface BudgetAlertRepository extends JpaRepository<BudgetAlert, Long> {
+
+    // Users whose oldest due alert has been waiting for at least one digest window
+    @Query("SELECT a.user.id FROM BudgetAlert a WHERE a.status = :status AND a.nextAttemptAt <= :now " +
+           "GROUP BY a.user.id HAVING MIN(a.createdAt) <= :windowStart")
+    List<Long> findUserIdsWithDueAlerts(
+        @Param("status") AlertStatus status,
+        @Param("now") LocalDateTime now,
+        @Param("windowStart") LocalDateTime windowStart,
+        Pageable pageable);
+
+    @Query("SELECT a FROM BudgetAlert a JOIN FETCH a.user WHERE a.status = :status AND a.nextAttemptAt <= :now " +
+           "AND a.user.id IN :userIds ORDER BY a.user.id, a.createdAt")
+    List<BudgetAlert> findDueAlertsForUsers(
+        @Param("status") AlertStatus status,
+        @Param("now") LocalDateTime now,
+        @Param("userIds") Collection<Long> userIds);
+
+    @Transactional
+    @Modifying
+    @Query("UPDATE BudgetAlert a SET a.status = com.finflare.model.AlertStatus.SENDING, a.claimedAt = :now, " +
+           "a.claimToken = :claimToken WHERE a.id IN :ids AND a.status = com.finflare.model.AlertStatus.PENDING")
+    int claim(@Param("ids") Collection<Long> ids, @Param("now") LocalDateTime now, @Param("claimToken") String claimToken);
+
+    // The rows a claim actually won; rows another instance claimed first are not returned
+    @Query("SELECT a FROM BudgetAlert a JOIN FETCH a.user WHERE a.claimToken = :claimToken " +
+           "AND a.status = com.finflare.model.AlertStatus.SENDING ORDER BY a.createdAt")
+    List<BudgetAlert> findClaimed(@Param("claimToken") String claimToken);
+
+    @Transactional
+    @Modifying
+    @Query("UPDATE BudgetAlert a SET a.status = com.finflare.model.AlertStatus.SENT, a.sentAt = :now, a.claimToken = null WHERE a.id IN :ids")
+    int markSent(@Param("ids") Collection<Long> ids, @Param("now") LocalDateTime now);
+
+    @Transactional
+    @Modifying
+    @Query("UPDATE BudgetAlert a SET a.status = :status, a.attempts = a.attempts + 1, a.nextAttemptAt = :nextAttemptAt, " +
+           "a.claimedAt = null, a.claimToken = null WHERE a.id IN :ids")
+    int markAttemptFailed(
+        @Param("ids") Collection<Long> ids,
+        @Param("status") AlertStatus status,
+        @Param("nextAttemptAt") LocalDateTime nextAttemptAt);
+
+    @Transactional
+    @Modifying
+    @Query("UPDATE BudgetAlert a SET a.status = com.finflare.model.AlertStatus.PENDING, a.claimedAt = null, a.claimToken = null " +
+           "WHERE a.id IN :ids")
+    int release(@Param("ids") Collection<Long> ids);
+
+    // Recovers claims left behind by a worker that died mid-send
+    @Transactional
+    @Modifying
+    @Query("UPDATE BudgetAlert a SET a.status = com.finflare.model.AlertStatus.PENDING, a.claimedAt = null, " +
+           "a.claimToken = null WHERE a.status = com.finflare.model.AlertStatus.SENDING AND a.claimedAt < :staleBefore")
+    int releaseStaleClaims(@Param("staleBefore") LocalDateTime staleBefore);
+}
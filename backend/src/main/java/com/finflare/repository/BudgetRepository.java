@@ -1,19 +1,29 @@
 package com.finflare.repository;
 
+import com.finflare.dto.BudgetResponse;
 import com.finflare.model.Budget;
 import com.finflare.model.ExpenseCategory;
 import com.finflare.model.User;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.math.BigDecimal;
 import java.time.LocalDate;
 import java.util.List;
 import java.util.Optional;
 
 @Repository
 public interface BudgetRepository extends JpaRepository<Budget, Long> {
+
+    String BUDGET_RESPONSE = "SELECT new com.finflare.dto.BudgetResponse(b.id, b.category, b.budgetAmount, " +
+            "b.spentAmount, b.startDate, b.endDate, b.period, b.alertEnabled, b.alertThreshold, b.isActive, " +
+            "b.createdAt, b.updatedAt) FROM Budget b ";
     
     List<Budget> findByUserOrderByCreatedAtDesc(User user);
     
@@ -30,8 +40,71 @@ public interface BudgetRepository extends JpaRepository<Budget, Long> {
         @Param("category") ExpenseCategory category, 
         @Param("date") LocalDate date);
     
+    @Query("SELECT b.id, b.category, b.startDate, b.endDate, b.budgetAmount, b.alertThreshold, b.alertEnabled " +
+           "FROM Budget b WHERE b.user.id = :userId AND b.isActive = true")
+    List<Object[]> findActiveBudgetRangesByUserId(@Param("userId") Long userId);
+
+    // Atomic, so concurrent expenses never lose each other's amounts
+    @Transactional
+    @Modifying
+    @Query("UPDATE Budget b SET b.spentAmount = COALESCE(b.spentAmount, 0) + :amount WHERE b.id = :id")
+    int addSpent(@Param("id") Long id, @Param("amount") BigDecimal amount);
+
+    // Same, but matches no row when the addition would cross the alert threshold or the budget limit
+    @Transactional
+    @Modifying
+    @Query("UPDATE Budget b SET b.spentAmount = COALESCE(b.spentAmount, 0) + :amount WHERE b.id = :id " +
+           "AND NOT (COALESCE(b.spentAmount, 0) < :thresholdAmount AND COALESCE(b.spentAmount, 0) + :amount >= :thresholdAmount) " +
+           "AND NOT (COALESCE(b.spentAmount, 0) <= :limit AND COALESCE(b.spentAmount, 0) + :amount > :limit)")
+    int addSpentWithinAlertBounds(@Param("id") Long id, @Param("amount") BigDecimal amount,
+                                  @Param("thresholdAmount") BigDecimal thresholdAmount,
+                                  @Param("limit") BigDecimal limit);
+    
     @Query("SELECT b FROM Budget b WHERE b.alertEnabled = true AND b.spentAmount >= (b.budgetAmount * b.alertThreshold / 100)")
     List<Budget> findBudgetsExceedingThreshold();
     
     List<Budget> findByUserAndStartDateBetween(User user, LocalDate startDate, LocalDate endDate);
+
+    // userId-keyed projections: no User load and no entity hydration
+    @Query(BUDGET_RESPONSE + "WHERE b.user.id = :userId")
+    Slice<BudgetResponse> findResponsesByUserId(@Param("userId") Long userId, Pageable pageable);
+
+    @Query(BUDGET_RESPONSE + "WHERE b.user.id = :userId AND b.isActive = true ORDER BY b.createdAt DESC")
+    List<BudgetResponse> findActiveResponsesByUserId(@Param("userId") Long userId);
+
+    @Query(BUDGET_RESPONSE + "WHERE b.user.id = :userId AND b.category = :category ORDER BY b.createdAt DESC")
+    List<BudgetResponse> findResponsesByUserIdAndCategory(
+        @Param("userId") Long userId,
+        @Param("category") ExpenseCategory category);
+
+    @Query(BUDGET_RESPONSE + "WHERE b.user.id = :userId AND b.isActive = true AND b.alertEnabled = true " +
+           "AND b.spentAmount * 100 >= b.budgetAmount * b.alertThreshold ORDER BY b.createdAt DESC")
+    List<BudgetResponse> findAlertResponsesByUserId(@Param("userId") Long userId);
+
+    @Query(BUDGET_RESPONSE + "WHERE b.id = :id AND b.user.id = :userId")
+    Optional<BudgetResponse> findResponseByIdAndUserId(@Param("id") Long id, @Param("userId") Long userId);
+
+    Optional<Budget> findByIdAndUserId(Long id, Long userId);
+
+    @Transactional
+    @Modifying
+    @Query("UPDATE Budget b SET b.isActive = false WHERE b.user.id = :userId AND b.category = :category AND b.isActive = true")
+    int deactivateActiveBudgets(@Param("userId") Long userId, @Param("category") ExpenseCategory category);
+
+    // Keyset page over active budgets whose period has ended
+    @Query("SELECT b FROM Budget b WHERE b.isActive = true AND b.endDate < :today AND b.id > :afterId ORDER BY b.id")
+    List<Budget> findExpiredActiveBudgetsAfter(
+        @Param("today") LocalDate today,
+        @Param("afterId") Long afterId,
+        Pageable pageable);
+
+    // Stored vs. actual spend for every active budget of a user id range, in one grouped query
+    @Query("SELECT b.id, b.spentAmount, COALESCE(SUM(e.amount), 0) FROM Budget b " +
+           "LEFT JOIN Expense e ON e.user = b.user AND e.category = b.category " +
+           "AND e.expenseDate BETWEEN b.startDate AND b.endDate " +
+           "WHERE b.isActive = true AND b.user.id >= :fromUserId AND b.user.id < :toUserId " +
+           "GROUP BY b.id, b.spentAmount")
+    List<Object[]> getActualSpendForActiveBudgetsInUserRange(
+        @Param("fromUserId") Long fromUserId,
+        @Param("toUserId") Long toUserId);
 }
\ No newline at end of file
@@ -10,21 +10,27 @@ import org.springframework.stereotype.Repository;
 
 import java.math.BigDecimal;
 import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 
 @Repository
 public interface ExpenseRepository extends JpaRepository<Expense, Long> {
     
-    List<Expense> findByUserOrderByExpenseDateDesc(User user);
+    List<Expense> findByUserIdOrderByExpenseDateDesc(Long userId);
     
-    List<Expense> findByUserAndExpenseDateBetweenOrderByExpenseDateDesc(
-        User user, LocalDate startDate, LocalDate endDate);
+    List<Expense> findByUserIdAndExpenseDateBetweenOrderByExpenseDateDesc(
+        Long userId, LocalDate startDate, LocalDate endDate);
+
+    List<Expense> findByUserIdAndExpenseDateBetween(Long userId, LocalDate startDate, LocalDate endDate);
+
+    List<Expense> findTop10ByUserIdOrderByCreatedAtDesc(Long userId);
     
-    List<Expense> findByUserAndCategoryOrderByExpenseDateDesc(User user, ExpenseCategory category);
+    List<Expense> findByUserIdAndCategoryOrderByExpenseDateDesc(Long userId, ExpenseCategory category);
     
-    @Query("SELECT SUM(e.amount) FROM Expense e WHERE e.user = :user AND e.expenseDate BETWEEN :startDate AND :endDate")
-    BigDecimal getTotalExpensesByUserAndDateRange(
-        @Param("user") User user, 
+    @Query("SELECT SUM(e.amount) FROM Expense e WHERE e.user.id = :userId AND e.expenseDate BETWEEN :startDate AND :endDate")
+    BigDecimal getTotalExpensesByUserIdAndDateRange(
+        @Param("userId") Long userId, 
         @Param("startDate") LocalDate startDate, 
         @Param("endDate") LocalDate endDate);
     
@@ -35,17 +41,57 @@ public interface ExpenseRepository extends JpaRepository<Expense, Long> {
         @Param("startDate") LocalDate startDate, 
         @Param("endDate") LocalDate endDate);
     
-    @Query("SELECT e.category, SUM(e.amount) FROM Expense e WHERE e.user = :user AND e.expenseDate BETWEEN :startDate AND :endDate GROUP BY e.category")
-    List<Object[]> getCategoryWiseExpensesByUserAndDateRange(
-        @Param("user") User user, 
+    @Query("SELECT e.category, SUM(e.amount) FROM Expense e WHERE e.user.id = :userId AND e.expenseDate BETWEEN :startDate AND :endDate GROUP BY e.category")
+    List<Object[]> getCategoryWiseExpensesByUserIdAndDateRange(
+        @Param("userId") Long userId, 
         @Param("startDate") LocalDate startDate, 
         @Param("endDate") LocalDate endDate);
     
     @Query("SELECT COUNT(e) FROM Expense e WHERE e.user = :user AND e.expenseDate = :date")
     Long countExpensesByUserAndDate(@Param("user") User user, @Param("date") LocalDate date);
+
+    // By when the expense was logged, not its expenseDate; the daily gamification counter is keyed the same way
+    @Query("SELECT COUNT(e) FROM Expense e WHERE e.user = :user AND e.createdAt >= :from AND e.createdAt < :to")
+    long countExpensesLoggedBetween(@Param("user") User user, @Param("from") LocalDateTime from,
+                                    @Param("to") LocalDateTime to);
     
     @Query("SELECT DISTINCT e.expenseDate FROM Expense e WHERE e.user = :user ORDER BY e.expenseDate DESC")
     List<LocalDate> getDistinctExpenseDatesByUser(@Param("user") User user);
     
     List<Expense> findByUserAndSourceOrderByCreatedAtDesc(User user, com.finflare.model.ExpenseSource source);
+
+    @Query("SELECT e.user.id, e.category, e.expenseDate, SUM(e.amount) FROM Expense e " +
+           "WHERE e.user.id IN :userIds AND e.expenseDate BETWEEN :startDate AND :endDate " +
+           "GROUP BY e.user.id, e.category, e.expenseDate")
+    List<Object[]> getDailyCategoryTotalsByUsersAndDateRange(
+        @Param("userIds") Collection<Long> userIds,
+        @Param("startDate") LocalDate startDate,
+        @Param("endDate") LocalDate endDate);
+
+    @Query("SELECT e.expenseDate, e.category, SUM(e.amount) FROM Expense e " +
+           "WHERE e.user.id = :userId AND e.expenseDate BETWEEN :startDate AND :endDate " +
+           "GROUP BY e.expenseDate, e.category")
+    List<Object[]> getDailyCategoryTotalsByUserIdAndDateRange(
+        @Param("userId") Long userId,
+        @Param("startDate") LocalDate startDate,
+        @Param("endDate") LocalDate endDate);
+
+    @Query("SELECT DISTINCT e.category FROM Expense e WHERE e.user = :user")
+    List<ExpenseCategory> getDistinctCategoriesByUser(@Param("user") User user);
+
+    // Scalar columns only, for building the AI spending summary without loading entities
+    @Query("SELECT e.expenseDate, e.category, e.description, e.amount FROM Expense e " +
+           "WHERE e.user.id = :userId AND e.expenseDate BETWEEN :startDate AND :endDate")
+    List<Object[]> getAnalysisRowsByUserIdAndDateRange(
+        @Param("userId") Long userId,
+        @Param("startDate") LocalDate startDate,
+        @Param("endDate") LocalDate endDate);
+
+    // Changes whenever an expense in the range is added, edited or removed
+    @Query("SELECT COUNT(e), SUM(e.amount), MAX(e.updatedAt) FROM Expense e " +
+           "WHERE e.user.id = :userId AND e.expenseDate BETWEEN :startDate AND :endDate")
+    List<Object[]> getVersionStatsByUserIdAndDateRange(
+        @Param("userId") Long userId,
+        @Param("startDate") LocalDate startDate,
+        @Param("endDate") LocalDate endDate);
 }
\ No newline at end of file
@@ -0,0 +1,20 @@
+package com.finflare.repository;
+
+import com.finflare.model.GamificationOutboxEvent;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+@Repository
+public interface GamificationOutboxRepository extends JpaRepository<GamificationOutboxEvent, Long> {
+
+    @Query("SELECT DISTINCT o.userId FROM GamificationOutboxEvent o")
+    List<Long> findPendingUserIds();
+
+    List<GamificationOutboxEvent> findByUserIdOrderByEnqueuedAtAscIdAsc(Long userId, Pageable pageable);
+
+    boolean existsByUserId(Long userId);
+}
@@ -0,0 +1,9 @@
+package com.finflare.repository;
+
+import com.finflare.model.GamificationStats;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface GamificationStatsRepository extends JpaRepository<GamificationStats, Long> {
+}
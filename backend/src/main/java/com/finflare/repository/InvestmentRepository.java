@@ -4,6 +4,7 @@ import com.finflare.model.Investment;
 import com.finflare.model.InvestmentType;
 import com.finflare.model.User;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
@@ -19,19 +20,25 @@ public interface InvestmentRepository extends JpaRepository<Investment, Long> {
     List<Investment> findByUserAndTypeOrderByPurchaseDateDesc(User user, InvestmentType type);
     
     List<Investment> findByUserAndSymbolOrderByPurchaseDateDesc(User user, String symbol);
-    
-    @Query("SELECT SUM(i.purchasePrice * i.quantity) FROM Investment i WHERE i.user = :user")
-    BigDecimal getTotalInvestmentByUser(@Param("user") User user);
-    
-    @Query("SELECT SUM(COALESCE(i.currentPrice, i.purchasePrice) * i.quantity) FROM Investment i WHERE i.user = :user")
-    BigDecimal getCurrentPortfolioValueByUser(@Param("user") User user);
-    
-    @Query("SELECT i.type, SUM(i.purchasePrice * i.quantity) FROM Investment i WHERE i.user = :user GROUP BY i.type")
-    List<Object[]> getInvestmentsByTypeAndUser(@Param("user") User user);
-    
-    @Query("SELECT i.symbol, SUM(i.quantity) FROM Investment i WHERE i.user = :user GROUP BY i.symbol")
-    List<Object[]> getInvestmentsBySymbolAndUser(@Param("user") User user);
-    
-    @Query("SELECT COUNT(DISTINCT i.symbol) FROM Investment i WHERE i.user = :user")
-    Long getPortfolioDiversificationByUser(@Param("user") User user);
-}
\ No newline at end of file
+
+    List<Investment> findByUserIdOrderByPurchaseDateDesc(Long userId);
+
+    long countByUserId(Long userId);
+
+    // One row per (type, symbol) holding; every portfolio summary figure is derived from these
+    @Query("SELECT i.type, i.symbol, SUM(i.quantity), SUM(i.purchasePrice * i.quantity), " +
+           "SUM(COALESCE(i.currentPrice, i.purchasePrice) * i.quantity) " +
+           "FROM Investment i WHERE i.user.id = :userId GROUP BY i.type, i.symbol")
+    List<Object[]> getPositionsByUserId(@Param("userId") Long userId);
+
+    // Seeds for the price table; only the simulated feed starts from them, they never value a holding
+    @Query("SELECT i.symbol, AVG(COALESCE(i.currentPrice, i.purchasePrice)) FROM Investment i GROUP BY i.symbol")
+    List<Object[]> getSymbolReferencePrices();
+
+    // Marks at most :limit holdings not yet at the price; fewer than :limit means the symbol is done
+    @Modifying
+    @Query(value = "UPDATE investments SET current_price = :price WHERE symbol = :symbol " +
+           "AND (current_price IS NULL OR current_price <> :price) LIMIT :limit", nativeQuery = true)
+    int updateCurrentPriceBySymbol(@Param("symbol") String symbol, @Param("price") BigDecimal price,
+                                   @Param("limit") int limit);
+}
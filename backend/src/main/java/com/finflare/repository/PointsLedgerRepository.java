@@ -0,0 +1,41 @@
+package com.finflare.repository;
+
+import com.finflare.model.PointsLedgerEntry;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+@Repository
+public interface PointsLedgerRepository extends JpaRepository<PointsLedgerEntry, Long> {
+
+    @Query("SELECT e.userId, e.delta, e.createdAt FROM PointsLedgerEntry e " +
+           "WHERE e.checkpoint = false AND e.createdAt >= :since")
+    List<Object[]> findPointsAwardedSince(@Param("since") LocalDateTime since);
+
+    // Users with more than one row older than the cutoff, i.e. something left to fold
+    @Query("SELECT e.userId FROM PointsLedgerEntry e WHERE e.createdAt < :cutoff AND e.userId > :afterUserId " +
+           "GROUP BY e.userId HAVING COUNT(e) > 1 ORDER BY e.userId")
+    List<Long> findUserIdsToCompact(
+        @Param("cutoff") LocalDateTime cutoff,
+        @Param("afterUserId") Long afterUserId,
+        Pageable pageable);
+
+    @Query("SELECT e.userId, SUM(e.delta) FROM PointsLedgerEntry e " +
+           "WHERE e.userId IN :userIds AND e.createdAt < :cutoff GROUP BY e.userId")
+    List<Object[]> sumDeltasBefore(
+        @Param("userIds") Collection<Long> userIds,
+        @Param("cutoff") LocalDateTime cutoff);
+
+    @Modifying
+    @Query("DELETE FROM PointsLedgerEntry e WHERE e.userId IN :userIds AND e.createdAt < :cutoff")
+    int deleteBefore(
+        @Param("userIds") Collection<Long> userIds,
+        @Param("cutoff") LocalDateTime cutoff);
+}
@@ -0,0 +1,16 @@
+package com.finflare.repository;
+
+import com.finflare.model.JobStatus;
+import com.finflare.model.ReconciliationPartition;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+@Repository
+public interface ReconciliationPartitionRepository extends JpaRepository<ReconciliationPartition, Long> {
+
+    List<ReconciliationPartition> findByRunIdOrderByFromUserId(Long runId);
+
+    List<ReconciliationPartition> findByRunIdAndStatusNotOrderByFromUserId(Long runId, JobStatus status);
+}
@@ -0,0 +1,14 @@
+package com.finflare.repository;
+
+import com.finflare.model.JobStatus;
+import com.finflare.model.ReconciliationRun;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.util.Optional;
+
+@Repository
+public interface ReconciliationRunRepository extends JpaRepository<ReconciliationRun, Long> {
+
+    Optional<ReconciliationRun> findFirstByStatusOrderByStartedAtDesc(JobStatus status);
+}
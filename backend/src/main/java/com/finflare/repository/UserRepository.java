@@ -1,10 +1,17 @@
 package com.finflare.repository;
 
+import com.finflare.dto.UserIdentity;
 import com.finflare.model.User;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -19,12 +26,60 @@ public interface UserRepository extends JpaRepository<User, Long> {
     
     Boolean existsByEmail(String email);
     
-    @Query("SELECT u FROM User u ORDER BY u.totalPoints DESC")
-    List<User> findTopUsersByPoints();
-    
-    @Query("SELECT u FROM User u WHERE u.currentStreak > 0 ORDER BY u.currentStreak DESC")
-    List<User> findTopUsersByStreak();
+    // id, totalPoints, currentStreak pages for rebuilding the in-memory leaderboards
+    @Query("SELECT u.id, u.totalPoints, u.currentStreak FROM User u WHERE u.id > :afterId ORDER BY u.id")
+    List<Object[]> findScoresAfter(@Param("afterId") Long afterId, Pageable pageable);
+
+    @Query("SELECT u.id, u.totalPoints, u.currentStreak FROM User u WHERE u.updatedAt >= :since")
+    List<Object[]> findScoresUpdatedSince(@Param("since") LocalDateTime since);
+
+    @Query("SELECT u.id, u.username, u.firstName, u.lastName FROM User u WHERE u.id IN :ids")
+    List<Object[]> findDisplayNamesByIds(@Param("ids") Collection<Long> ids);
     
     @Query("SELECT u FROM User u WHERE u.enabled = true ORDER BY u.createdAt DESC")
     List<User> findActiveUsers();
+
+    @Query("SELECT MIN(u.id) FROM User u")
+    Long findMinUserId();
+
+    @Query("SELECT MAX(u.id) FROM User u")
+    Long findMaxUserId();
+
+    // Running balance maintained alongside the points ledger; never written through the entity
+    @Modifying
+    @Query("UPDATE User u SET u.totalPoints = u.totalPoints + :delta, u.updatedAt = :now WHERE u.id = :userId")
+    int addPoints(@Param("userId") Long userId, @Param("delta") int delta, @Param("now") LocalDateTime now);
+
+    @Query("SELECT u.totalPoints FROM User u WHERE u.id = :userId")
+    Integer findTotalPointsById(@Param("userId") Long userId);
+
+    // Users whose tokens must be rejected; two indexed lookups rather than one OR scan
+    @Query("SELECT u.id FROM User u WHERE u.enabled = false")
+    List<Long> findDisabledUserIds();
+
+    // Older revocations no longer matter: every token issued before them has expired
+    @Query("SELECT u.id, u.tokensRevokedAt FROM User u WHERE u.tokensRevokedAt > :since")
+    List<Object[]> findTokenRevocationsSince(@Param("since") LocalDateTime since);
+
+    @Transactional
+    @Modifying
+    @Query("UPDATE User u SET u.enabled = :enabled WHERE u.id = :userId")
+    int updateEnabled(@Param("userId") Long userId, @Param("enabled") boolean enabled);
+
+    @Transactional
+    @Modifying
+    @Query("UPDATE User u SET u.tokensRevokedAt = :revokedAt WHERE u.id = :userId")
+    int updateTokensRevokedAt(@Param("userId") Long userId, @Param("revokedAt") LocalDateTime revokedAt);
+
+    @Query("SELECT new com.finflare.dto.UserIdentity(u.id, u.username, u.email, u.firstName, u.lastName) " +
+           "FROM User u WHERE u.id = :userId")
+    Optional<UserIdentity> findIdentityById(@Param("userId") Long userId);
+
+    @Modifying
+    @Query("UPDATE User u SET u.password = :password WHERE u.id = :userId")
+    int updatePassword(@Param("userId") Long userId, @Param("password") String password);
+
+    @Query("SELECT u.id FROM User u WHERE u.lastActivityDate >= :since AND u.id > :afterId ORDER BY u.id")
+    List<Long> findIdsActiveSince(@Param("since") LocalDateTime since, @Param("afterId") Long afterId,
+                                  Pageable pageable);
 }
\ No newline at end of file
@@ -0,0 +1,79 @@
+package com.finflare.security;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * BCrypt encoder whose cost is picked at startup to hit a target hash latency on the
+ * current hardware. Stored hashes with a lower cost are reported as needing an upgrade,
+ * so DaoAuthenticationProvider re-hashes them on the next successful login. Hashes with a
+ * higher cost (e.g. from a faster node's calibration) are kept, never weakened.
+ */
+public class AdaptiveBCryptPasswordEncoder implements PasswordEncoder {
+
+    private static final Logger logger = LoggerFactory.getLogger(AdaptiveBCryptPasswordEncoder.class);
+
+    private static final Pattern BCRYPT_PATTERN = Pattern.compile("\\A\\$2[aby]?\\$(\\d\\d)\\$[./0-9A-Za-z]{53}");
+
+    private final int strength;
+    private final BCryptPasswordEncoder delegate;
+
+    public AdaptiveBCryptPasswordEncoder(int strength) {
+        this.strength = strength;
+        this.delegate = new BCryptPasswordEncoder(strength);
+    }
+
+    /**
+     * Returns the highest cost in [minStrength, maxStrength] whose hash time stays
+     * within targetMs, measured after a short warm-up.
+     */
+    public static int calibrate(long targetMs, int minStrength, int maxStrength) {
+        String sample = "calibration-password";
+        new BCryptPasswordEncoder(minStrength).encode(sample);
+
+        int chosen = minStrength;
+        for (int strength = minStrength; strength <= maxStrength; strength++) {
+            long startedAt = System.nanoTime();
+            new BCryptPasswordEncoder(strength).encode(sample);
+            long elapsedMs = (System.nanoTime() - startedAt) / 1_000_000L;
+            if (elapsedMs > targetMs) {
+                break;
+            }
+            chosen = strength;
+            // Each step doubles the cost, so stop once the next one would overshoot
+            if (elapsedMs * 2 > targetMs) {
+                break;
+            }
+        }
+        logger.info("Calibrated BCrypt cost {} for a {} ms target", chosen, targetMs);
+        return chosen;
+    }
+
+    public int getStrength() {
+        return strength;
+    }
+
+    @Override
+    public String encode(CharSequence rawPassword) {
+        return delegate.encode(rawPassword);
+    }
+
+    @Override
+    public boolean matches(CharSequence rawPassword, String encodedPassword) {
+        return delegate.matches(rawPassword, encodedPassword);
+    }
+
+    @Override
+    public boolean upgradeEncoding(String encodedPassword) {
+        if (encodedPassword == null) {
+            return false;
+        }
+        Matcher matcher = BCRYPT_PATTERN.matcher(encodedPassword);
+        return matcher.matches() && Integer.parseInt(matcher.group(1)) < strength;
+    }
+}
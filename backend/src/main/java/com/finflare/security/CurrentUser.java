@@ -0,0 +1,51 @@
+package com.finflare.security;
+
+import com.finflare.dto.UserIdentity;
+import com.finflare.model.User;
+import com.finflare.repository.UserRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Component;
+import org.springframework.web.context.annotation.RequestScope;
+
+/**
+ * The authenticated user of the current request. Prefer {@link #getId()}; use
+ * {@link #getReference()} when an entity is only needed as a foreign key, and
+ * {@link #getIdentity()} when names or email are needed. None of these load the full user row.
+ */
+@Component
+@RequestScope
+public class CurrentUser {
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private UserIdentityCache userIdentityCache;
+
+    private User reference;
+
+    public UserPrincipal getPrincipal() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication == null || !(authentication.getPrincipal() instanceof UserPrincipal)) {
+            throw new RuntimeException("No authenticated user");
+        }
+        return (UserPrincipal) authentication.getPrincipal();
+    }
+
+    public Long getId() {
+        return getPrincipal().getId();
+    }
+
+    public User getReference() {
+        if (reference == null) {
+            reference = userRepository.getReferenceById(getId());
+        }
+        return reference;
+    }
+
+    public UserIdentity getIdentity() {
+        return userIdentityCache.get(getId());
+    }
+}
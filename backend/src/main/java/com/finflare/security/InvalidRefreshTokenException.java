@@ -0,0 +1,9 @@
+package com.finflare.security;
+
+// Thrown when a refresh token is unknown, expired or already used
+public class InvalidRefreshTokenException extends RuntimeException {
+
+    public InvalidRefreshTokenException(String message) {
+        super(message);
+    }
+}
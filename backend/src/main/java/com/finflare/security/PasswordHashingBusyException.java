@@ -0,0 +1,9 @@
+package com.finflare.security;
+
+// Thrown when the password hashing executor has no queue space left
+public class PasswordHashingBusyException extends RuntimeException {
+
+    public PasswordHashingBusyException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,59 @@
+package com.finflare.security;
+
+import com.finflare.util.TokenBucket;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Applies {@link RateLimiter} to authenticated requests. Runs after AuthTokenFilter so
+ * the principal is known, and adds the RateLimit-* headers to every limited response.
+ */
+public class RateLimitFilter extends OncePerRequestFilter {
+
+    @Autowired
+    private RateLimiter rateLimiter;
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response,
+                                    FilterChain filterChain) throws ServletException, IOException {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        String path = request.getRequestURI().substring(request.getContextPath().length());
+        RateLimiter.Route route = rateLimiter.match(path);
+        if (route == null || authentication == null || !(authentication.getPrincipal() instanceof UserPrincipal)) {
+            filterChain.doFilter(request, response);
+            return;
+        }
+
+        Long userId = ((UserPrincipal) authentication.getPrincipal()).getId();
+        TokenBucket.Probe probe = rateLimiter.tryConsume(userId, route);
+        response.setHeader("RateLimit-Limit", String.valueOf(route.getCapacity()));
+        response.setHeader("RateLimit-Remaining", String.valueOf(probe.getRemaining()));
+        response.setHeader("RateLimit-Reset", String.valueOf(toSeconds(probe.getNanosUntilFull())));
+
+        if (!probe.isAllowed()) {
+            response.setStatus(HttpStatus.TOO_MANY_REQUESTS.value());
+            response.setHeader(HttpHeaders.RETRY_AFTER, String.valueOf(toSeconds(probe.getNanosUntilAllowed())));
+            response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+            response.getWriter().write("{\"message\":\"Error: Rate limit exceeded for " + route.getName() + "\"}");
+            return;
+        }
+
+        filterChain.doFilter(request, response);
+    }
+
+    private static long toSeconds(long nanos) {
+        return (nanos + TimeUnit.SECONDS.toNanos(1) - 1) / TimeUnit.SECONDS.toNanos(1);
+    }
+}
@@ -0,0 +1,131 @@
+package com.finflare.security;
+
+import com.finflare.util.TokenBucket;
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.util.AntPathMatcher;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Per-user token buckets for the expensive route classes. Routes are configured as
+ * comma-separated name:pattern:capacity:refillPerSecond entries; the first matching
+ * pattern wins and unmatched paths are not limited.
+ */
+@Component
+public class RateLimiter {
+
+    private static final Logger logger = LoggerFactory.getLogger(RateLimiter.class);
+
+    @Value("${app.ratelimit.routes:}")
+    private String routesConfig;
+
+    @Value("${app.ratelimit.max-buckets:100000}")
+    private int maxBuckets;
+
+    @Value("${app.ratelimit.idle-eviction-ms:600000}")
+    private long idleEvictionMs;
+
+    private final AntPathMatcher pathMatcher = new AntPathMatcher();
+    private final ConcurrentHashMap<BucketKey, TokenBucket> buckets = new ConcurrentHashMap<>();
+    private List<Route> routes = new ArrayList<>();
+
+    @PostConstruct
+    void init() {
+        List<Route> parsed = new ArrayList<>();
+        for (String entry : routesConfig.split(",")) {
+            if (entry.isBlank()) {
+                continue;
+            }
+            String[] parts = entry.trim().split(":");
+            if (parts.length != 4) {
+                throw new IllegalStateException("Invalid rate limit route: " + entry);
+            }
+            parsed.add(new Route(parts[0], parts[1], Integer.parseInt(parts[2]), Double.parseDouble(parts[3])));
+        }
+        routes = parsed;
+    }
+
+    public Route match(String path) {
+        for (Route route : routes) {
+            if (pathMatcher.match(route.pattern, path)) {
+                return route;
+            }
+        }
+        return null;
+    }
+
+    public TokenBucket.Probe tryConsume(Long userId, Route route) {
+        long now = System.nanoTime();
+        BucketKey key = new BucketKey(userId, route.name);
+        TokenBucket bucket = buckets.get(key);
+        if (bucket == null) {
+            if (buckets.size() >= maxBuckets) {
+                evictIdle();
+            }
+            if (buckets.size() >= maxBuckets) {
+                // Still full of active users; limit this caller with a bucket we don't keep
+                logger.warn("Rate limit bucket map is full ({} entries)", buckets.size());
+                return new TokenBucket(route.capacity, route.refillPerSecond, now).tryConsume(now);
+            }
+            bucket = buckets.computeIfAbsent(key, k -> new TokenBucket(route.capacity, route.refillPerSecond, now));
+        }
+        return bucket.tryConsume(now);
+    }
+
+    // A bucket that has been full for the idle window behaves exactly like a new one
+    @Scheduled(fixedDelayString = "${app.ratelimit.idle-eviction-ms:600000}")
+    public void evictIdle() {
+        long now = System.nanoTime();
+        long idleNanos = TimeUnit.MILLISECONDS.toNanos(idleEvictionMs);
+        buckets.values().removeIf(bucket -> bucket.isIdle(now, idleNanos));
+    }
+
+    public static final class Route {
+        private final String name;
+        private final String pattern;
+        private final int capacity;
+        private final double refillPerSecond;
+
+        Route(String name, String pattern, int capacity, double refillPerSecond) {
+            this.name = name;
+            this.pattern = pattern;
+            this.capacity = capacity;
+            this.refillPerSecond = refillPerSecond;
+        }
+
+        public String getName() { return name; }
+        public int getCapacity() { return capacity; }
+    }
+
+    private static final class BucketKey {
+        private final long userId;
+        private final String route;
+
+        BucketKey(long userId, String route) {
+            this.userId = userId;
+            this.route = route;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) return true;
+            if (!(o instanceof BucketKey)) return false;
+            BucketKey other = (BucketKey) o;
+            return userId == other.userId && route.equals(other.route);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(userId, route);
+        }
+    }
+}
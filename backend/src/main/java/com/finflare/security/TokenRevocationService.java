@@ -0,0 +1,96 @@
+package com.finflare.security;
+
+import com.finflare.model.RevokedToken;
+import com.finflare.repository.RevokedTokenRepository;
+import com.finflare.util.BloomFilter;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.Date;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Revoked access token ids. A Bloom filter answers the common "not revoked" case without
+ * touching the id set; only filter hits are confirmed against the set. Both are rebuilt
+ * from the revoked_tokens table on startup and on a schedule.
+ */
+@Component
+public class TokenRevocationService {
+
+    @Autowired
+    private RevokedTokenRepository revokedTokenRepository;
+
+    @Value("${app.jwt.revocation.false-positive-rate:0.01}")
+    private double falsePositiveRate;
+
+    private static final class Snapshot {
+        private final BloomFilter filter;
+        // jti -> access token expiry in epoch millis
+        private final Map<String, Long> revoked;
+
+        Snapshot(BloomFilter filter, Map<String, Long> revoked) {
+            this.filter = filter;
+            this.revoked = revoked;
+        }
+    }
+
+    private volatile Snapshot snapshot = new Snapshot(new BloomFilter(1024, 0.01), new ConcurrentHashMap<>());
+
+    // Revocations and the snapshot swap take this lock, so none lands in a snapshot being replaced
+    private final Object swapLock = new Object();
+
+    public boolean isRevoked(String jti) {
+        if (jti == null) {
+            return false;
+        }
+        Snapshot current = snapshot;
+        return current.filter.mightContain(jti) && current.revoked.containsKey(jti);
+    }
+
+    public void revoke(String jti, Date expiresAt) {
+        if (jti == null || expiresAt == null || expiresAt.getTime() <= System.currentTimeMillis()) {
+            return;
+        }
+        revokedTokenRepository.save(new RevokedToken(jti,
+                LocalDateTime.ofInstant(expiresAt.toInstant(), ZoneId.systemDefault())));
+        synchronized (swapLock) {
+            Snapshot current = snapshot;
+            current.revoked.put(jti, expiresAt.getTime());
+            current.filter.put(jti);
+        }
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(fixedDelayString = "${app.jwt.revocation.rebuild-ms:300000}", initialDelayString = "${app.jwt.revocation.rebuild-ms:300000}")
+    public void rebuild() {
+        LocalDateTime now = LocalDateTime.now();
+        revokedTokenRepository.deleteExpired(now);
+
+        Map<String, Long> revoked = new ConcurrentHashMap<>();
+        for (Object[] row : revokedTokenRepository.findActive(now)) {
+            LocalDateTime expiresAt = (LocalDateTime) row[1];
+            revoked.put((String) row[0], expiresAt.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli());
+        }
+        synchronized (swapLock) {
+            // Keep revocations made on this instance while the rows were being read
+            long nowMs = System.currentTimeMillis();
+            snapshot.revoked.forEach((jti, expiresAtMs) -> {
+                if (expiresAtMs > nowMs) {
+                    revoked.putIfAbsent(jti, expiresAtMs);
+                }
+            });
+
+            // Sized with headroom so revocations until the next rebuild keep the false-positive rate
+            BloomFilter filter = new BloomFilter(Math.max(1024, revoked.size() * 2), falsePositiveRate);
+            revoked.keySet().forEach(filter::put);
+            snapshot = new Snapshot(filter, revoked);
+        }
+    }
+}
@@ -0,0 +1,56 @@
+package com.finflare.security;
+
+import com.finflare.dto.UserIdentity;
+import com.finflare.repository.UserRepository;
+import com.finflare.util.LruCache;
+import jakarta.annotation.PostConstruct;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+/**
+ * Username, email and names per user id. Nothing on this instance changes them after
+ * signup, but other instances or direct updates can, so entries are reloaded once they
+ * are older than the TTL.
+ */
+@Component
+public class UserIdentityCache {
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Value("${app.users.identity-cache-size:10000}")
+    private int maxEntries;
+
+    @Value("${app.users.identity-cache-ttl-ms:300000}")
+    private long ttlMs;
+
+    private LruCache<Long, Entry> identities;
+
+    @PostConstruct
+    void init() {
+        identities = new LruCache<>(maxEntries);
+    }
+
+    public UserIdentity get(Long userId) {
+        long now = System.currentTimeMillis();
+        Entry entry = identities.get(userId);
+        if (entry == null || entry.expiresAtMs <= now) {
+            UserIdentity identity = userRepository.findIdentityById(userId)
+                    .orElseThrow(() -> new RuntimeException("User not found"));
+            entry = new Entry(identity, now + ttlMs);
+            identities.put(userId, entry);
+        }
+        return entry.identity;
+    }
+
+    private static final class Entry {
+        private final UserIdentity identity;
+        private final long expiresAtMs;
+
+        Entry(UserIdentity identity, long expiresAtMs) {
+            this.identity = identity;
+            this.expiresAtMs = expiresAtMs;
+        }
+    }
+}
@@ -1,6 +1,7 @@
 package com.finflare.security;
 
 import com.finflare.model.User;
+import io.jsonwebtoken.Claims;
 import org.springframework.security.core.GrantedAuthority;
 import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.core.userdetails.UserDetails;
@@ -15,6 +16,10 @@ public class UserPrincipal implements UserDetails {
     private String email;
     private String password;
     private Collection<? extends GrantedAuthority> authorities;
+    private boolean enabled = true;
+    // Only set when built from the user row at sign-in
+    private String firstName;
+    private String lastName;
 
     public UserPrincipal(Long id, String username, String email, String password, 
                         Collection<? extends GrantedAuthority> authorities) {
@@ -30,13 +35,34 @@ public class UserPrincipal implements UserDetails {
             new SimpleGrantedAuthority("ROLE_" + user.getRole().name())
         );
 
-        return new UserPrincipal(
+        UserPrincipal principal = new UserPrincipal(
             user.getId(),
             user.getUsername(),
             user.getEmail(),
             user.getPassword(),
             authorities
         );
+        principal.enabled = user.isEnabled();
+        principal.firstName = user.getFirstName();
+        principal.lastName = user.getLastName();
+        return principal;
+    }
+
+    // Built from verified token claims; carries no password
+    public static UserPrincipal fromClaims(Claims claims) {
+        Number userId = claims.get(JwtUtils.CLAIM_USER_ID, Number.class);
+        String role = claims.get(JwtUtils.CLAIM_ROLE, String.class);
+        if (userId == null || role == null) {
+            return null;
+        }
+
+        return new UserPrincipal(
+            userId.longValue(),
+            claims.getSubject(),
+            claims.get(JwtUtils.CLAIM_EMAIL, String.class),
+            null,
+            Collections.singleton(new SimpleGrantedAuthority("ROLE_" + role))
+        );
     }
 
     public Long getId() {
@@ -47,6 +73,19 @@ public class UserPrincipal implements UserDetails {
         return email;
     }
 
+    public String getFirstName() {
+        return firstName;
+    }
+
+    public String getLastName() {
+        return lastName;
+    }
+
+    // Role name without the ROLE_ prefix
+    public String getRole() {
+        return authorities.isEmpty() ? null : authorities.iterator().next().getAuthority().substring("ROLE_".length());
+    }
+
     @Override
     public Collection<? extends GrantedAuthority> getAuthorities() {
         return authorities;
@@ -79,7 +118,7 @@ public class UserPrincipal implements UserDetails {
 
     @Override
     public boolean isEnabled() {
-        return true;
+        return enabled;
     }
 
     @Override
@@ -0,0 +1,111 @@
+package com.finflare.security;
+
+import com.finflare.repository.UserRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * In-memory view of users whose tokens must be rejected, so the JWT filter can check
+ * disabled accounts and revoked tokens without a query. Only restricted users are held,
+ * and the map is reloaded periodically to pick up changes made by other instances.
+ * Restrictions made on this instance while a reload is running are carried into the
+ * reloaded map, so a reload that read the table before them cannot drop them.
+ */
+@Component
+public class UserStatusCache {
+
+    private static final long DISABLED = Long.MAX_VALUE;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private RefreshTokenService refreshTokenService;
+
+    @Value("${app.jwt.expiration}")
+    private long accessTokenExpirationMs;
+
+    // userId -> epoch second before which issued tokens are rejected
+    private volatile Map<Long, Long> restrictions = new ConcurrentHashMap<>();
+
+    // Local restrictions since the running reload started; guarded by swapLock
+    private final Map<Long, Long> changedDuringRefresh = new HashMap<>();
+    private final Object swapLock = new Object();
+    private final Object refreshLock = new Object();
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(fixedDelayString = "${app.jwt.status-refresh-ms:30000}", initialDelayString = "${app.jwt.status-refresh-ms:30000}")
+    public void refresh() {
+        synchronized (refreshLock) {
+            synchronized (swapLock) {
+                changedDuringRefresh.clear();
+            }
+
+            Map<Long, Long> loaded = new ConcurrentHashMap<>();
+            LocalDateTime since = LocalDateTime.now().minus(Duration.ofMillis(accessTokenExpirationMs));
+            for (Object[] row : userRepository.findTokenRevocationsSince(since)) {
+                loaded.put((Long) row[0], toEpochSecond((LocalDateTime) row[1]));
+            }
+            for (Long userId : userRepository.findDisabledUserIds()) {
+                loaded.put(userId, DISABLED);
+            }
+
+            synchronized (swapLock) {
+                changedDuringRefresh.forEach((userId, notBefore) -> loaded.merge(userId, notBefore, Math::max));
+                restrictions = loaded;
+            }
+        }
+    }
+
+    public boolean isTokenAllowed(Long userId, Date issuedAt) {
+        Long notBefore = restrictions.get(userId);
+        if (notBefore == null) {
+            return true;
+        }
+        return notBefore != DISABLED && issuedAt != null && issuedAt.getTime() / 1000 >= notBefore;
+    }
+
+    public void disableUser(Long userId) {
+        userRepository.updateEnabled(userId, false);
+        refreshTokenService.revokeAllForUser(userId);
+        restrict(userId, DISABLED);
+    }
+
+    public void enableUser(Long userId) {
+        userRepository.updateEnabled(userId, true);
+        refresh();
+    }
+
+    public void revokeTokens(Long userId) {
+        // Token iat has second precision, so reject the whole current second: a token issued
+        // earlier in it would otherwise carry the same iat as the revocation and survive
+        LocalDateTime revokedAt = LocalDateTime.now().withNano(0).plusSeconds(1);
+        userRepository.updateTokensRevokedAt(userId, revokedAt);
+        refreshTokenService.revokeAllForUser(userId);
+        restrict(userId, toEpochSecond(revokedAt));
+    }
+
+    // DISABLED is the largest value, so max keeps the stricter restriction
+    private void restrict(Long userId, long notBefore) {
+        synchronized (swapLock) {
+            changedDuringRefresh.merge(userId, notBefore, Math::max);
+            restrictions.merge(userId, notBefore, Math::max);
+        }
+    }
+
+    private static long toEpochSecond(LocalDateTime dateTime) {
+        return dateTime.atZone(ZoneId.systemDefault()).toEpochSecond();
+    }
+}
@@ -0,0 +1,67 @@
+package com.finflare.security;
+
+import io.jsonwebtoken.Claims;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * Direct-mapped cache of tokens whose signature has already been verified. Each token
+ * maps to one slot by a 64-bit hash; a colliding token simply replaces the slot. Hits are
+ * confirmed with a constant-time comparison of the full token bytes, and entries are
+ * only served until the token's own expiry.
+ */
+class VerifiedTokenCache {
+
+    private final AtomicReferenceArray<Entry> slots;
+    private final int mask;
+
+    VerifiedTokenCache(int size) {
+        int capacity = Integer.highestOneBit(Math.max(size, 16) - 1) << 1;
+        this.slots = new AtomicReferenceArray<>(capacity);
+        this.mask = capacity - 1;
+    }
+
+    Claims get(String token) {
+        long hash = hash(token);
+        Entry entry = slots.get((int) hash & mask);
+        if (entry == null || entry.hash != hash || entry.expiresAtMs <= System.currentTimeMillis()) {
+            return null;
+        }
+        return MessageDigest.isEqual(entry.token, token.getBytes(StandardCharsets.US_ASCII)) ? entry.claims : null;
+    }
+
+    void put(String token, Claims claims) {
+        if (claims.getExpiration() == null) {
+            return;
+        }
+        long hash = hash(token);
+        slots.set((int) hash & mask, new Entry(hash, token.getBytes(StandardCharsets.US_ASCII),
+                claims, claims.getExpiration().getTime()));
+    }
+
+    // FNV-1a; only used to pick a slot and reject most misses before the byte comparison
+    private static long hash(String token) {
+        long hash = 0xcbf29ce484222325L;
+        for (int i = 0; i < token.length(); i++) {
+            hash ^= token.charAt(i);
+            hash *= 0x100000001b3L;
+        }
+        return hash;
+    }
+
+    private static final class Entry {
+        private final long hash;
+        private final byte[] token;
+        private final Claims claims;
+        private final long expiresAtMs;
+
+        Entry(long hash, byte[] token, Claims claims, long expiresAtMs) {
+            this.hash = hash;
+            this.token = token;
+            this.claims = claims;
+            this.expiresAtMs = expiresAtMs;
+        }
+    }
+}
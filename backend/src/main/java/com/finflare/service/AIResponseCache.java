@@ -0,0 +1,131 @@
+package com.finflare.service;
+
+import com.finflare.llm.LlmCompletion;
+import com.finflare.util.LruCache;
+import jakarta.annotation.PostConstruct;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+/**
+ * Caches OpenAI completions by prompt fingerprint (operation, model, max_tokens and a
+ * SHA-256 of the whitespace-normalized prompt). Concurrent identical requests share a
+ * single in-flight call; failed calls are dropped so the next request retries.
+ */
+@Component
+public class AIResponseCache {
+
+    @Value("${app.ai.cache.max-entries:5000}")
+    private int maxEntries;
+
+    private LruCache<String, Entry> entries;
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder coalesced = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder tokensSaved = new LongAdder();
+
+    @PostConstruct
+    void init() {
+        entries = new LruCache<>(maxEntries);
+    }
+
+    public Mono<LlmCompletion> get(String operation, String model, int maxTokens, String prompt,
+                                long ttlMs, Supplier<Mono<LlmCompletion>> loader) {
+        String key = fingerprint(operation, model, maxTokens, prompt);
+        Lookup lookup = lookup(key, ttlMs, loader);
+        if (lookup.created) {
+            misses.increment();
+            return lookup.entry.shared;
+        }
+        if (lookup.entry.resolved) {
+            hits.increment();
+        } else {
+            coalesced.increment();
+        }
+        return lookup.entry.shared.doOnNext(completion -> tokensSaved.add(completion.getTotalTokens()));
+    }
+
+    public Map<String, Object> getStats() {
+        long hitCount = hits.sum();
+        long coalescedCount = coalesced.sum();
+        long missCount = misses.sum();
+        long total = hitCount + coalescedCount + missCount;
+
+        Map<String, Object> stats = new HashMap<>();
+        stats.put("hits", hitCount);
+        stats.put("coalesced", coalescedCount);
+        stats.put("misses", missCount);
+        stats.put("hitRatio", total == 0 ? 0.0 : (double) (hitCount + coalescedCount) / total);
+        stats.put("tokensSaved", tokensSaved.sum());
+        stats.put("entries", entries.size());
+        return stats;
+    }
+
+    private synchronized Lookup lookup(String key, long ttlMs, Supplier<Mono<LlmCompletion>> loader) {
+        long now = System.nanoTime();
+        Entry entry = entries.get(key);
+        if (entry != null && now - entry.expiresAt < 0) {
+            return new Lookup(entry, false);
+        }
+
+        Entry created = new Entry(now + TimeUnit.MILLISECONDS.toNanos(ttlMs));
+        created.shared = Mono.defer(loader)
+                .doOnNext(completion -> created.resolved = true)
+                .doOnError(e -> evict(key, created))
+                .cache();
+        entries.put(key, created);
+        return new Lookup(created, true);
+    }
+
+    private synchronized void evict(String key, Entry entry) {
+        if (entries.get(key) == entry) {
+            entries.remove(key);
+        }
+    }
+
+    static String fingerprint(String operation, String model, int maxTokens, String prompt) {
+        String normalized = prompt.trim().replaceAll("\\s+", " ");
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256")
+                    .digest(normalized.getBytes(StandardCharsets.UTF_8));
+            StringBuilder key = new StringBuilder(operation).append(':').append(model)
+                    .append(':').append(maxTokens).append(':');
+            for (byte b : digest) {
+                key.append(Character.forDigit((b >> 4) & 0xF, 16)).append(Character.forDigit(b & 0xF, 16));
+            }
+            return key.toString();
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+
+    private static final class Entry {
+        private final long expiresAt;
+        private volatile boolean resolved;
+        private Mono<LlmCompletion> shared;
+
+        Entry(long expiresAt) {
+            this.expiresAt = expiresAt;
+        }
+    }
+
+    private static final class Lookup {
+        private final Entry entry;
+        private final boolean created;
+
+        Lookup(Entry entry, boolean created) {
+            this.entry = entry;
+            this.created = created;
+        }
+    }
+}
@@ -1,33 +1,38 @@
 package com.finflare.service;
 
+import com.finflare.llm.LlmCompletion;
+import com.finflare.llm.LlmGateway;
+import com.finflare.llm.LlmRequest;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.codec.ServerSentEvent;
 import org.springframework.stereotype.Service;
-import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 
-import java.util.List;
 import java.util.Map;
-import java.util.HashMap;
-import java.util.ArrayList;
 
 @Service
 public class AIService {
 
-    private final WebClient webClient;
+    private static final Logger logger = LoggerFactory.getLogger(AIService.class);
 
-    @Value("${app.openai.api.key:}")
-    private String openaiApiKey;
+    @Autowired
+    private LlmGateway llmGateway;
 
-    @Value("${app.openai.api.url:https://api.openai.com/v1}")
-    private String openaiApiUrl;
+    @Autowired
+    private AIResponseCache responseCache;
 
-    public AIService(WebClient.Builder webClientBuilder) {
-        this.webClient = webClientBuilder
-                .baseUrl(openaiApiUrl)
-                .defaultHeader("Authorization", "Bearer " + openaiApiKey)
-                .defaultHeader("Content-Type", "application/json")
-                .build();
-    }
+    @Value("${app.ai.cache.categorize-ttl-ms:604800000}")
+    private long categorizeTtlMs;
+
+    @Value("${app.ai.cache.spending-analysis-ttl-ms:3600000}")
+    private long spendingAnalysisTtlMs;
+
+    @Value("${app.ai.cache.budget-advice-ttl-ms:3600000}")
+    private long budgetAdviceTtlMs;
 
     public Mono<String> categorizeExpense(String description, double amount) {
         String prompt = String.format(
@@ -40,59 +45,42 @@ public class AIService {
             description, amount
         );
 
-        Map<String, Object> requestBody = createChatCompletionRequest(prompt, 50);
-
-        return webClient.post()
-                .uri("/chat/completions")
-                .bodyValue(requestBody)
-                .retrieve()
-                .bodyToMono(Map.class)
-                .map(this::extractMessageContent)
+        return cachedCompletion("categorize", prompt, 50, categorizeTtlMs)
                 .onErrorReturn("OTHER");
     }
 
     public Mono<String> getChatbotResponse(String userMessage, String userContext) {
-        String systemPrompt = "You are FinFlare, an AI financial assistant. " +
-                "Help users with personal finance questions, expense analysis, budgeting advice, " +
-                "and financial planning. Be concise, helpful, and encouraging. " +
-                "User context: " + (userContext != null ? userContext : "No specific context provided.");
-
-        Map<String, Object> requestBody = createChatCompletionRequest(
-            systemPrompt + "\n\nUser: " + userMessage, 
-            200
-        );
-
-        return webClient.post()
-                .uri("/chat/completions")
-                .bodyValue(requestBody)
-                .retrieve()
-                .bodyToMono(Map.class)
-                .map(this::extractMessageContent)
+        return llmGateway.complete(new LlmRequest(buildChatPrompt(userMessage, userContext), 200))
+                .map(LlmCompletion::getContent)
                 .onErrorReturn("I apologize, but I'm unable to process your request right now. Please try again later.");
     }
 
-    public Mono<String> analyzeSpendingPattern(List<Map<String, Object>> expenses) {
-        StringBuilder expenseData = new StringBuilder();
-        expenseData.append("Analyze these recent expenses and provide insights:\n");
-        
-        for (Map<String, Object> expense : expenses) {
-            expenseData.append(String.format("- %s: $%s (%s)\n", 
-                expense.get("description"), 
-                expense.get("amount"), 
-                expense.get("category")));
-        }
+    /**
+     * Streams the chat reply as the provider generates it. Each content delta from the
+     * upstream stream is relayed as a "token" event, followed by a final "done" event.
+     */
+    public Flux<ServerSentEvent<String>> streamChatbotResponse(String userMessage, String userContext) {
+        Flux<ServerSentEvent<String>> tokens = llmGateway.stream(new LlmRequest(buildChatPrompt(userMessage, userContext), 200))
+                .map(token -> ServerSentEvent.<String>builder(token).event("token").build());
+
+        return tokens
+                .concatWith(Mono.just(ServerSentEvent.<String>builder("").event("done").build()))
+                .onErrorResume(e -> {
+                    logger.warn("AI chat stream failed: {}", e.getMessage());
+                    return Mono.just(ServerSentEvent.<String>builder(
+                            "I apologize, but I'm unable to process your request right now. Please try again later.")
+                            .event("error").build());
+                });
+    }
 
+    // Errors propagate so callers can tell a real answer from a fallback before storing it
+    public Mono<String> analyzeSpendingPattern(String spendingSummary) {
+        StringBuilder expenseData = new StringBuilder();
+        expenseData.append("Analyze this summary of recent expenses and provide insights:\n");
+        expenseData.append(spendingSummary);
         expenseData.append("\nProvide insights on spending patterns, suggestions for improvement, and potential budget optimizations. Keep it concise and actionable.");
 
-        Map<String, Object> requestBody = createChatCompletionRequest(expenseData.toString(), 300);
-
-        return webClient.post()
-                .uri("/chat/completions")
-                .bodyValue(requestBody)
-                .retrieve()
-                .bodyToMono(Map.class)
-                .map(this::extractMessageContent)
-                .onErrorReturn("Unable to analyze spending patterns at this time.");
+        return cachedCompletion("spending-analysis", expenseData.toString(), 300, spendingAnalysisTtlMs);
     }
 
     public Mono<String> generateBudgetAdvice(double totalIncome, Map<String, Double> categorySpending) {
@@ -106,49 +94,29 @@ public class AIService {
         
         prompt.append("\nProvide specific budget recommendations, savings opportunities, and financial tips. Be practical and actionable.");
 
-        Map<String, Object> requestBody = createChatCompletionRequest(prompt.toString(), 250);
-
-        return webClient.post()
-                .uri("/chat/completions")
-                .bodyValue(requestBody)
-                .retrieve()
-                .bodyToMono(Map.class)
-                .map(this::extractMessageContent)
-                .onErrorReturn("Unable to generate budget advice at this time.");
+        return cachedCompletion("budget-advice", prompt.toString(), 250, budgetAdviceTtlMs);
     }
 
-    private Map<String, Object> createChatCompletionRequest(String prompt, int maxTokens) {
-        Map<String, Object> message = new HashMap<>();
-        message.put("role", "user");
-        message.put("content", prompt);
-
-        List<Map<String, Object>> messages = new ArrayList<>();
-        messages.add(message);
+    public Map<String, Object> getCacheStats() {
+        return responseCache.getStats();
+    }
 
-        Map<String, Object> requestBody = new HashMap<>();
-        requestBody.put("model", "gpt-3.5-turbo");
-        requestBody.put("messages", messages);
-        requestBody.put("max_tokens", maxTokens);
-        requestBody.put("temperature", 0.7);
+    public Map<String, Object> getProviderStats() {
+        return llmGateway.getStats();
+    }
 
-        return requestBody;
+    // Identical prompts within the TTL are answered from the cache or join the in-flight call
+    private Mono<String> cachedCompletion(String operation, String prompt, int maxTokens, long ttlMs) {
+        return responseCache.get(operation, llmGateway.getModel(), maxTokens, prompt, ttlMs,
+                        () -> llmGateway.complete(new LlmRequest(prompt, maxTokens)))
+                .map(LlmCompletion::getContent);
     }
 
-    @SuppressWarnings("unchecked")
-    private String extractMessageContent(Map<String, Object> response) {
-        try {
-            List<Map<String, Object>> choices = (List<Map<String, Object>>) response.get("choices");
-            if (choices != null && !choices.isEmpty()) {
-                Map<String, Object> choice = choices.get(0);
-                Map<String, Object> message = (Map<String, Object>) choice.get("message");
-                if (message != null) {
-                    return (String) message.get("content");
-                }
-            }
-        } catch (Exception e) {
-            // Log error and return fallback
-            System.err.println("Error extracting AI response: " + e.getMessage());
-        }
-        return "Unable to process request";
+    private String buildChatPrompt(String userMessage, String userContext) {
+        String systemPrompt = "You are FinFlare, an AI financial assistant. " +
+                "Help users with personal finance questions, expense analysis, budgeting advice, " +
+                "and financial planning. Be concise, helpful, and encouraging. " +
+                "User context: " + (userContext != null ? userContext : "No specific context provided.");
+        return systemPrompt + "\n\nUser: " + userMessage;
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,168 @@
+package com.finflare.service;
+
+import com.finflare.model.ExpenseCategory;
+import com.finflare.repository.BudgetRepository;
+import com.finflare.util.LruCache;
+import jakarta.annotation.PostConstruct;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.*;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Per-user cache of active budget date ranges, so the expense write path can find the
+ * budget an expense belongs to with a binary search instead of a range query. Each
+ * range carries the budget's limit and alert threshold, so the write path needs no
+ * read of the budget row either. Entries must be invalidated whenever a user's
+ * active budgets change, including their amount or alert settings.
+ */
+@Component
+public class ActiveBudgetIndex {
+
+    private static final int CATEGORY_COUNT = ExpenseCategory.values().length;
+
+    @Autowired
+    private BudgetRepository budgetRepository;
+
+    @Value("${app.budgets.index.max-users:100000}")
+    private int maxUsers;
+
+    private LruCache<Long, UserBudgets> cache;
+
+    // Bumped on every invalidation so loads that raced with one are not cached
+    private final AtomicLong invalidations = new AtomicLong();
+
+    @PostConstruct
+    void init() {
+        cache = new LruCache<>(maxUsers);
+    }
+
+    public Optional<ActiveBudget> findActiveBudget(Long userId, ExpenseCategory category, LocalDate date) {
+        UserBudgets budgets = cache.get(userId);
+        if (budgets == null) {
+            long generation = invalidations.get();
+            budgets = load(userId);
+            if (invalidations.get() == generation) {
+                cache.put(userId, budgets);
+            }
+        }
+        return budgets.find(category.ordinal(), (int) date.toEpochDay());
+    }
+
+    public void invalidate(Long userId) {
+        invalidations.incrementAndGet();
+        cache.remove(userId);
+        // A load between now and commit would read the old ranges; drop them again afterwards
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    invalidations.incrementAndGet();
+                    cache.remove(userId);
+                }
+            });
+        }
+    }
+
+    public void invalidateAll(Collection<Long> userIds) {
+        invalidations.incrementAndGet();
+        userIds.forEach(cache::remove);
+    }
+
+    private UserBudgets load(Long userId) {
+        List<List<Object[]>> byCategory = new ArrayList<>(CATEGORY_COUNT);
+        for (int i = 0; i < CATEGORY_COUNT; i++) {
+            byCategory.add(new ArrayList<>(1));
+        }
+
+        for (Object[] row : budgetRepository.findActiveBudgetRangesByUserId(userId)) {
+            int ordinal = ((ExpenseCategory) row[1]).ordinal();
+            byCategory.get(ordinal).add(row);
+        }
+
+        UserBudgets budgets = new UserBudgets();
+        for (int ordinal = 0; ordinal < CATEGORY_COUNT; ordinal++) {
+            List<Object[]> ranges = byCategory.get(ordinal);
+            if (ranges.isEmpty()) {
+                continue;
+            }
+            ranges.sort(Comparator.comparing(range -> (LocalDate) range[2]));
+
+            int size = ranges.size();
+            int[] starts = new int[size];
+            int[] ends = new int[size];
+            ActiveBudget[] entries = new ActiveBudget[size];
+            for (int i = 0; i < size; i++) {
+                Object[] range = ranges.get(i);
+                starts[i] = (int) ((LocalDate) range[2]).toEpochDay();
+                ends[i] = (int) ((LocalDate) range[3]).toEpochDay();
+                entries[i] = new ActiveBudget((Long) range[0], (BigDecimal) range[4],
+                        Boolean.TRUE.equals(range[6]) ? (Integer) range[5] : null);
+            }
+            budgets.starts[ordinal] = starts;
+            budgets.ends[ordinal] = ends;
+            budgets.entries[ordinal] = entries;
+        }
+        return budgets;
+    }
+
+    /** What the expense write path needs of an active budget. */
+    public static final class ActiveBudget {
+        private final Long id;
+        private final BigDecimal budgetAmount;
+        private final Integer alertThreshold;
+
+        ActiveBudget(Long id, BigDecimal budgetAmount, Integer alertThreshold) {
+            this.id = id;
+            this.budgetAmount = budgetAmount;
+            this.alertThreshold = alertThreshold;
+        }
+
+        public Long getId() { return id; }
+        public BigDecimal getBudgetAmount() { return budgetAmount; }
+        // Null when alerts are disabled for the budget
+        public Integer getAlertThreshold() { return alertThreshold; }
+    }
+
+    /** Sorted-by-start ranges per category ordinal; null arrays mean no active budget. */
+    private static final class UserBudgets {
+        private final int[][] starts = new int[CATEGORY_COUNT][];
+        private final int[][] ends = new int[CATEGORY_COUNT][];
+        private final ActiveBudget[][] entries = new ActiveBudget[CATEGORY_COUNT][];
+
+        Optional<ActiveBudget> find(int ordinal, int epochDay) {
+            int[] categoryStarts = starts[ordinal];
+            if (categoryStarts == null) {
+                return Optional.empty();
+            }
+
+            // Last range starting on or before the day
+            int low = 0;
+            int high = categoryStarts.length - 1;
+            int candidate = -1;
+            while (low <= high) {
+                int mid = (low + high) >>> 1;
+                if (categoryStarts[mid] <= epochDay) {
+                    candidate = mid;
+                    low = mid + 1;
+                } else {
+                    high = mid - 1;
+                }
+            }
+
+            // Ranges normally do not overlap, but walk back in case an older one is longer
+            for (int i = candidate; i >= 0; i--) {
+                if (ends[ordinal][i] >= epochDay) {
+                    return Optional.of(entries[ordinal][i]);
+                }
+            }
+            return Optional.empty();
+        }
+    }
+}
@@ -0,0 +1,202 @@
+package com.finflare.service;
+
+import com.finflare.model.AiInsight;
+import com.finflare.model.AiInsightType;
+import com.finflare.repository.AiInsightRepository;
+import com.finflare.repository.ExpenseRepository;
+import com.finflare.repository.UserRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Scheduler;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Supplier;
+
+/**
+ * Serves spending analysis and budget advice from stored results while the user's
+ * expenses in the relevant window are unchanged, and precomputes them nightly for
+ * recently active users. A stored result is only reused when its data version
+ * (window, request parameters and expense count/sum/last update) matches exactly.
+ */
+@Service
+public class AiInsightService {
+
+    private static final Logger logger = LoggerFactory.getLogger(AiInsightService.class);
+
+    private static final String ANALYSIS_FALLBACK = "Unable to analyze spending patterns at this time.";
+    private static final String ADVICE_FALLBACK = "Unable to generate budget advice at this time.";
+
+    @Autowired
+    private AIService aiService;
+
+    @Autowired
+    private ExpenseService expenseService;
+
+    @Autowired
+    private AiInsightRepository aiInsightRepository;
+
+    @Autowired
+    private ExpenseRepository expenseRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    @Qualifier("dbScheduler")
+    private Scheduler dbScheduler;
+
+    @Value("${app.ai.insights.active-days:7}")
+    private int activeDays;
+
+    @Value("${app.ai.insights.analysis-days:30}")
+    private int analysisDays;
+
+    @Value("${app.ai.insights.concurrency:4}")
+    private int concurrency;
+
+    @Value("${app.ai.insights.batch-size:200}")
+    private int batchSize;
+
+    public Mono<String> getSpendingAnalysis(Long userId, int days) {
+        return Mono.fromCallable(() -> prepareSpendingAnalysis(userId, days))
+                .subscribeOn(dbScheduler)
+                .flatMap(this::resolve)
+                .onErrorReturn(ANALYSIS_FALLBACK);
+    }
+
+    public Mono<String> getBudgetAdvice(Long userId, double monthlyIncome) {
+        return Mono.fromCallable(() -> prepareBudgetAdvice(userId, monthlyIncome))
+                .subscribeOn(dbScheduler)
+                .flatMap(this::resolve)
+                .onErrorReturn(ADVICE_FALLBACK);
+    }
+
+    // Uses the endpoints' default parameters, so the stored results match their plain calls
+    @Scheduled(cron = "${app.ai.insights.cron:0 0 2 * * *}")
+    public void precomputeInsights() {
+        LocalDateTime since = LocalDateTime.now().minusDays(activeDays);
+        long startedAt = System.currentTimeMillis();
+        long afterUserId = 0L;
+        int users = 0;
+
+        while (true) {
+            List<Long> userIds = userRepository.findIdsActiveSince(since, afterUserId, PageRequest.of(0, batchSize));
+            if (userIds.isEmpty()) {
+                break;
+            }
+            Flux.fromIterable(userIds)
+                    .flatMap(this::precompute, concurrency)
+                    .then()
+                    .block();
+            users += userIds.size();
+            afterUserId = userIds.get(userIds.size() - 1);
+        }
+
+        logger.info("Precomputed AI insights for {} active users in {} ms", users, System.currentTimeMillis() - startedAt);
+    }
+
+    private Mono<Void> precompute(Long userId) {
+        Mono<String> analysis = Mono.fromCallable(() -> prepareSpendingAnalysis(userId, analysisDays))
+                .subscribeOn(dbScheduler)
+                .filter(pending -> pending.storedContent == null)
+                .flatMap(this::resolve);
+        Mono<String> advice = Mono.fromCallable(() -> prepareBudgetAdvice(userId, 0))
+                .subscribeOn(dbScheduler)
+                .filter(pending -> pending.storedContent == null)
+                .flatMap(this::resolve);
+        return analysis.then(advice)
+                .onErrorResume(e -> {
+                    logger.warn("Could not precompute AI insights for user {}: {}", userId, e.getMessage());
+                    return Mono.empty();
+                })
+                .then();
+    }
+
+    private Pending prepareSpendingAnalysis(Long userId, int days) {
+        LocalDate endDate = LocalDate.now();
+        LocalDate startDate = endDate.minusDays(days);
+        String version = dataVersion(userId, startDate, endDate, "days=" + days);
+        return prepare(userId, AiInsightType.SPENDING_ANALYSIS, version, () -> {
+            String summary = expenseService.getSpendingSummaryForAnalysis(userId, days);
+            return Mono.defer(() -> aiService.analyzeSpendingPattern(summary));
+        });
+    }
+
+    private Pending prepareBudgetAdvice(Long userId, double monthlyIncome) {
+        LocalDate endDate = LocalDate.now();
+        LocalDate startDate = endDate.withDayOfMonth(1);
+        String version = dataVersion(userId, startDate, endDate, String.format("income=%.2f", monthlyIncome));
+        return prepare(userId, AiInsightType.BUDGET_ADVICE, version, () -> {
+            Map<String, Double> categorySpending = expenseService.getCategorySpendingForCurrentMonth(userId);
+            return Mono.defer(() -> aiService.generateBudgetAdvice(monthlyIncome, categorySpending));
+        });
+    }
+
+    // Runs on dbScheduler; only loads the prompt inputs when the stored result is stale
+    private Pending prepare(Long userId, AiInsightType type, String version, Supplier<Mono<String>> generator) {
+        AiInsight stored = aiInsightRepository.findByUserIdAndType(userId, type).orElse(null);
+        if (stored != null && version.equals(stored.getDataVersion())) {
+            return new Pending(userId, type, version, stored.getContent(), null);
+        }
+        return new Pending(userId, type, version, null, generator.get());
+    }
+
+    private Mono<String> resolve(Pending pending) {
+        if (pending.storedContent != null) {
+            return Mono.just(pending.storedContent);
+        }
+        return pending.generation.flatMap(content -> Mono.fromCallable(() -> store(pending, content))
+                .subscribeOn(dbScheduler));
+    }
+
+    private String store(Pending pending, String content) {
+        AiInsight insight = aiInsightRepository.findByUserIdAndType(pending.userId, pending.type)
+                .orElseGet(() -> new AiInsight(pending.userId, pending.type));
+        insight.setDataVersion(pending.version);
+        insight.setContent(content);
+        insight.setGeneratedAt(LocalDateTime.now());
+        try {
+            aiInsightRepository.save(insight);
+        } catch (DataIntegrityViolationException e) {
+            // A concurrent request stored the same insight first
+            logger.debug("AI insight for user {} already stored: {}", pending.userId, e.getMessage());
+        }
+        return content;
+    }
+
+    private String dataVersion(Long userId, LocalDate startDate, LocalDate endDate, String parameters) {
+        Object[] stats = expenseRepository.getVersionStatsByUserIdAndDateRange(userId, startDate, endDate).get(0);
+        BigDecimal total = stats[1] != null ? (BigDecimal) stats[1] : BigDecimal.ZERO;
+        return startDate + ".." + endDate + "|" + parameters + "|" + stats[0] + "|"
+                + total.toPlainString() + "|" + stats[2];
+    }
+
+    private static final class Pending {
+        private final Long userId;
+        private final AiInsightType type;
+        private final String version;
+        private final String storedContent;
+        private final Mono<String> generation;
+
+        Pending(Long userId, AiInsightType type, String version, String storedContent, Mono<String> generation) {
+            this.userId = userId;
+            this.type = type;
+            this.version = version;
+            this.storedContent = storedContent;
+            this.generation = generation;
+        }
+    }
+}
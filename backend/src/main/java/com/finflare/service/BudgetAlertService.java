@@ -0,0 +1,171 @@
+package com.finflare.service;
+
+import com.finflare.model.AlertStatus;
+import com.finflare.model.Budget;
+import com.finflare.model.BudgetAlert;
+import com.finflare.model.User;
+import com.finflare.repository.BudgetAlertRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.mail.SimpleMailMessage;
+import org.springframework.mail.javamail.JavaMailSender;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.*;
+import java.util.stream.Collectors;
+
+@Service
+public class BudgetAlertService {
+
+    private static final Logger logger = LoggerFactory.getLogger(BudgetAlertService.class);
+
+    @Autowired
+    private BudgetAlertRepository budgetAlertRepository;
+
+    @Autowired
+    private JavaMailSender mailSender;
+
+    @Autowired
+    @Qualifier("mailExecutor")
+    private ThreadPoolTaskExecutor mailExecutor;
+
+    @Value("${app.alerts.mail.enabled:true}")
+    private boolean mailEnabled;
+
+    @Value("${app.alerts.mail.from:${spring.mail.username:no-reply@finflare.app}}")
+    private String mailFrom;
+
+    @Value("${app.alerts.digest.window-ms:900000}")
+    private long digestWindowMs;
+
+    @Value("${app.alerts.digest.batch-size:200}")
+    private int digestBatchSize;
+
+    @Value("${app.alerts.mail.max-attempts:5}")
+    private int maxAttempts;
+
+    @Value("${app.alerts.mail.backoff-ms:60000}")
+    private long backoffMs;
+
+    @Value("${app.alerts.mail.claim-timeout-ms:600000}")
+    private long claimTimeoutMs;
+
+    /**
+     * Called on the expense write path once an expense has moved the budget across its
+     * alert threshold or past 100%. Only queues a row; delivery happens in the digest job.
+     */
+    public void recordBoundCrossed(Budget budget) {
+        budgetAlertRepository.save(new BudgetAlert(budget, budget.getUser()));
+    }
+
+    @Scheduled(fixedDelayString = "${app.alerts.digest.interval-ms:60000}",
+               initialDelayString = "${app.alerts.digest.interval-ms:60000}")
+    public void dispatchDigests() {
+        if (!mailEnabled) {
+            return;
+        }
+
+        LocalDateTime now = LocalDateTime.now();
+        int released = budgetAlertRepository.releaseStaleClaims(now.minus(Duration.ofMillis(claimTimeoutMs)));
+        if (released > 0) {
+            logger.warn("Re-queued {} budget alerts left claimed by a previous run", released);
+        }
+
+        LocalDateTime windowStart = now.minus(Duration.ofMillis(digestWindowMs));
+        List<Long> userIds = budgetAlertRepository.findUserIdsWithDueAlerts(
+                AlertStatus.PENDING, now, windowStart, PageRequest.of(0, digestBatchSize));
+        if (userIds.isEmpty()) {
+            return;
+        }
+
+        Map<Long, List<BudgetAlert>> alertsByUser = budgetAlertRepository
+                .findDueAlertsForUsers(AlertStatus.PENDING, now, userIds).stream()
+                .collect(Collectors.groupingBy(alert -> alert.getUser().getId(),
+                        LinkedHashMap::new, Collectors.toList()));
+
+        for (List<BudgetAlert> alerts : alertsByUser.values()) {
+            List<Long> ids = alerts.stream().map(BudgetAlert::getId).collect(Collectors.toList());
+            String claimToken = UUID.randomUUID().toString();
+            if (budgetAlertRepository.claim(ids, now, claimToken) == 0) {
+                // Another instance claimed these first
+                continue;
+            }
+
+            // Send only what this run won; another instance may hold part of the selection
+            List<BudgetAlert> claimed = budgetAlertRepository.findClaimed(claimToken);
+            if (claimed.isEmpty()) {
+                continue;
+            }
+            List<Long> claimedIds = claimed.stream().map(BudgetAlert::getId).collect(Collectors.toList());
+
+            try {
+                mailExecutor.execute(() -> sendDigest(claimed, claimedIds));
+            } catch (TaskRejectedException e) {
+                // Mail pool is saturated; leave the rest for the next run
+                budgetAlertRepository.release(claimedIds);
+                logger.debug("Mail executor saturated, deferring {} digests", alertsByUser.size());
+                break;
+            }
+        }
+    }
+
+    private void sendDigest(List<BudgetAlert> alerts, List<Long> ids) {
+        User user = alerts.get(0).getUser();
+        try {
+            SimpleMailMessage message = new SimpleMailMessage();
+            message.setFrom(mailFrom);
+            message.setTo(user.getEmail());
+            message.setSubject(alerts.size() == 1 ? "FinFlare budget alert" : "FinFlare budget alerts (" + alerts.size() + ")");
+            message.setText(buildDigestBody(user, alerts));
+
+            mailSender.send(message);
+            budgetAlertRepository.markSent(ids, LocalDateTime.now());
+        } catch (Exception e) {
+            int attempts = alerts.stream().mapToInt(BudgetAlert::getAttempts).max().orElse(0) + 1;
+            if (attempts >= maxAttempts) {
+                logger.error("Giving up on budget alert digest for user {} after {} attempts: {}",
+                        user.getId(), attempts, e.getMessage());
+                budgetAlertRepository.markAttemptFailed(ids, AlertStatus.FAILED, null);
+            } else {
+                long delayMs = backoffMs << Math.min(attempts - 1, 10);
+                logger.warn("Budget alert digest for user {} failed (attempt {}), retrying in {} ms: {}",
+                        user.getId(), attempts, delayMs, e.getMessage());
+                budgetAlertRepository.markAttemptFailed(ids, AlertStatus.PENDING,
+                        LocalDateTime.now().plus(Duration.ofMillis(delayMs)));
+            }
+        }
+    }
+
+    private String buildDigestBody(User user, List<BudgetAlert> alerts) {
+        // Several crossings of the same budget collapse into the latest one
+        Map<Long, BudgetAlert> latestByBudget = new LinkedHashMap<>();
+        for (BudgetAlert alert : alerts) {
+            latestByBudget.put(alert.getBudgetId(), alert);
+        }
+
+        StringBuilder body = new StringBuilder();
+        body.append("Hi ").append(user.getFirstName() != null ? user.getFirstName() : user.getUsername()).append(",\n\n");
+        body.append("The following budgets need your attention:\n\n");
+
+        for (BudgetAlert alert : latestByBudget.values()) {
+            body.append(String.format("- %s: $%s of $%s spent (%.0f%%)%s\n",
+                    alert.getCategory().getDisplayName(),
+                    alert.getSpentAmount(),
+                    alert.getBudgetAmount(),
+                    alert.getSpentPercentage(),
+                    alert.isOverBudget() ? " - over budget" : ""));
+        }
+
+        body.append("\nOpen FinFlare to review your spending.\n");
+        return body.toString();
+    }
+}
@@ -0,0 +1,264 @@
+package com.finflare.service;
+
+import com.finflare.dto.ReconciliationReport;
+import com.finflare.model.JobStatus;
+import com.finflare.model.ReconciliationPartition;
+import com.finflare.model.ReconciliationRun;
+import com.finflare.repository.BudgetRepository;
+import com.finflare.repository.ReconciliationPartitionRepository;
+import com.finflare.repository.ReconciliationRunRepository;
+import com.finflare.repository.UserRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.Collectors;
+
+@Service
+public class BudgetReconciliationService {
+
+    private static final Logger logger = LoggerFactory.getLogger(BudgetReconciliationService.class);
+
+    // Only overwrite rows that were not touched by the write path since they were read
+    private static final String FIX_SPENT_SQL =
+            "UPDATE budgets SET spent_amount = ? WHERE id = ? AND spent_amount = ?";
+
+    @Autowired
+    private BudgetRepository budgetRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private ReconciliationRunRepository runRepository;
+
+    @Autowired
+    private ReconciliationPartitionRepository partitionRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    @Qualifier("reconciliationExecutor")
+    private ThreadPoolTaskExecutor reconciliationExecutor;
+
+    @Value("${app.budgets.reconcile.users-per-partition:1000}")
+    private long usersPerPartition;
+
+    @Value("${app.budgets.reconcile.pause-ms:50}")
+    private long pauseMs;
+
+    @Value("${app.budgets.reconcile.batch-size:500}")
+    private int batchSize;
+
+    private final AtomicBoolean running = new AtomicBoolean(false);
+
+    /**
+     * Starts a new run, or resumes the last one if it never finished (e.g. the node
+     * restarted mid-run). Returns immediately; progress is available via {@link #getReport}.
+     */
+    public ReconciliationReport startOrResume(String triggeredBy) {
+        if (!running.compareAndSet(false, true)) {
+            return runRepository.findFirstByStatusOrderByStartedAtDesc(JobStatus.RUNNING)
+                    .map(run -> getReport(run.getId()))
+                    .orElseThrow(() -> new IllegalStateException("Reconciliation is already running"));
+        }
+
+        try {
+            ReconciliationRun run = runRepository.findFirstByStatusOrderByStartedAtDesc(JobStatus.RUNNING)
+                    .orElseGet(() -> createRun(triggeredBy));
+            if (run.getFailureReason() != null) {
+                // Resuming; the previous stop reason no longer describes this attempt
+                run.setFailureReason(null);
+                run = runRepository.save(run);
+            }
+
+            List<ReconciliationPartition> pending = partitionRepository
+                    .findByRunIdAndStatusNotOrderByFromUserId(run.getId(), JobStatus.COMPLETED);
+            logger.info("Reconciliation run {} processing {} of {} partitions",
+                    run.getId(), pending.size(), run.getTotalPartitions());
+
+            execute(run.getId(), pending);
+            return getReport(run.getId());
+        } catch (RuntimeException e) {
+            running.set(false);
+            throw e;
+        }
+    }
+
+    public ReconciliationReport getReport(Long runId) {
+        ReconciliationRun run = runRepository.findById(runId)
+                .orElseThrow(() -> new RuntimeException("Reconciliation run not found"));
+        List<ReconciliationPartition> partitions = partitionRepository.findByRunIdOrderByFromUserId(runId);
+
+        ReconciliationReport report = new ReconciliationReport();
+        report.setRunId(run.getId());
+        report.setStatus(run.getStatus());
+        report.setStartedAt(run.getStartedAt());
+        report.setFinishedAt(run.getFinishedAt());
+        report.setFailureReason(run.getFailureReason());
+        report.setTotalPartitions(partitions.size());
+        report.setCompletedPartitions((int) partitions.stream()
+                .filter(p -> p.getStatus() == JobStatus.COMPLETED).count());
+        report.setBudgetsChecked(partitions.stream().mapToLong(ReconciliationPartition::getBudgetsChecked).sum());
+        report.setBudgetsFixed(partitions.stream().mapToLong(ReconciliationPartition::getBudgetsFixed).sum());
+        report.setTotalDrift(partitions.stream()
+                .map(ReconciliationPartition::getTotalDrift)
+                .reduce(BigDecimal.ZERO, BigDecimal::add));
+        report.setLargestDrifts(partitions.stream()
+                .filter(p -> p.getMaxDriftBudgetId() != null)
+                .sorted(Comparator.comparing(ReconciliationPartition::getMaxDrift).reversed())
+                .limit(10)
+                .map(p -> {
+                    Map<String, Object> drift = new HashMap<>();
+                    drift.put("budgetId", p.getMaxDriftBudgetId());
+                    drift.put("drift", p.getMaxDrift());
+                    drift.put("userRange", p.getFromUserId() + "-" + (p.getToUserId() - 1));
+                    return drift;
+                })
+                .collect(Collectors.toList()));
+        return report;
+    }
+
+    private ReconciliationRun createRun(String triggeredBy) {
+        ReconciliationRun run = runRepository.save(new ReconciliationRun(usersPerPartition, triggeredBy));
+
+        Long minUserId = userRepository.findMinUserId();
+        Long maxUserId = userRepository.findMaxUserId();
+        List<ReconciliationPartition> partitions = new ArrayList<>();
+        if (minUserId != null) {
+            for (long from = minUserId; from <= maxUserId; from += usersPerPartition) {
+                partitions.add(new ReconciliationPartition(run, from, from + usersPerPartition));
+            }
+        }
+        partitionRepository.saveAll(partitions);
+
+        run.setTotalPartitions(partitions.size());
+        return runRepository.save(run);
+    }
+
+    // One worker per executor thread, each pulling partitions until none are left
+    private void execute(Long runId, List<ReconciliationPartition> partitions) {
+        Queue<ReconciliationPartition> queue = new ConcurrentLinkedQueue<>(partitions);
+        int workers = Math.min(reconciliationExecutor.getMaxPoolSize(), partitions.size());
+
+        CompletableFuture<?>[] tasks = new CompletableFuture<?>[workers];
+        for (int i = 0; i < workers; i++) {
+            tasks[i] = CompletableFuture.runAsync(() -> drain(queue), reconciliationExecutor);
+        }
+
+        CompletableFuture.allOf(tasks).whenComplete((ignored, error) -> {
+            try {
+                finishRun(runId, error);
+            } finally {
+                running.set(false);
+            }
+        });
+    }
+
+    private void drain(Queue<ReconciliationPartition> queue) {
+        ReconciliationPartition partition;
+        while ((partition = queue.poll()) != null) {
+            reconcilePartition(partition);
+        }
+    }
+
+    private void reconcilePartition(ReconciliationPartition partition) {
+        List<Object[]> rows = budgetRepository.getActualSpendForActiveBudgetsInUserRange(
+                partition.getFromUserId(), partition.getToUserId());
+
+        List<Object[]> fixes = new ArrayList<>();
+        BigDecimal totalDrift = BigDecimal.ZERO;
+        BigDecimal maxDrift = BigDecimal.ZERO;
+        Long maxDriftBudgetId = null;
+
+        for (Object[] row : rows) {
+            Long budgetId = (Long) row[0];
+            BigDecimal stored = row[1] != null ? (BigDecimal) row[1] : BigDecimal.ZERO;
+            BigDecimal actual = (BigDecimal) row[2];
+
+            BigDecimal drift = actual.subtract(stored).abs();
+            if (drift.signum() == 0) {
+                continue;
+            }
+
+            fixes.add(new Object[] { actual, budgetId, stored });
+            totalDrift = totalDrift.add(drift);
+            if (drift.compareTo(maxDrift) > 0) {
+                maxDrift = drift;
+                maxDriftBudgetId = budgetId;
+            }
+            logger.debug("Budget {} drifted by {} (stored {}, actual {})", budgetId, drift, stored, actual);
+        }
+
+        final BigDecimal partitionDrift = totalDrift;
+        final BigDecimal partitionMaxDrift = maxDrift;
+        final Long partitionMaxDriftBudgetId = maxDriftBudgetId;
+
+        transactionTemplate.executeWithoutResult(status -> {
+            int fixed = 0;
+            for (int i = 0; i < fixes.size(); i += batchSize) {
+                int[] counts = jdbcTemplate.batchUpdate(FIX_SPENT_SQL, fixes.subList(i, Math.min(i + batchSize, fixes.size())));
+                for (int count : counts) {
+                    fixed += Math.max(count, 0);
+                }
+            }
+
+            partition.setBudgetsChecked(rows.size());
+            partition.setBudgetsFixed(fixed);
+            partition.setTotalDrift(partitionDrift);
+            partition.setMaxDrift(partitionMaxDrift);
+            partition.setMaxDriftBudgetId(partitionMaxDriftBudgetId);
+            partition.setStatus(JobStatus.COMPLETED);
+            partition.setCompletedAt(LocalDateTime.now());
+            partitionRepository.save(partition);
+        });
+
+        // Throttle: give the database room between partitions on every worker
+        if (pauseMs > 0) {
+            try {
+                Thread.sleep(pauseMs);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+
+    private void finishRun(Long runId, Throwable error) {
+        ReconciliationRun run = runRepository.findById(runId).orElse(null);
+        if (run == null) {
+            return;
+        }
+
+        if (error != null) {
+            // Left RUNNING so the next trigger resumes the unfinished partitions
+            logger.error("Reconciliation run {} stopped: {}", runId, error.getMessage());
+            run.setFailureReason(error.getMessage());
+            runRepository.save(run);
+            return;
+        }
+
+        run.setStatus(JobStatus.COMPLETED);
+        run.setFinishedAt(LocalDateTime.now());
+        runRepository.save(run);
+
+        ReconciliationReport report = getReport(runId);
+        logger.info("Reconciliation run {} finished: {} budgets checked, {} fixed, total drift {}",
+                runId, report.getBudgetsChecked(), report.getBudgetsFixed(), report.getTotalDrift());
+    }
+}
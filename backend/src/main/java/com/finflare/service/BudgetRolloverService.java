@@ -0,0 +1,213 @@
+package com.finflare.service;
+
+import com.finflare.event.BudgetPeriodClosedEvent;
+import com.finflare.model.Budget;
+import com.finflare.model.BudgetPeriod;
+import com.finflare.model.ExpenseCategory;
+import com.finflare.repository.BudgetRepository;
+import com.finflare.repository.ExpenseRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.*;
+
+@Service
+public class BudgetRolloverService {
+
+    private static final Logger logger = LoggerFactory.getLogger(BudgetRolloverService.class);
+
+    // IDENTITY ids turn off Hibernate insert batching, so successors go through one JDBC batch
+    private static final String INSERT_SUCCESSOR_SQL =
+            "INSERT INTO budgets (user_id, category, budget_amount, spent_amount, start_date, end_date, period, " +
+            "alert_enabled, alert_threshold, is_active, created_at, updated_at) " +
+            "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)";
+
+    @Autowired
+    private BudgetRepository budgetRepository;
+
+    @Autowired
+    private ExpenseRepository expenseRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private ActiveBudgetIndex activeBudgetIndex;
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    @Value("${app.budgets.rollover.chunk-size:500}")
+    private int chunkSize;
+
+    @Scheduled(cron = "${app.budgets.rollover.cron:0 5 0 * * *}")
+    public void rollOverExpiredBudgets() {
+        LocalDate today = LocalDate.now();
+        long startedAt = System.currentTimeMillis();
+        long lastId = 0L;
+        int rolledOver = 0;
+        // A user's budgets can land in different chunks, so closures are merged over the whole run
+        Map<String, BudgetPeriodClosedEvent> closedPeriods = new HashMap<>();
+
+        while (true) {
+            final long afterId = lastId;
+            ChunkResult chunk = transactionTemplate.execute(status -> rollOverChunk(today, afterId, closedPeriods));
+            if (chunk == null || chunk.size == 0) {
+                break;
+            }
+            // After commit, so a concurrent reload cannot cache the pre-rollover ranges
+            activeBudgetIndex.invalidateAll(chunk.userIds);
+            rolledOver += chunk.size;
+            lastId = chunk.lastId;
+        }
+
+        // Every chunk has committed; outside a transaction these are delivered immediately
+        closedPeriods.values().stream()
+                .sorted(Comparator.comparing(BudgetPeriodClosedEvent::getPeriodEnd))
+                .forEach(eventPublisher::publishEvent);
+
+        if (rolledOver > 0) {
+            logger.info("Rolled over {} budgets into their next period in {} ms",
+                    rolledOver, System.currentTimeMillis() - startedAt);
+        }
+    }
+
+    private ChunkResult rollOverChunk(LocalDate today, long afterId, Map<String, BudgetPeriodClosedEvent> closedPeriods) {
+        List<Budget> expired = budgetRepository.findExpiredActiveBudgetsAfter(
+                today, afterId, PageRequest.of(0, chunkSize));
+        if (expired.isEmpty()) {
+            return new ChunkResult(0, afterId, Collections.emptySet());
+        }
+
+        List<Budget> successors = new ArrayList<>(expired.size());
+        Set<Long> userIds = new HashSet<>();
+
+        for (Budget budget : expired) {
+            budget.setActive(false);
+
+            Budget successor = budget.nextPeriod(today);
+            successors.add(successor);
+            userIds.add(budget.getUser().getId());
+            recordClosedPeriod(closedPeriods, budget);
+        }
+
+        seedSpentAmounts(successors);
+        insertSuccessors(successors);
+
+        return new ChunkResult(expired.size(), expired.get(expired.size() - 1).getId(), userIds);
+    }
+
+    // Weekly budgets say nothing about a month, so only monthly or longer periods are reported
+    private void recordClosedPeriod(Map<String, BudgetPeriodClosedEvent> closedPeriods, Budget budget) {
+        if (budget.getPeriod() == BudgetPeriod.WEEKLY) {
+            return;
+        }
+        Long userId = budget.getUser().getId();
+        LocalDate end = budget.getEndDate();
+        closedPeriods.merge(userId + ":" + end.getYear() + "-" + end.getMonthValue(),
+                new BudgetPeriodClosedEvent(userId, budget.getStartDate(), end,
+                        budget.getSpentAmount().compareTo(budget.getBudgetAmount()) <= 0),
+                (a, b) -> new BudgetPeriodClosedEvent(userId,
+                        a.getPeriodStart().isBefore(b.getPeriodStart()) ? a.getPeriodStart() : b.getPeriodStart(),
+                        a.getPeriodEnd().isAfter(b.getPeriodEnd()) ? a.getPeriodEnd() : b.getPeriodEnd(),
+                        a.isWithinBudget() && b.isWithinBudget()));
+    }
+
+    // One grouped query per budget period in the chunk, so weekly successors never scan a yearly window
+    private void seedSpentAmounts(List<Budget> successors) {
+        Map<BudgetPeriod, List<Budget>> byPeriod = new EnumMap<>(BudgetPeriod.class);
+        for (Budget successor : successors) {
+            byPeriod.computeIfAbsent(successor.getPeriod() != null ? successor.getPeriod() : BudgetPeriod.MONTHLY,
+                    period -> new ArrayList<>()).add(successor);
+        }
+        for (List<Budget> group : byPeriod.values()) {
+            seedSpentAmountsForPeriod(group);
+        }
+    }
+
+    // Each successor then sums the days inside its own window
+    private void seedSpentAmountsForPeriod(List<Budget> successors) {
+        Set<Long> userIds = new HashSet<>();
+        LocalDate windowStart = null;
+        LocalDate windowEnd = null;
+        for (Budget successor : successors) {
+            userIds.add(successor.getUser().getId());
+            if (windowStart == null || successor.getStartDate().isBefore(windowStart)) {
+                windowStart = successor.getStartDate();
+            }
+            if (windowEnd == null || successor.getEndDate().isAfter(windowEnd)) {
+                windowEnd = successor.getEndDate();
+            }
+        }
+
+        Map<String, NavigableMap<LocalDate, BigDecimal>> dailyTotals = new HashMap<>();
+        for (Object[] row : expenseRepository.getDailyCategoryTotalsByUsersAndDateRange(userIds, windowStart, windowEnd)) {
+            String key = spendKey((Long) row[0], (ExpenseCategory) row[1]);
+            dailyTotals.computeIfAbsent(key, k -> new TreeMap<>()).put((LocalDate) row[2], (BigDecimal) row[3]);
+        }
+
+        for (Budget successor : successors) {
+            NavigableMap<LocalDate, BigDecimal> days = dailyTotals.get(
+                    spendKey(successor.getUser().getId(), successor.getCategory()));
+            if (days == null) {
+                continue;
+            }
+            BigDecimal spent = days.subMap(successor.getStartDate(), true, successor.getEndDate(), true)
+                    .values().stream()
+                    .reduce(BigDecimal.ZERO, BigDecimal::add);
+            successor.setSpentAmount(spent);
+        }
+    }
+
+    private void insertSuccessors(List<Budget> successors) {
+        LocalDateTime now = LocalDateTime.now();
+        List<Object[]> rows = new ArrayList<>(successors.size());
+        for (Budget successor : successors) {
+            rows.add(new Object[] {
+                    successor.getUser().getId(),
+                    successor.getCategory().name(),
+                    successor.getBudgetAmount(),
+                    successor.getSpentAmount(),
+                    successor.getStartDate(),
+                    successor.getEndDate(),
+                    successor.getPeriod() != null ? successor.getPeriod().name() : null,
+                    successor.isAlertEnabled(),
+                    successor.getAlertThreshold(),
+                    successor.isActive(),
+                    now,
+                    now
+            });
+        }
+        jdbcTemplate.batchUpdate(INSERT_SUCCESSOR_SQL, rows);
+    }
+
+    private String spendKey(Long userId, ExpenseCategory category) {
+        return userId + ":" + category.name();
+    }
+
+    private static class ChunkResult {
+        private final int size;
+        private final long lastId;
+        private final Set<Long> userIds;
+
+        ChunkResult(int size, long lastId, Set<Long> userIds) {
+            this.size = size;
+            this.lastId = lastId;
+            this.userIds = userIds;
+        }
+    }
+}
@@ -1,11 +1,18 @@
 package com.finflare.service;
 
+import com.finflare.dto.BudgetCreateRequest;
+import com.finflare.dto.BudgetResponse;
+import com.finflare.dto.BudgetUpdateRequest;
 import com.finflare.model.Budget;
 import com.finflare.model.ExpenseCategory;
 import com.finflare.model.User;
 import com.finflare.repository.BudgetRepository;
+import com.finflare.repository.UserRepository;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.math.BigDecimal;
 import java.time.LocalDate;
@@ -18,68 +25,133 @@ public class BudgetService {
     @Autowired
     private BudgetRepository budgetRepository;
 
-    public Budget createBudget(Budget budget) {
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private BudgetAlertService budgetAlertService;
+
+    @Autowired
+    private ActiveBudgetIndex activeBudgetIndex;
+
+    // The old budget is only deactivated if the new one is saved
+    @Transactional
+    public BudgetResponse createBudget(BudgetCreateRequest request, Long userId) {
         // Deactivate existing budget for the same category if active
-        Optional<Budget> existingBudget = budgetRepository.findByUserAndCategoryAndIsActive(
-            budget.getUser(), budget.getCategory(), true);
-        
-        if (existingBudget.isPresent()) {
-            Budget existing = existingBudget.get();
-            existing.setActive(false);
-            budgetRepository.save(existing);
+        budgetRepository.deactivateActiveBudgets(userId, request.getCategory());
+
+        Budget budget = new Budget(request.getCategory(), request.getBudgetAmount(),
+                request.getStartDate(), request.getEndDate(), userRepository.getReferenceById(userId));
+        if (request.getPeriod() != null) {
+            budget.setPeriod(request.getPeriod());
+        }
+        budget.setAlertEnabled(request.isAlertEnabled());
+        if (request.getAlertThreshold() != null) {
+            budget.setAlertThreshold(request.getAlertThreshold());
         }
 
-        return budgetRepository.save(budget);
+        Budget savedBudget = budgetRepository.save(budget);
+        activeBudgetIndex.invalidate(userId);
+        return BudgetResponse.fromBudget(savedBudget);
     }
 
-    public List<Budget> getUserBudgets(User user) {
-        return budgetRepository.findByUserOrderByCreatedAtDesc(user);
+    public Slice<BudgetResponse> getBudgetsByUserId(Long userId, Pageable pageable) {
+        return budgetRepository.findResponsesByUserId(userId, pageable);
     }
 
-    public List<Budget> getActiveBudgets(User user) {
-        return budgetRepository.findByUserAndIsActiveOrderByCreatedAtDesc(user, true);
+    public List<BudgetResponse> getActiveBudgetsByUserId(Long userId) {
+        return budgetRepository.findActiveResponsesByUserId(userId);
     }
 
-    public Optional<Budget> getActiveBudgetByCategory(User user, ExpenseCategory category, LocalDate date) {
-        return budgetRepository.findActiveBudgetByUserCategoryAndDate(user, category, date);
+    public BudgetResponse getBudgetById(Long budgetId, Long userId) {
+        return budgetRepository.findResponseByIdAndUserId(budgetId, userId)
+                .orElseThrow(() -> new RuntimeException("Budget not found"));
     }
 
-    public Budget updateBudget(Long budgetId, Budget updatedBudget, User user) {
-        Optional<Budget> existingBudgetOpt = budgetRepository.findById(budgetId);
-        if (existingBudgetOpt.isPresent()) {
-            Budget existingBudget = existingBudgetOpt.get();
-            if (existingBudget.getUser().getId().equals(user.getId())) {
-                existingBudget.setBudgetAmount(updatedBudget.getBudgetAmount());
-                existingBudget.setStartDate(updatedBudget.getStartDate());
-                existingBudget.setEndDate(updatedBudget.getEndDate());
-                existingBudget.setAlertEnabled(updatedBudget.isAlertEnabled());
-                existingBudget.setAlertThreshold(updatedBudget.getAlertThreshold());
-                existingBudget.setActive(updatedBudget.isActive());
-
-                return budgetRepository.save(existingBudget);
-            }
-        }
-        return null;
+    public List<BudgetResponse> getBudgetsByCategory(ExpenseCategory category, Long userId) {
+        return budgetRepository.findResponsesByUserIdAndCategory(userId, category);
+    }
+
+    public List<BudgetResponse> getBudgetAlerts(Long userId) {
+        return budgetRepository.findAlertResponsesByUserId(userId);
     }
 
-    public boolean deleteBudget(Long budgetId, User user) {
-        Optional<Budget> budgetOpt = budgetRepository.findById(budgetId);
-        if (budgetOpt.isPresent()) {
-            Budget budget = budgetOpt.get();
-            if (budget.getUser().getId().equals(user.getId())) {
-                budgetRepository.delete(budget);
-                return true;
-            }
+    public BudgetResponse updateBudget(Long budgetId, BudgetUpdateRequest request, Long userId) {
+        Budget budget = findOwnedBudget(budgetId, userId);
+
+        if (request.getBudgetAmount() != null) {
+            budget.setBudgetAmount(request.getBudgetAmount());
+        }
+        if (request.getStartDate() != null) {
+            budget.setStartDate(request.getStartDate());
+        }
+        if (request.getEndDate() != null) {
+            budget.setEndDate(request.getEndDate());
+        }
+        if (request.getPeriod() != null) {
+            budget.setPeriod(request.getPeriod());
+        }
+        if (request.getAlertEnabled() != null) {
+            budget.setAlertEnabled(request.getAlertEnabled());
         }
-        return false;
+        if (request.getAlertThreshold() != null) {
+            budget.setAlertThreshold(request.getAlertThreshold());
+        }
+        if (request.getIsActive() != null) {
+            budget.setActive(request.getIsActive());
+        }
+
+        Budget savedBudget = budgetRepository.save(budget);
+        activeBudgetIndex.invalidate(userId);
+        return BudgetResponse.fromBudget(savedBudget);
+    }
+
+    public void deleteBudget(Long budgetId, Long userId) {
+        Budget budget = findOwnedBudget(budgetId, userId);
+        budgetRepository.delete(budget);
+        activeBudgetIndex.invalidate(userId);
+    }
+
+    public BudgetResponse toggleBudgetAlert(Long budgetId, Long userId) {
+        Budget budget = findOwnedBudget(budgetId, userId);
+        budget.setAlertEnabled(!budget.isAlertEnabled());
+        Budget savedBudget = budgetRepository.save(budget);
+        activeBudgetIndex.invalidate(userId);
+        return BudgetResponse.fromBudget(savedBudget);
+    }
+
+    public BudgetResponse resetBudget(Long budgetId, Long userId) {
+        Budget budget = findOwnedBudget(budgetId, userId);
+        budget.setSpentAmount(BigDecimal.ZERO);
+        return BudgetResponse.fromBudget(budgetRepository.save(budget));
     }
 
-    public void updateBudgetSpending(User user, ExpenseCategory category, BigDecimal amount, LocalDate expenseDate) {
-        Optional<Budget> budgetOpt = getActiveBudgetByCategory(user, category, expenseDate);
-        if (budgetOpt.isPresent()) {
-            Budget budget = budgetOpt.get();
-            budget.setSpentAmount(budget.getSpentAmount().add(amount));
-            budgetRepository.save(budget);
+    /**
+     * Expense write path: the budget comes from the in-memory index and the amount is added
+     * with one atomic UPDATE. The row is only loaded when the addition crosses the alert
+     * threshold or the limit, to snapshot it into the alert.
+     */
+    public void updateBudgetSpending(Long userId, ExpenseCategory category, BigDecimal amount, LocalDate expenseDate) {
+        Optional<ActiveBudgetIndex.ActiveBudget> found = activeBudgetIndex.findActiveBudget(userId, category, expenseDate);
+        if (found.isEmpty()) {
+            return;
+        }
+        ActiveBudgetIndex.ActiveBudget budget = found.get();
+
+        if (budget.getAlertThreshold() == null || budget.getBudgetAmount().signum() <= 0) {
+            budgetRepository.addSpent(budget.getId(), amount);
+            return;
+        }
+
+        BigDecimal thresholdAmount = budget.getBudgetAmount()
+                .multiply(BigDecimal.valueOf(budget.getAlertThreshold()))
+                .divide(BigDecimal.valueOf(100));
+        if (budgetRepository.addSpentWithinAlertBounds(budget.getId(), amount, thresholdAmount, budget.getBudgetAmount()) > 0) {
+            return;
+        }
+        // This addition crosses a bound. Racing writers can both land here, so an alert may repeat but is never missed
+        if (budgetRepository.addSpent(budget.getId(), amount) > 0) {
+            budgetRepository.findById(budget.getId()).ifPresent(budgetAlertService::recordBoundCrossed);
         }
     }
 
@@ -90,4 +162,10 @@ public class BudgetService {
     public List<Budget> getBudgetsByDateRange(User user, LocalDate startDate, LocalDate endDate) {
         return budgetRepository.findByUserAndStartDateBetween(user, startDate, endDate);
     }
+
+    // Ownership is part of the lookup, so the lazy user association is never touched
+    private Budget findOwnedBudget(Long budgetId, Long userId) {
+        return budgetRepository.findByIdAndUserId(budgetId, userId)
+                .orElseThrow(() -> new RuntimeException("Budget not found"));
+    }
 }
\ No newline at end of file
@@ -0,0 +1,212 @@
+package com.finflare.service;
+
+import com.finflare.dto.BudgetResponse;
+import com.finflare.dto.BudgetScenario;
+import com.finflare.dto.BudgetScenarioChange;
+import com.finflare.dto.BudgetScenarioResult;
+import com.finflare.dto.BudgetSimulationRequest;
+import com.finflare.dto.BudgetSimulationResponse;
+import com.finflare.model.BudgetPeriod;
+import com.finflare.model.ExpenseCategory;
+import com.finflare.repository.BudgetRepository;
+import com.finflare.repository.ExpenseRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.Collectors;
+
+@Service
+public class BudgetSimulationService {
+
+    private static final int CATEGORIES = ExpenseCategory.values().length;
+    private static final BudgetPeriod[] PERIODS = BudgetPeriod.values();
+
+    @Autowired
+    private ExpenseRepository expenseRepository;
+
+    @Autowired
+    private BudgetRepository budgetRepository;
+
+    public BudgetSimulationResponse simulate(Long userId, BudgetSimulationRequest request) {
+        LocalDate endDate = LocalDate.now();
+        LocalDate startDate = endDate.minusMonths(request.getMonths()).plusDays(1);
+
+        SpendingTimeline timeline = loadTimeline(userId, startDate, endDate);
+        BudgetRules current = BudgetRules.fromBudgets(budgetRepository.findActiveResponsesByUserId(userId));
+
+        // Each scenario only reads the shared timeline, so they can be replayed independently
+        List<BudgetScenarioResult> results = request.getScenarios().parallelStream()
+                .map(scenario -> replay(scenario.getName(), current.apply(scenario), timeline, request.getMonths()))
+                .collect(Collectors.toList());
+
+        BudgetSimulationResponse response = new BudgetSimulationResponse();
+        response.setStartDate(startDate);
+        response.setEndDate(endDate);
+        response.setMonths(request.getMonths());
+        response.setCurrent(replay("current", current, timeline, request.getMonths()));
+        response.setScenarios(results);
+        return response;
+    }
+
+    private SpendingTimeline loadTimeline(Long userId, LocalDate startDate, LocalDate endDate) {
+        int days = (int) ChronoUnit.DAYS.between(startDate, endDate) + 1;
+        long[] dailyCents = new long[days * CATEGORIES];
+
+        for (Object[] row : expenseRepository.getDailyCategoryTotalsByUserIdAndDateRange(userId, startDate, endDate)) {
+            int day = (int) ChronoUnit.DAYS.between(startDate, (LocalDate) row[0]);
+            int category = ((ExpenseCategory) row[1]).ordinal();
+            dailyCents[day * CATEGORIES + category] += toCents((BigDecimal) row[2]);
+        }
+
+        // Calendar-aligned period key of every day, per budget period
+        int[][] periodKeys = new int[PERIODS.length][days];
+        for (int day = 0; day < days; day++) {
+            LocalDate date = startDate.plusDays(day);
+            for (BudgetPeriod period : PERIODS) {
+                periodKeys[period.ordinal()][day] = periodKey(period, date);
+            }
+        }
+        return new SpendingTimeline(days, dailyCents, periodKeys);
+    }
+
+    private BudgetScenarioResult replay(String name, BudgetRules rules, SpendingTimeline timeline, int months) {
+        long[] spent = new long[CATEGORIES];
+        int[] currentPeriod = new int[CATEGORIES];
+        boolean[] thresholdAlerted = new boolean[CATEGORIES];
+        boolean[] overAlerted = new boolean[CATEGORIES];
+        Arrays.fill(currentPeriod, Integer.MIN_VALUE);
+
+        int overBudgetDays = 0;
+        int alertCount = 0;
+        long overspendCents = 0;
+
+        for (int day = 0; day < timeline.days; day++) {
+            boolean overToday = false;
+            int offset = day * CATEGORIES;
+            for (int category = 0; category < CATEGORIES; category++) {
+                long limit = rules.limitCents[category];
+                if (limit <= 0) {
+                    continue;
+                }
+
+                int period = timeline.periodKeys[rules.period[category]][day];
+                if (period != currentPeriod[category]) {
+                    overspendCents += Math.max(0, spent[category] - limit);
+                    spent[category] = 0;
+                    thresholdAlerted[category] = false;
+                    overAlerted[category] = false;
+                    currentPeriod[category] = period;
+                }
+
+                spent[category] += timeline.dailyCents[offset + category];
+                if (!thresholdAlerted[category] && spent[category] * 100 >= limit * rules.threshold[category]) {
+                    thresholdAlerted[category] = true;
+                    alertCount++;
+                }
+                if (spent[category] > limit) {
+                    overToday = true;
+                    if (!overAlerted[category]) {
+                        overAlerted[category] = true;
+                        alertCount++;
+                    }
+                }
+            }
+            if (overToday) {
+                overBudgetDays++;
+            }
+        }
+
+        for (int category = 0; category < CATEGORIES; category++) {
+            if (rules.limitCents[category] > 0) {
+                overspendCents += Math.max(0, spent[category] - rules.limitCents[category]);
+            }
+        }
+
+        BigDecimal savings = BigDecimal.valueOf(overspendCents, 2);
+        return new BudgetScenarioResult(name, overBudgetDays, alertCount, savings,
+                savings.divide(BigDecimal.valueOf(months), 2, RoundingMode.HALF_UP));
+    }
+
+    private static int periodKey(BudgetPeriod period, LocalDate date) {
+        switch (period) {
+            case WEEKLY:
+                // Epoch day 0 is a Thursday; shift so weeks start on Monday
+                return (int) Math.floorDiv(date.toEpochDay() + 3, 7);
+            case QUARTERLY:
+                return date.getYear() * 4 + (date.getMonthValue() - 1) / 3;
+            case YEARLY:
+                return date.getYear();
+            default:
+                return date.getYear() * 12 + date.getMonthValue() - 1;
+        }
+    }
+
+    private static long toCents(BigDecimal amount) {
+        return amount == null ? 0 : amount.movePointRight(2).setScale(0, RoundingMode.HALF_UP).longValue();
+    }
+
+    private static final class SpendingTimeline {
+        private final int days;
+        private final long[] dailyCents;
+        private final int[][] periodKeys;
+
+        private SpendingTimeline(int days, long[] dailyCents, int[][] periodKeys) {
+            this.days = days;
+            this.dailyCents = dailyCents;
+            this.periodKeys = periodKeys;
+        }
+    }
+
+    private static final class BudgetRules {
+        private final long[] limitCents = new long[CATEGORIES];
+        private final int[] threshold = new int[CATEGORIES];
+        private final int[] period = new int[CATEGORIES];
+
+        private BudgetRules() {
+            Arrays.fill(threshold, 80);
+            Arrays.fill(period, BudgetPeriod.MONTHLY.ordinal());
+        }
+
+        static BudgetRules fromBudgets(List<BudgetResponse> budgets) {
+            BudgetRules rules = new BudgetRules();
+            for (BudgetResponse budget : budgets) {
+                int category = budget.getCategory().ordinal();
+                rules.limitCents[category] = toCents(budget.getBudgetAmount());
+                if (budget.getAlertThreshold() != null) {
+                    rules.threshold[category] = budget.getAlertThreshold();
+                }
+                if (budget.getPeriod() != null) {
+                    rules.period[category] = budget.getPeriod().ordinal();
+                }
+            }
+            return rules;
+        }
+
+        BudgetRules apply(BudgetScenario scenario) {
+            BudgetRules rules = new BudgetRules();
+            System.arraycopy(limitCents, 0, rules.limitCents, 0, CATEGORIES);
+            System.arraycopy(threshold, 0, rules.threshold, 0, CATEGORIES);
+            System.arraycopy(period, 0, rules.period, 0, CATEGORIES);
+
+            for (BudgetScenarioChange change : scenario.getChanges()) {
+                int category = change.getCategory().ordinal();
+                if (change.getBudgetAmount() != null) {
+                    rules.limitCents[category] = toCents(change.getBudgetAmount());
+                }
+                if (change.getAlertThreshold() != null) {
+                    rules.threshold[category] = change.getAlertThreshold();
+                }
+                if (change.getPeriod() != null) {
+                    rules.period[category] = change.getPeriod().ordinal();
+                }
+            }
+            return rules;
+        }
+    }
+}
@@ -2,10 +2,8 @@ package com.finflare.service;
 
 import com.finflare.dto.BudgetResponse;
 import com.finflare.dto.DashboardResponse;
-import com.finflare.model.Budget;
 import com.finflare.model.Expense;
 import com.finflare.model.ExpenseCategory;
-import com.finflare.repository.BudgetRepository;
 import com.finflare.repository.ExpenseRepository;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
@@ -24,9 +22,6 @@ public class DashboardService {
     @Autowired
     private ExpenseRepository expenseRepository;
 
-    @Autowired
-    private BudgetRepository budgetRepository;
-
     @Autowired
     private BudgetService budgetService;
 
@@ -36,7 +31,7 @@ public class DashboardService {
         // Calculate key metrics
         dashboard.setMonthlyExpenses(getMonthlyExpenses(userId));
         dashboard.setCategorySpending(getCategorySpendingForCurrentMonth(userId));
-        dashboard.setRecentTransactions(getRecentActivity(userId, 10));
+        dashboard.setRecentTransactions(getRecentTransactions(userId, 10));
         dashboard.setBudgetProgress(getBudgetProgress(userId));
         dashboard.setSpendingTrends(getSpendingTrends(userId, 12));
         dashboard.setFinancialHealthScore(calculateFinancialHealthScore(userId));
@@ -124,7 +119,7 @@ public class DashboardService {
 
         List<Map<String, Object>> trendData = monthlyTrends.entrySet().stream()
                 .sorted(Map.Entry.comparingByKey())
-                .map(entry -> Map.of("month", entry.getKey(), "amount", entry.getValue()))
+                .map(entry -> Map.<String, Object>of("month", entry.getKey(), "amount", entry.getValue()))
                 .collect(Collectors.toList());
 
         Map<String, Object> trends = new HashMap<>();
@@ -138,7 +133,7 @@ public class DashboardService {
     }
 
     public Map<String, Object> getBudgetProgress(Long userId) {
-        List<Budget> activeBudgets = budgetRepository.findByUserIdAndIsActiveTrue(userId);
+        List<BudgetResponse> activeBudgets = budgetService.getActiveBudgetsByUserId(userId);
 
         List<Map<String, Object>> budgetProgress = activeBudgets.stream()
                 .map(budget -> {
@@ -149,17 +144,17 @@ public class DashboardService {
                     progress.put("spentPercentage", budget.getSpentPercentage());
                     progress.put("remainingAmount", budget.getRemainingAmount());
                     progress.put("isOverBudget", budget.isOverBudget());
-                    progress.put("shouldAlert", budget.shouldAlert());
+                    progress.put("shouldAlert", budget.isShouldAlert());
                     return progress;
                 })
                 .collect(Collectors.toList());
 
         BigDecimal totalBudget = activeBudgets.stream()
-                .map(Budget::getBudgetAmount)
+                .map(BudgetResponse::getBudgetAmount)
                 .reduce(BigDecimal.ZERO, BigDecimal::add);
 
         BigDecimal totalSpent = activeBudgets.stream()
-                .map(Budget::getSpentAmount)
+                .map(BudgetResponse::getSpentAmount)
                 .reduce(BigDecimal.ZERO, BigDecimal::add);
 
         Map<String, Object> summary = new HashMap<>();
@@ -186,9 +181,19 @@ public class DashboardService {
     }
 
     public Map<String, Object> getRecentActivity(Long userId, int limit) {
+        List<Map<String, Object>> activities = getRecentTransactions(userId, limit);
+
+        Map<String, Object> activity = new HashMap<>();
+        activity.put("activities", activities);
+        activity.put("totalActivities", activities.size());
+
+        return activity;
+    }
+
+    private List<Map<String, Object>> getRecentTransactions(Long userId, int limit) {
         List<Expense> recentExpenses = expenseRepository.findTop10ByUserIdOrderByCreatedAtDesc(userId);
         
-        List<Map<String, Object>> activities = recentExpenses.stream()
+        return recentExpenses.stream()
                 .limit(limit)
                 .map(expense -> {
                     Map<String, Object> activity = new HashMap<>();
@@ -201,12 +206,6 @@ public class DashboardService {
                     return activity;
                 })
                 .collect(Collectors.toList());
-
-        Map<String, Object> activity = new HashMap<>();
-        activity.put("activities", activities);
-        activity.put("totalActivities", activities.size());
-
-        return activity;
     }
 
     public Map<String, Object> getSavingsInsights(Long userId) {
@@ -263,8 +262,8 @@ public class DashboardService {
         int score = 100;
 
         // Check budget adherence
-        List<Budget> activeBudgets = budgetRepository.findByUserIdAndIsActiveTrue(userId);
-        long overBudgetCount = activeBudgets.stream().filter(Budget::isOverBudget).count();
+        List<BudgetResponse> activeBudgets = budgetService.getActiveBudgetsByUserId(userId);
+        long overBudgetCount = activeBudgets.stream().filter(BudgetResponse::isOverBudget).count();
         score -= (int) (overBudgetCount * 15);
 
         // Check spending consistency
@@ -313,7 +312,7 @@ public class DashboardService {
             insights.add("Your highest spending category this month is " + topCategory);
         }
 
-        List<Budget> alerts = budgetService.getBudgetAlerts(userId);
+        List<BudgetResponse> alerts = budgetService.getBudgetAlerts(userId);
         if (!alerts.isEmpty()) {
             insights.add("You have " + alerts.size() + " budget alerts that need attention");
         }
@@ -322,9 +321,7 @@ public class DashboardService {
     }
 
     private List<BudgetResponse> getBudgetAlerts(Long userId) {
-        return budgetService.getBudgetAlerts(userId).stream()
-                .map(BudgetResponse::fromBudget)
-                .collect(Collectors.toList());
+        return budgetService.getBudgetAlerts(userId);
     }
 
     private List<String> generateSavingsRecommendations(Long userId) {
@@ -1,17 +1,20 @@
 package com.finflare.service;
 
+import com.finflare.event.ExpenseAddedEvent;
 import com.finflare.model.Expense;
 import com.finflare.model.ExpenseCategory;
-import com.finflare.model.User;
 import com.finflare.repository.ExpenseRepository;
+import com.finflare.repository.UserRepository;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.web.reactive.function.client.WebClient;
 import reactor.core.publisher.Mono;
 
 import java.math.BigDecimal;
 import java.time.LocalDate;
+import java.time.LocalDateTime;
 import java.time.YearMonth;
 import java.util.*;
 
@@ -21,18 +24,27 @@ public class ExpenseService {
     @Autowired
     private ExpenseRepository expenseRepository;
 
+    @Autowired
+    private UserRepository userRepository;
+
     @Autowired
     private BudgetService budgetService;
 
     @Autowired
-    private GamificationService gamificationService;
+    private ApplicationEventPublisher eventPublisher;
+
+    @Autowired
+    private SpendingPromptCompactor spendingPromptCompactor;
 
     @Value("${app.ml.service.url}")
     private String mlServiceUrl;
 
     private final WebClient webClient = WebClient.builder().build();
 
-    public Expense createExpense(Expense expense) {
+    public Expense createExpense(Expense expense, Long userId) {
+        // Only the foreign key is needed, so don't load the user row
+        expense.setUser(userRepository.getReferenceById(userId));
+
         // Auto-categorize using AI if description is provided
         if (expense.getDescription() != null && !expense.getDescription().trim().isEmpty()) {
             categorizeExpenseWithAI(expense);
@@ -41,33 +53,34 @@ public class ExpenseService {
         Expense savedExpense = expenseRepository.save(expense);
 
         // Update budget if applicable
-        budgetService.updateBudgetSpending(expense.getUser(), expense.getCategory(), expense.getAmount(), expense.getExpenseDate());
+        budgetService.updateBudgetSpending(userId, expense.getCategory(), expense.getAmount(), expense.getExpenseDate());
 
-        // Update gamification
-        gamificationService.handleExpenseAdded(expense.getUser(), expense.getExpenseDate());
+        // Gamification is applied asynchronously by GamificationEventListener
+        eventPublisher.publishEvent(new ExpenseAddedEvent(userId, savedExpense.getId(),
+                savedExpense.getCategory(), savedExpense.getExpenseDate(), LocalDateTime.now()));
 
         return savedExpense;
     }
 
-    public List<Expense> getUserExpenses(User user) {
-        return expenseRepository.findByUserOrderByExpenseDateDesc(user);
+    public List<Expense> getUserExpenses(Long userId) {
+        return expenseRepository.findByUserIdOrderByExpenseDateDesc(userId);
     }
 
-    public List<Expense> getUserExpensesByDateRange(User user, LocalDate startDate, LocalDate endDate) {
-        return expenseRepository.findByUserAndExpenseDateBetweenOrderByExpenseDateDesc(user, startDate, endDate);
+    public List<Expense> getUserExpensesByDateRange(Long userId, LocalDate startDate, LocalDate endDate) {
+        return expenseRepository.findByUserIdAndExpenseDateBetweenOrderByExpenseDateDesc(userId, startDate, endDate);
     }
 
-    public List<Expense> getUserExpensesByCategory(User user, ExpenseCategory category) {
-        return expenseRepository.findByUserAndCategoryOrderByExpenseDateDesc(user, category);
+    public List<Expense> getUserExpensesByCategory(Long userId, ExpenseCategory category) {
+        return expenseRepository.findByUserIdAndCategoryOrderByExpenseDateDesc(userId, category);
     }
 
-    public BigDecimal getTotalExpensesByDateRange(User user, LocalDate startDate, LocalDate endDate) {
-        BigDecimal total = expenseRepository.getTotalExpensesByUserAndDateRange(user, startDate, endDate);
+    public BigDecimal getTotalExpensesByDateRange(Long userId, LocalDate startDate, LocalDate endDate) {
+        BigDecimal total = expenseRepository.getTotalExpensesByUserIdAndDateRange(userId, startDate, endDate);
         return total != null ? total : BigDecimal.ZERO;
     }
 
-    public Map<ExpenseCategory, BigDecimal> getCategoryWiseExpenses(User user, LocalDate startDate, LocalDate endDate) {
-        List<Object[]> results = expenseRepository.getCategoryWiseExpensesByUserAndDateRange(user, startDate, endDate);
+    public Map<ExpenseCategory, BigDecimal> getCategoryWiseExpenses(Long userId, LocalDate startDate, LocalDate endDate) {
+        List<Object[]> results = expenseRepository.getCategoryWiseExpensesByUserIdAndDateRange(userId, startDate, endDate);
         Map<ExpenseCategory, BigDecimal> categoryExpenses = new HashMap<>();
 
         for (Object[] result : results) {
@@ -79,21 +92,21 @@ public class ExpenseService {
         return categoryExpenses;
     }
 
-    public Map<String, Object> getMonthlyReport(User user, YearMonth month) {
+    public Map<String, Object> getMonthlyReport(Long userId, YearMonth month) {
         LocalDate startDate = month.atDay(1);
         LocalDate endDate = month.atEndOfMonth();
 
         Map<String, Object> report = new HashMap<>();
         report.put("month", month.toString());
-        report.put("totalExpenses", getTotalExpensesByDateRange(user, startDate, endDate));
-        report.put("categoryWiseExpenses", getCategoryWiseExpenses(user, startDate, endDate));
-        report.put("expensesList", getUserExpensesByDateRange(user, startDate, endDate));
+        report.put("totalExpenses", getTotalExpensesByDateRange(userId, startDate, endDate));
+        report.put("categoryWiseExpenses", getCategoryWiseExpenses(userId, startDate, endDate));
+        report.put("expensesList", getUserExpensesByDateRange(userId, startDate, endDate));
 
         // Get previous month for comparison
         YearMonth previousMonth = month.minusMonths(1);
         LocalDate prevStartDate = previousMonth.atDay(1);
         LocalDate prevEndDate = previousMonth.atEndOfMonth();
-        BigDecimal previousMonthTotal = getTotalExpensesByDateRange(user, prevStartDate, prevEndDate);
+        BigDecimal previousMonthTotal = getTotalExpensesByDateRange(userId, prevStartDate, prevEndDate);
 
         report.put("previousMonthTotal", previousMonthTotal);
         report.put("monthlyChange", calculatePercentageChange(previousMonthTotal, (BigDecimal) report.get("totalExpenses")));
@@ -101,13 +114,13 @@ public class ExpenseService {
         return report;
     }
 
-    public Expense updateExpense(Long expenseId, Expense updatedExpense, User user) {
+    public Expense updateExpense(Long expenseId, Expense updatedExpense, Long userId) {
         Optional<Expense> existingExpenseOpt = expenseRepository.findById(expenseId);
         if (existingExpenseOpt.isPresent()) {
             Expense existingExpense = existingExpenseOpt.get();
-            if (existingExpense.getUser().getId().equals(user.getId())) {
+            if (existingExpense.getUser().getId().equals(userId)) {
                 // Update the budget (subtract old amount, add new amount)
-                budgetService.updateBudgetSpending(user, existingExpense.getCategory(), 
+                budgetService.updateBudgetSpending(userId, existingExpense.getCategory(), 
                     existingExpense.getAmount().negate(), existingExpense.getExpenseDate());
                 
                 existingExpense.setAmount(updatedExpense.getAmount());
@@ -119,7 +132,7 @@ public class ExpenseService {
                 Expense savedExpense = expenseRepository.save(existingExpense);
 
                 // Update budget with new amount
-                budgetService.updateBudgetSpending(user, savedExpense.getCategory(), 
+                budgetService.updateBudgetSpending(userId, savedExpense.getCategory(), 
                     savedExpense.getAmount(), savedExpense.getExpenseDate());
 
                 return savedExpense;
@@ -128,13 +141,13 @@ public class ExpenseService {
         return null;
     }
 
-    public boolean deleteExpense(Long expenseId, User user) {
+    public boolean deleteExpense(Long expenseId, Long userId) {
         Optional<Expense> expenseOpt = expenseRepository.findById(expenseId);
         if (expenseOpt.isPresent()) {
             Expense expense = expenseOpt.get();
-            if (expense.getUser().getId().equals(user.getId())) {
+            if (expense.getUser().getId().equals(userId)) {
                 // Update budget (subtract the deleted expense amount)
-                budgetService.updateBudgetSpending(user, expense.getCategory(), 
+                budgetService.updateBudgetSpending(userId, expense.getCategory(), 
                     expense.getAmount().negate(), expense.getExpenseDate());
                 
                 expenseRepository.delete(expense);
@@ -194,39 +207,22 @@ public class ExpenseService {
                 .doubleValue();
     }
 
-    public List<Map<String, Object>> getRecentExpensesForAnalysis(Long userId, int days) {
+    public String getSpendingSummaryForAnalysis(Long userId, int days) {
         LocalDate endDate = LocalDate.now();
         LocalDate startDate = endDate.minusDays(days);
-        
-        List<Expense> expenses = expenseRepository.findByUserIdAndExpenseDateBetween(userId, startDate, endDate);
-        
-        return expenses.stream()
-                .map(expense -> {
-                    Map<String, Object> expenseData = new HashMap<>();
-                    expenseData.put("description", expense.getDescription());
-                    expenseData.put("amount", expense.getAmount());
-                    expenseData.put("category", expense.getCategory().getDisplayName());
-                    expenseData.put("date", expense.getExpenseDate());
-                    return expenseData;
-                })
-                .collect(ArrayList::new, (list, item) -> list.add(item), ArrayList::addAll);
+
+        List<Object[]> rows = expenseRepository.getAnalysisRowsByUserIdAndDateRange(userId, startDate, endDate);
+        return spendingPromptCompactor.compact(rows, startDate, endDate);
     }
 
     public Map<String, Double> getCategorySpendingForCurrentMonth(Long userId) {
         LocalDate startOfMonth = LocalDate.now().withDayOfMonth(1);
         LocalDate endOfMonth = LocalDate.now();
 
-        List<Expense> expenses = expenseRepository.findByUserIdAndExpenseDateBetween(userId, startOfMonth, endOfMonth);
-        
-        return expenses.stream()
-                .collect(HashMap::new,
-                    (map, expense) -> map.merge(
-                        expense.getCategory().getDisplayName(), 
-                        expense.getAmount().doubleValue(), 
-                        Double::sum),
-                    (map1, map2) -> {
-                        map2.forEach((key, value) -> map1.merge(key, value, Double::sum));
-                        return map1;
-                    });
+        Map<String, Double> categorySpending = new HashMap<>();
+        for (Object[] result : expenseRepository.getCategoryWiseExpensesByUserIdAndDateRange(userId, startOfMonth, endOfMonth)) {
+            categorySpending.put(((ExpenseCategory) result[0]).getDisplayName(), ((BigDecimal) result[1]).doubleValue());
+        }
+        return categorySpending;
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,245 @@
+package com.finflare.service;
+
+import com.finflare.event.BudgetPeriodClosedEvent;
+import com.finflare.event.ExpenseAddedEvent;
+import com.finflare.event.InvestmentAddedEvent;
+import com.finflare.model.GamificationEventType;
+import com.finflare.model.GamificationOutboxEvent;
+import com.finflare.repository.GamificationOutboxRepository;
+import com.finflare.util.KeyedSerialExecutor;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Applies gamification events off the request thread, one lane per user so a user's
+ * events are applied in order. When a lane is full the event is written to the
+ * gamification outbox instead of blocking the caller; that user's later events queue
+ * behind it there until the outbox has been replayed on the user's lane.
+ */
+@Component
+public class GamificationEventListener {
+
+    private static final Logger logger = LoggerFactory.getLogger(GamificationEventListener.class);
+
+    private static final int SPILL_LOCKS = 64;
+
+    @Autowired
+    private GamificationService gamificationService;
+
+    @Autowired
+    @Qualifier("gamificationExecutor")
+    private KeyedSerialExecutor gamificationExecutor;
+
+    @Autowired
+    private GamificationOutboxRepository outboxRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Value("${app.gamification.outbox.drain-batch-size:100}")
+    private int drainBatchSize;
+
+    // Users with events in the outbox, and users whose outbox replay is already on a lane
+    private final Set<Long> spilledUsers = ConcurrentHashMap.newKeySet();
+    private final Set<Long> drainingUsers = ConcurrentHashMap.newKeySet();
+
+    // Spilling an event and clearing a user's spilled flag must not interleave
+    private final Object[] spillLocks = new Object[SPILL_LOCKS];
+
+    // Listeners run after the publisher's commit, so outbox writes need their own transaction
+    private TransactionTemplate outboxTransaction;
+
+    @PostConstruct
+    void init() {
+        for (int i = 0; i < SPILL_LOCKS; i++) {
+            spillLocks[i] = new Object();
+        }
+        outboxTransaction = new TransactionTemplate(transactionManager);
+        outboxTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onExpenseAdded(ExpenseAddedEvent event) {
+        dispatch(event.getUserId(), event);
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onBudgetPeriodClosed(BudgetPeriodClosedEvent event) {
+        dispatch(event.getUserId(), event);
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onInvestmentAdded(InvestmentAddedEvent event) {
+        dispatch(event.getUserId(), event);
+    }
+
+    /** Replays the outbox of every user with spilled events on that user's lane. */
+    @Scheduled(fixedDelayString = "${app.gamification.outbox.drain-ms:5000}")
+    public void drainOutbox() {
+        // Also picks up rows left behind by a previous run of the application
+        spilledUsers.addAll(outboxRepository.findPendingUserIds());
+
+        for (Long userId : new ArrayList<>(spilledUsers)) {
+            if (!drainingUsers.add(userId)) {
+                continue;
+            }
+            if (!gamificationExecutor.tryExecute(userId, () -> drainUser(userId))) {
+                // Lanes are still full; try again on the next pass
+                drainingUsers.remove(userId);
+                return;
+            }
+        }
+    }
+
+    // Queued events have not been applied yet; keep them for the next start
+    @PreDestroy
+    void spillQueued() {
+        int spilled = 0;
+        for (Runnable task : gamificationExecutor.drainQueued()) {
+            if (task instanceof EventTask eventTask) {
+                spill(eventTask.userId, eventTask.event, eventTask.enqueuedAt);
+                spilled++;
+            }
+        }
+        if (spilled > 0) {
+            logger.info("Moved {} queued gamification events to the outbox on shutdown", spilled);
+        }
+    }
+
+    private void dispatch(Long userId, Object event) {
+        LocalDateTime enqueuedAt = LocalDateTime.now();
+        if (!spilledUsers.contains(userId)
+                && gamificationExecutor.tryExecute(userId, new EventTask(userId, event, enqueuedAt))) {
+            return;
+        }
+        spill(userId, event, enqueuedAt);
+    }
+
+    private void spill(Long userId, Object event, LocalDateTime enqueuedAt) {
+        synchronized (spillLockFor(userId)) {
+            spilledUsers.add(userId);
+            try {
+                outboxTransaction.executeWithoutResult(status ->
+                        outboxRepository.save(toOutboxEvent(userId, event, enqueuedAt)));
+            } catch (RuntimeException e) {
+                logger.error("Dropped gamification event for user {}; outbox write failed", userId, e);
+            }
+        }
+    }
+
+    // Runs on the user's lane, so nothing else for this user is applied concurrently
+    private void drainUser(Long userId) {
+        try {
+            while (true) {
+                List<GamificationOutboxEvent> batch = outboxRepository
+                        .findByUserIdOrderByEnqueuedAtAscIdAsc(userId, PageRequest.of(0, drainBatchSize));
+                if (batch.isEmpty()) {
+                    synchronized (spillLockFor(userId)) {
+                        if (!outboxRepository.existsByUserId(userId)) {
+                            spilledUsers.remove(userId);
+                            return;
+                        }
+                    }
+                    continue;
+                }
+                for (GamificationOutboxEvent row : batch) {
+                    apply(fromOutboxEvent(row));
+                    outboxRepository.deleteById(row.getId());
+                }
+            }
+        } catch (RuntimeException e) {
+            // Rows stay in the outbox and are retried on the next pass
+            logger.error("Failed to replay gamification outbox for user {}", userId, e);
+        } finally {
+            drainingUsers.remove(userId);
+        }
+    }
+
+    private void apply(Object event) {
+        try {
+            if (event instanceof ExpenseAddedEvent expense) {
+                gamificationService.handleExpenseAdded(expense);
+            } else if (event instanceof BudgetPeriodClosedEvent closed) {
+                gamificationService.handleBudgetPeriodClosed(closed);
+            } else if (event instanceof InvestmentAddedEvent investment) {
+                gamificationService.handleInvestmentAdded(investment);
+            }
+        } catch (Exception e) {
+            logger.error("Failed to apply gamification event {}", event.getClass().getSimpleName(), e);
+        }
+    }
+
+    private Object spillLockFor(Long userId) {
+        return spillLocks[Math.floorMod(userId.hashCode(), SPILL_LOCKS)];
+    }
+
+    private GamificationOutboxEvent toOutboxEvent(Long userId, Object event, LocalDateTime enqueuedAt) {
+        GamificationOutboxEvent row;
+        if (event instanceof ExpenseAddedEvent expense) {
+            row = new GamificationOutboxEvent(userId, GamificationEventType.EXPENSE_ADDED, enqueuedAt);
+            row.setReferenceId(expense.getExpenseId());
+            row.setCategory(expense.getCategory());
+            row.setEventDate(expense.getExpenseDate());
+            row.setOccurredAt(expense.getOccurredAt());
+        } else if (event instanceof BudgetPeriodClosedEvent closed) {
+            row = new GamificationOutboxEvent(userId, GamificationEventType.BUDGET_PERIOD_CLOSED, enqueuedAt);
+            row.setStartDate(closed.getPeriodStart());
+            row.setEventDate(closed.getPeriodEnd());
+            row.setWithinBudget(closed.isWithinBudget());
+        } else if (event instanceof InvestmentAddedEvent investment) {
+            row = new GamificationOutboxEvent(userId, GamificationEventType.INVESTMENT_ADDED, enqueuedAt);
+            row.setReferenceId(investment.getInvestmentId());
+            row.setOccurredAt(investment.getOccurredAt());
+        } else {
+            throw new IllegalArgumentException("Unsupported gamification event " + event.getClass().getName());
+        }
+        return row;
+    }
+
+    private Object fromOutboxEvent(GamificationOutboxEvent row) {
+        return switch (row.getType()) {
+            case EXPENSE_ADDED -> new ExpenseAddedEvent(row.getUserId(), row.getReferenceId(),
+                    row.getCategory(), row.getEventDate(), row.getOccurredAt());
+            case BUDGET_PERIOD_CLOSED -> new BudgetPeriodClosedEvent(row.getUserId(),
+                    row.getStartDate(), row.getEventDate(), row.isWithinBudget());
+            case INVESTMENT_ADDED -> new InvestmentAddedEvent(row.getUserId(), row.getReferenceId(),
+                    row.getOccurredAt());
+        };
+    }
+
+    private final class EventTask implements Runnable {
+        private final Long userId;
+        private final Object event;
+        private final LocalDateTime enqueuedAt;
+
+        EventTask(Long userId, Object event, LocalDateTime enqueuedAt) {
+            this.userId = userId;
+            this.event = event;
+            this.enqueuedAt = enqueuedAt;
+        }
+
+        @Override
+        public void run() {
+            apply(event);
+        }
+    }
+}
@@ -1,23 +1,65 @@
 package com.finflare.service;
 
+import com.finflare.event.BudgetPeriodClosedEvent;
+import com.finflare.event.ExpenseAddedEvent;
+import com.finflare.event.InvestmentAddedEvent;
 import com.finflare.model.Achievement;
 import com.finflare.model.AchievementType;
+import com.finflare.model.ExpenseCategory;
+import com.finflare.model.GamificationStats;
 import com.finflare.model.User;
 import com.finflare.repository.AchievementRepository;
 import com.finflare.repository.ExpenseRepository;
+import com.finflare.repository.GamificationStatsRepository;
+import com.finflare.repository.InvestmentRepository;
 import com.finflare.repository.UserRepository;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.time.temporal.ChronoUnit;
 import java.util.List;
-import java.util.Optional;
+import java.util.function.BiPredicate;
 
 @Service
 public class GamificationService {
 
+    private static final int EARLY_BIRD_BEFORE_HOUR = 7;
+    private static final int NIGHT_OWL_FROM_HOUR = 22;
+
+    // Evaluated in order after every counter change; unlocked types are skipped without queries
+    private static final List<AchievementRule> RULES = List.of(
+        new AchievementRule(AchievementType.FIRST_EXPENSE, "First Expense",
+            "Logged your first expense!", 10,
+            (user, stats) -> stats.getActiveDayCount() >= 1),
+        new AchievementRule(AchievementType.WEEKLY_STREAK, "Week Warrior",
+            "Logged expenses for 7 consecutive days!", 50,
+            (user, stats) -> user.getCurrentStreak() >= 7),
+        new AchievementRule(AchievementType.MONTHLY_STREAK, "Monthly Master",
+            "Logged expenses for 30 consecutive days!", 200,
+            (user, stats) -> user.getCurrentStreak() >= 30),
+        new AchievementRule(AchievementType.EXPENSE_TRACKER, "Expense Tracker",
+            "Logged 10 expenses in a single day!", 25,
+            (user, stats) -> stats.getCountDayExpenses() >= 10),
+        new AchievementRule(AchievementType.CATEGORY_MASTER, "Category Master",
+            "Tracked expenses across multiple categories!", 75,
+            (user, stats) -> stats.getActiveDayCount() >= 30 && stats.getDistinctCategoryCount() >= 5),
+        new AchievementRule(AchievementType.BUDGET_KEEPER, "Budget Keeper",
+            "Stayed within your budgets for 3 months!", 100,
+            (user, stats) -> stats.getBudgetKeptMonths() >= 3),
+        new AchievementRule(AchievementType.EARLY_BIRD, "Early Bird",
+            "Logged 10 expenses before 7 AM!", 25,
+            (user, stats) -> stats.getEarlyBirdCount() >= 10),
+        new AchievementRule(AchievementType.NIGHT_OWL, "Night Owl",
+            "Logged 10 expenses after 10 PM!", 25,
+            (user, stats) -> stats.getNightOwlCount() >= 10),
+        new AchievementRule(AchievementType.INVESTMENT_STARTER, "Investment Starter",
+            "Added your first investment!", 50,
+            (user, stats) -> stats.getInvestmentCount() >= 1)
+    );
+
     @Autowired
     private AchievementRepository achievementRepository;
 
@@ -27,14 +69,84 @@ public class GamificationService {
     @Autowired
     private ExpenseRepository expenseRepository;
 
-    public void handleExpenseAdded(User user, LocalDate expenseDate) {
-        updateStreak(user, expenseDate);
-        checkAchievements(user);
-        updateUserPoints(user);
+    @Autowired
+    private GamificationStatsRepository gamificationStatsRepository;
+
+    @Autowired
+    private InvestmentRepository investmentRepository;
+
+    @Autowired
+    private LeaderboardService leaderboardService;
+
+    @Autowired
+    private PointsLedgerService pointsLedgerService;
+
+    // Invoked from GamificationEventListener, one event at a time per user
+    @Transactional
+    public void handleExpenseAdded(ExpenseAddedEvent event) {
+        User user = userRepository.findById(event.getUserId()).orElse(null);
+        if (user == null) {
+            return;
+        }
+        GamificationStats stats = gamificationStatsRepository.findById(user.getId()).orElse(null);
+        if (stats == null) {
+            // Built from committed history, which already includes this expense
+            stats = buildStats(user, event.getOccurredAt().toLocalDate());
+        } else {
+            stats.markActiveDay(event.getExpenseDate().toEpochDay());
+            stats.countExpenseOn(event.getOccurredAt().toLocalDate().toEpochDay());
+            stats.addCategory(event.getCategory());
+        }
+
+        updateStreak(user, event.getExpenseDate(), event.getOccurredAt());
+
+        LocalDateTime occurredAt = event.getOccurredAt();
+        if (occurredAt.getHour() < EARLY_BIRD_BEFORE_HOUR) {
+            stats.setEarlyBirdCount(stats.getEarlyBirdCount() + 1);
+        } else if (occurredAt.getHour() >= NIGHT_OWL_FROM_HOUR) {
+            stats.setNightOwlCount(stats.getNightOwlCount() + 1);
+        }
+
+        evaluateRules(user, stats);
+        leaderboardService.recordScores(user.getId(), user.getTotalPoints(), user.getCurrentStreak());
     }
 
-    private void updateStreak(User user, LocalDate expenseDate) {
-        LocalDate today = LocalDate.now();
+    @Transactional
+    public void handleInvestmentAdded(InvestmentAddedEvent event) {
+        User user = userRepository.findById(event.getUserId()).orElse(null);
+        if (user == null) {
+            return;
+        }
+        GamificationStats stats = gamificationStatsRepository.findById(user.getId())
+                .orElseGet(() -> buildStats(user, LocalDate.now()));
+        // Recounted rather than incremented so deletes and replays can't drift it
+        stats.setInvestmentCount((int) investmentRepository.countByUserId(user.getId()));
+        evaluateRules(user, stats);
+        leaderboardService.recordScores(user.getId(), user.getTotalPoints(), user.getCurrentStreak());
+    }
+
+    @Transactional
+    public void handleBudgetPeriodClosed(BudgetPeriodClosedEvent event) {
+        User user = userRepository.findById(event.getUserId()).orElse(null);
+        if (user == null) {
+            return;
+        }
+        GamificationStats stats = gamificationStatsRepository.findById(user.getId())
+                .orElseGet(() -> buildStats(user, LocalDate.now()));
+        if (event.isWithinBudget()) {
+            stats.recordBudgetKept(monthKey(event.getPeriodStart()), monthKey(event.getPeriodEnd()));
+        } else {
+            stats.recordBudgetMissed(monthKey(event.getPeriodEnd()));
+        }
+        evaluateRules(user, stats);
+        leaderboardService.recordScores(user.getId(), user.getTotalPoints(), user.getCurrentStreak());
+    }
+
+    private int monthKey(LocalDate date) {
+        return date.getYear() * 12 + date.getMonthValue() - 1;
+    }
+
+    private void updateStreak(User user, LocalDate expenseDate, LocalDateTime occurredAt) {
         LocalDate lastActivityDate = user.getLastActivityDate() != null ? 
             user.getLastActivityDate().toLocalDate() : null;
 
@@ -42,8 +154,6 @@ public class GamificationService {
             // First expense ever
             user.setCurrentStreak(1);
             user.setMaxStreak(1);
-            unlockAchievement(user, AchievementType.FIRST_EXPENSE, "First Expense", 
-                "Logged your first expense!", 10);
         } else {
             long daysBetween = ChronoUnit.DAYS.between(lastActivityDate, expenseDate);
             
@@ -60,57 +170,47 @@ public class GamificationService {
             // If daysBetween == 0, it's the same day, don't update streak
         }
 
-        user.setLastActivityDate(LocalDateTime.now());
-        userRepository.save(user);
-
-        // Check streak-based achievements
-        if (user.getCurrentStreak() >= 7) {
-            unlockAchievement(user, AchievementType.WEEKLY_STREAK, "Week Warrior", 
-                "Logged expenses for 7 consecutive days!", 50);
-        }
-        if (user.getCurrentStreak() >= 30) {
-            unlockAchievement(user, AchievementType.MONTHLY_STREAK, "Monthly Master", 
-                "Logged expenses for 30 consecutive days!", 200);
-        }
+        user.setLastActivityDate(occurredAt);
     }
 
-    private void checkAchievements(User user) {
-        // Check expense count achievements
-        Long expenseCount = expenseRepository.countExpensesByUserAndDate(user, LocalDate.now());
-        if (expenseCount >= 10) {
-            unlockAchievement(user, AchievementType.EXPENSE_TRACKER, "Expense Tracker", 
-                "Logged 10 expenses in a single day!", 25);
-        }
-
-        // Check category diversity
-        List<LocalDate> expenseDates = expenseRepository.getDistinctExpenseDatesByUser(user);
-        if (expenseDates.size() >= 30) {
-            unlockAchievement(user, AchievementType.CATEGORY_MASTER, "Category Master", 
-                "Tracked expenses across multiple categories!", 75);
-        }
-    }
-
-    private void unlockAchievement(User user, AchievementType type, String title, String description, Integer points) {
-        Optional<Achievement> existingAchievement = achievementRepository.findByUserAndType(user, type);
-        
-        if (existingAchievement.isEmpty()) {
-            Achievement achievement = new Achievement(type, title, description, points, user);
+    private void evaluateRules(User user, GamificationStats stats) {
+        for (AchievementRule rule : RULES) {
+            if (stats.isUnlocked(rule.type) || !rule.condition.test(user, stats)) {
+                continue;
+            }
+            LocalDateTime unlockedAt = LocalDateTime.now();
+            Achievement achievement = new Achievement(rule.type, rule.title, rule.description, rule.points, user);
             achievement.setUnlocked(true);
-            achievement.setUnlockedAt(LocalDateTime.now());
+            achievement.setUnlockedAt(unlockedAt);
             achievementRepository.save(achievement);
+            stats.markUnlocked(rule.type);
 
-            // Update user points
-            user.setTotalPoints(user.getTotalPoints() + points);
-            userRepository.save(user);
+            // The balance column is not written through the entity; keep the managed copy in step
+            user.setTotalPoints(pointsLedgerService.award(user.getId(), rule.points, rule.type.name(), unlockedAt));
+            leaderboardService.recordPointsEarned(user.getId(), rule.points, unlockedAt);
         }
     }
 
-    private void updateUserPoints(User user) {
-        Integer achievementPoints = achievementRepository.getTotalPointsFromAchievementsByUser(user);
-        if (achievementPoints != null) {
-            user.setTotalPoints(achievementPoints);
-            userRepository.save(user);
+    // Counters are built from history once per user; afterwards they are maintained incrementally
+    private GamificationStats buildStats(User user, LocalDate countDay) {
+        GamificationStats stats = new GamificationStats(user.getId());
+        for (LocalDate date : expenseRepository.getDistinctExpenseDatesByUser(user)) {
+            stats.markActiveDay(date.toEpochDay());
+        }
+        for (ExpenseCategory category : expenseRepository.getDistinctCategoriesByUser(user)) {
+            stats.addCategory(category);
         }
+        // Same field and day as the increment in handleExpenseAdded: the day the expense was logged
+        stats.countExpenseOn(countDay.toEpochDay());
+        stats.setCountDayExpenses((int) expenseRepository.countExpensesLoggedBetween(user,
+                countDay.atStartOfDay(), countDay.plusDays(1).atStartOfDay()));
+        stats.setInvestmentCount((int) investmentRepository.countByUserId(user.getId()));
+        for (Achievement achievement : achievementRepository.findByUserOrderByUnlockedAtDesc(user)) {
+            if (achievement.isUnlocked()) {
+                stats.markUnlocked(achievement.getType());
+            }
+        }
+        return gamificationStatsRepository.save(stats);
     }
 
     public List<Achievement> getUserAchievements(User user) {
@@ -121,11 +221,21 @@ public class GamificationService {
         return achievementRepository.findByUserAndIsUnlockedOrderByUnlockedAtDesc(user, true);
     }
 
-    public List<User> getLeaderboard() {
-        return userRepository.findTopUsersByPoints();
-    }
 
-    public List<User> getStreakLeaderboard() {
-        return userRepository.findTopUsersByStreak();
+    private static final class AchievementRule {
+        private final AchievementType type;
+        private final String title;
+        private final String description;
+        private final int points;
+        private final BiPredicate<User, GamificationStats> condition;
+
+        AchievementRule(AchievementType type, String title, String description, int points,
+                        BiPredicate<User, GamificationStats> condition) {
+            this.type = type;
+            this.title = title;
+            this.description = description;
+            this.points = points;
+            this.condition = condition;
+        }
     }
-}
\ No newline at end of file
+}
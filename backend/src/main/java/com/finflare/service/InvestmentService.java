@@ -0,0 +1,212 @@
+package com.finflare.service;
+
+import com.finflare.dto.InvestmentCreateRequest;
+import com.finflare.dto.InvestmentUpdateRequest;
+import com.finflare.dto.PortfolioPosition;
+import com.finflare.dto.PortfolioSummary;
+import com.finflare.event.InvestmentAddedEvent;
+import com.finflare.model.Investment;
+import com.finflare.model.InvestmentType;
+import com.finflare.pricing.PriceTable;
+import com.finflare.repository.InvestmentRepository;
+import com.finflare.repository.UserRepository;
+import com.finflare.util.LruCache;
+import jakarta.annotation.PostConstruct;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Service;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+@Service
+public class InvestmentService {
+
+    private static final int VERSION_STRIPES = 1024;
+
+    @Autowired
+    private InvestmentRepository investmentRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    @Value("${app.investments.summary-cache-size:10000}")
+    private int summaryCacheSize;
+
+    @Autowired
+    private PriceTable priceTable;
+
+    // Per-user position rows, dropped on trades; prices are applied on read so ticks invalidate nothing
+    private LruCache<Long, List<Object[]>> positions;
+
+    // Bumped whenever a user in the stripe is invalidated, so positions read across that are not kept
+    private final AtomicLongArray versions = new AtomicLongArray(VERSION_STRIPES);
+
+    @PostConstruct
+    void init() {
+        positions = new LruCache<>(summaryCacheSize);
+    }
+
+    public List<Investment> getUserInvestments(Long userId) {
+        return investmentRepository.findByUserIdOrderByPurchaseDateDesc(userId);
+    }
+
+    // Only client-owned fields are copied; id, current price and timestamps are never taken from the request
+    public Investment createInvestment(InvestmentCreateRequest request, Long userId) {
+        // Prices are marked by exact symbol, so store the canonical form
+        Investment investment = new Investment(PriceTable.normalize(request.getSymbol()), request.getName(),
+                request.getType(), request.getQuantity(), request.getPurchasePrice(),
+                userRepository.getReferenceById(userId));
+        if (request.getPurchaseDate() != null) {
+            investment.setPurchaseDate(request.getPurchaseDate());
+        }
+        investment.setRiskLevel(request.getRiskLevel());
+        investment.setSector(request.getSector());
+        investment.setDescription(request.getDescription());
+        Investment savedInvestment = investmentRepository.save(investment);
+        invalidate(userId);
+
+        eventPublisher.publishEvent(new InvestmentAddedEvent(userId, savedInvestment.getId(), LocalDateTime.now()));
+        return savedInvestment;
+    }
+
+    public Investment updateInvestment(Long investmentId, InvestmentUpdateRequest update, Long userId) {
+        Investment investment = investmentRepository.findById(investmentId).orElse(null);
+        if (investment == null || !investment.getUser().getId().equals(userId)) {
+            return null;
+        }
+
+        if (update.getSymbol() != null) {
+            investment.setSymbol(PriceTable.normalize(update.getSymbol()));
+        }
+        if (update.getName() != null) {
+            investment.setName(update.getName());
+        }
+        if (update.getType() != null) {
+            investment.setType(update.getType());
+        }
+        if (update.getQuantity() != null) {
+            investment.setQuantity(update.getQuantity());
+        }
+        if (update.getPurchasePrice() != null) {
+            investment.setPurchasePrice(update.getPurchasePrice());
+        }
+        if (update.getPurchaseDate() != null) {
+            investment.setPurchaseDate(update.getPurchaseDate());
+        }
+        if (update.getRiskLevel() != null) {
+            investment.setRiskLevel(update.getRiskLevel());
+        }
+        if (update.getSector() != null) {
+            investment.setSector(update.getSector());
+        }
+        if (update.getDescription() != null) {
+            investment.setDescription(update.getDescription());
+        }
+
+        Investment savedInvestment = investmentRepository.save(investment);
+        invalidate(userId);
+        return savedInvestment;
+    }
+
+    public boolean deleteInvestment(Long investmentId, Long userId) {
+        Investment investment = investmentRepository.findById(investmentId).orElse(null);
+        if (investment == null || !investment.getUser().getId().equals(userId)) {
+            return false;
+        }
+        investmentRepository.delete(investment);
+        invalidate(userId);
+        return true;
+    }
+
+    public PortfolioSummary getPortfolioSummary(Long userId) {
+        List<Object[]> rows = positions.get(userId);
+        if (rows == null) {
+            int stripe = stripeFor(userId);
+            long version = versions.get(stripe);
+            rows = investmentRepository.getPositionsByUserId(userId);
+            if (versions.get(stripe) == version) {
+                positions.put(userId, rows);
+                // An invalidation between the check and the put may already have removed its entry
+                if (versions.get(stripe) != version) {
+                    positions.remove(userId);
+                }
+            }
+        }
+        return buildSummary(rows);
+    }
+
+    private void invalidate(Long userId) {
+        versions.incrementAndGet(stripeFor(userId));
+        positions.remove(userId);
+    }
+
+    private static int stripeFor(Long userId) {
+        return Math.floorMod(userId.hashCode(), VERSION_STRIPES);
+    }
+
+    private PortfolioSummary buildSummary(List<Object[]> rows) {
+        BigDecimal totalInvestment = BigDecimal.ZERO;
+        BigDecimal totalValue = BigDecimal.ZERO;
+        Map<String, BigDecimal> valueByType = new LinkedHashMap<>();
+        Map<String, BigDecimal> valueBySymbol = new LinkedHashMap<>();
+        List<PortfolioPosition> positions = new ArrayList<>(rows.size());
+
+        for (Object[] row : rows) {
+            String type = ((InvestmentType) row[0]).name();
+            String symbol = (String) row[1];
+            long quantity = ((Number) row[2]).longValue();
+            BigDecimal invested = (BigDecimal) row[3];
+            // The live price when the feed has one, otherwise the last price written to the holdings
+            long cents = priceTable.priceOf(symbol);
+            BigDecimal value = cents > 0
+                    ? BigDecimal.valueOf(cents, 2).multiply(BigDecimal.valueOf(quantity))
+                    : (BigDecimal) row[4];
+
+            totalInvestment = totalInvestment.add(invested);
+            totalValue = totalValue.add(value);
+            valueByType.merge(type, value, BigDecimal::add);
+            valueBySymbol.merge(symbol, value, BigDecimal::add);
+            positions.add(new PortfolioPosition(symbol, type, quantity, invested, value));
+        }
+
+        PortfolioSummary summary = new PortfolioSummary();
+        summary.setTotalInvestment(totalInvestment);
+        summary.setTotalValue(totalValue);
+        summary.setTotalProfitLoss(totalValue.subtract(totalInvestment));
+        summary.setTotalProfitLossPercentage(totalInvestment.signum() == 0 ? 0.0 :
+                totalValue.subtract(totalInvestment)
+                        .divide(totalInvestment, 4, RoundingMode.HALF_UP)
+                        .multiply(BigDecimal.valueOf(100))
+                        .doubleValue());
+        summary.setDiversificationScore(diversificationScore(valueBySymbol, totalValue));
+        summary.setSymbolCount(valueBySymbol.size());
+        summary.setValueByType(valueByType);
+        summary.setPositions(positions);
+        return summary;
+    }
+
+    // 100 * (1 - Herfindahl index) over each symbol's share of the portfolio value
+    private static double diversificationScore(Map<String, BigDecimal> valueBySymbol, BigDecimal totalValue) {
+        if (totalValue.signum() <= 0) {
+            return 0.0;
+        }
+        double total = totalValue.doubleValue();
+        double concentration = 0.0;
+        for (BigDecimal value : valueBySymbol.values()) {
+            double share = value.doubleValue() / total;
+            concentration += share * share;
+        }
+        return Math.round((1.0 - concentration) * 10000.0) / 100.0;
+    }
+}
@@ -0,0 +1,397 @@
+package com.finflare.service;
+
+import com.finflare.dto.LeaderboardEntry;
+import com.finflare.dto.LeaderboardResponse;
+import com.finflare.model.LeaderboardType;
+import com.finflare.repository.PointsLedgerRepository;
+import com.finflare.repository.UserRepository;
+import com.finflare.util.FrozenRanking;
+import com.finflare.util.RankedScores;
+import com.finflare.util.WindowedScores;
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.EnumSet;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+@Service
+public class LeaderboardService {
+
+    private static final Logger logger = LoggerFactory.getLogger(LeaderboardService.class);
+
+    private static final int SNAPSHOT_MAGIC = 0x46464C42; // "FFLB"
+    private static final int SNAPSHOT_VERSION = 1;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private PointsLedgerRepository pointsLedgerRepository;
+
+    @Value("${app.leaderboard.snapshot-path:data/leaderboard.snapshot}")
+    private String snapshotPath;
+
+    @Value("${app.leaderboard.rebuild-page-size:5000}")
+    private int rebuildPageSize;
+
+    @Value("${app.leaderboard.max-page-size:100}")
+    private int maxPageSize;
+
+    @Value("${app.leaderboard.window-slots:4}")
+    private int windowSlots;
+
+    @Value("${app.leaderboard.archive-periods:12}")
+    private int archivePeriods;
+
+    // All-time boards, snapshotted to disk
+    private final Map<LeaderboardType, RankedScores> boards = new EnumMap<>(LeaderboardType.class);
+
+    // Weekly and monthly boards, rebuilt from the points ledger on startup
+    private final Map<LeaderboardType, WindowedScores> windows = new EnumMap<>(LeaderboardType.class);
+
+    @PostConstruct
+    void initBoards() {
+        LocalDate today = LocalDate.now();
+        for (LeaderboardType type : LeaderboardType.values()) {
+            if (type.isWindowed()) {
+                windows.put(type, new WindowedScores(windowSlots, archivePeriods, periodOf(type, today)));
+            } else {
+                boards.put(type, new RankedScores());
+            }
+        }
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void warmUp() {
+        long startedAt = System.currentTimeMillis();
+        LocalDateTime snapshotTakenAt = loadSnapshot();
+        if (snapshotTakenAt != null) {
+            // Catch up on anything written after the snapshot was taken
+            applyRows(userRepository.findScoresUpdatedSince(snapshotTakenAt));
+        } else {
+            rebuildFromDatabase();
+        }
+        rebuildWindows();
+        logger.info("Leaderboards ready with {} ranked users in {} ms",
+                boards.get(LeaderboardType.POINTS).size(), System.currentTimeMillis() - startedAt);
+    }
+
+    /**
+     * Applies a user's latest scores once the current transaction commits, or immediately
+     * when called outside one.
+     */
+    public void recordScores(Long userId, int totalPoints, int currentStreak) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    applyScores(userId, totalPoints, currentStreak);
+                }
+            });
+        } else {
+            applyScores(userId, totalPoints, currentStreak);
+        }
+    }
+
+    /**
+     * Adds points earned at the given time to the weekly and monthly boards once the
+     * current transaction commits.
+     */
+    public void recordPointsEarned(Long userId, int points, LocalDateTime earnedAt) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    applyPointsEarned(userId, points, earnedAt.toLocalDate());
+                }
+            });
+        } else {
+            applyPointsEarned(userId, points, earnedAt.toLocalDate());
+        }
+    }
+
+    public LeaderboardResponse getTop(LeaderboardType type, int limit, Long userId) {
+        RankedScores board = currentBoard(type);
+        List<LeaderboardEntry> entries = toEntries(board.range(1, clamp(limit)));
+        int rank = userId != null ? board.rankOf(userId) : 0;
+        LeaderboardEntry me = entryAt(rank, board.range(rank, 1));
+        return withPeriod(new LeaderboardResponse(type, board.size(), entries, me), type, 0);
+    }
+
+    public LeaderboardResponse getAround(LeaderboardType type, Long userId, int radius) {
+        RankedScores board = currentBoard(type);
+        int rank = board.rankOf(userId);
+        if (rank == 0) {
+            return withPeriod(new LeaderboardResponse(type, board.size(), Collections.emptyList(), null), type, 0);
+        }
+        int span = clamp(radius);
+        int from = Math.max(1, rank - span);
+        List<LeaderboardEntry> entries = toEntries(board.range(from, rank - from + span + 1));
+        LeaderboardEntry me = entries.stream()
+                .filter(entry -> entry.getUserId().equals(userId))
+                .findFirst()
+                .orElse(null);
+        return withPeriod(new LeaderboardResponse(type, board.size(), entries, me), type, 0);
+    }
+
+    public LeaderboardResponse getArchived(LeaderboardType type, int periodsAgo, int limit, Long userId) {
+        if (!type.isWindowed()) {
+            throw new RuntimeException("Only weekly and monthly leaderboards are archived");
+        }
+        WindowedScores window = windows.get(type);
+        rotateIfDue(type, window);
+        FrozenRanking ranking = window.getArchived(window.getCurrentPeriod() - periodsAgo);
+        if (ranking == null) {
+            return withPeriod(new LeaderboardResponse(type, 0, Collections.emptyList(), null), type, periodsAgo);
+        }
+        List<LeaderboardEntry> entries = toEntries(ranking.range(1, clamp(limit)));
+        int rank = userId != null ? ranking.rankOf(userId) : 0;
+        LeaderboardEntry me = entryAt(rank, ranking.range(rank, 1));
+        return withPeriod(new LeaderboardResponse(type, ranking.size(), entries, me), type, periodsAgo);
+    }
+
+    // Rotation only swaps the open board for an empty one; users' buckets reset lazily
+    @Scheduled(fixedDelayString = "${app.leaderboard.rotation-check-ms:60000}")
+    public void rotateWindows() {
+        windows.forEach(this::rotateIfDue);
+    }
+
+    @Scheduled(fixedDelayString = "${app.leaderboard.snapshot-interval-ms:300000}",
+               initialDelayString = "${app.leaderboard.snapshot-interval-ms:300000}")
+    public void writeSnapshot() {
+        Path target = Paths.get(snapshotPath);
+        try {
+            if (target.getParent() != null) {
+                Files.createDirectories(target.getParent());
+            }
+            Path temp = target.resolveSibling(target.getFileName() + ".tmp");
+            // Taken slightly before the boards are read so the catch-up query on restart overlaps
+            long takenAt = System.currentTimeMillis() - 1000;
+            try (DataOutputStream out = new DataOutputStream(
+                    new BufferedOutputStream(Files.newOutputStream(temp)))) {
+                out.writeInt(SNAPSHOT_MAGIC);
+                out.writeInt(SNAPSHOT_VERSION);
+                out.writeLong(takenAt);
+                out.writeInt(boards.size());
+                for (Map.Entry<LeaderboardType, RankedScores> board : boards.entrySet()) {
+                    out.writeUTF(board.getKey().name());
+                    board.getValue().writeTo(out);
+                }
+            }
+            Files.move(temp, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            logger.warn("Failed to write leaderboard snapshot to {}: {}", target, e.getMessage());
+        }
+    }
+
+    private LocalDateTime loadSnapshot() {
+        Path source = Paths.get(snapshotPath);
+        if (!Files.isReadable(source)) {
+            return null;
+        }
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(source)))) {
+            if (in.readInt() != SNAPSHOT_MAGIC || in.readInt() != SNAPSHOT_VERSION) {
+                logger.warn("Ignoring leaderboard snapshot {} with unknown format", source);
+                return null;
+            }
+            long takenAt = in.readLong();
+            int boardCount = in.readInt();
+            Set<LeaderboardType> loaded = EnumSet.noneOf(LeaderboardType.class);
+            for (int i = 0; i < boardCount; i++) {
+                String name = in.readUTF();
+                RankedScores board = boards.get(LeaderboardType.valueOf(name));
+                board.readFrom(in);
+                loaded.add(LeaderboardType.valueOf(name));
+            }
+            if (!loaded.containsAll(boards.keySet())) {
+                boards.values().forEach(RankedScores::clear);
+                return null;
+            }
+            return LocalDateTime.ofInstant(Instant.ofEpochMilli(takenAt), ZoneId.systemDefault());
+        } catch (IOException | IllegalArgumentException e) {
+            logger.warn("Failed to read leaderboard snapshot {}, rebuilding: {}", source, e.getMessage());
+            boards.values().forEach(RankedScores::clear);
+            return null;
+        }
+    }
+
+    private void rebuildFromDatabase() {
+        long afterId = 0L;
+        while (true) {
+            List<Object[]> rows = userRepository.findScoresAfter(afterId, PageRequest.of(0, rebuildPageSize));
+            if (rows.isEmpty()) {
+                break;
+            }
+            applyRows(rows);
+            afterId = (Long) rows.get(rows.size() - 1)[0];
+        }
+    }
+
+    private void applyRows(List<Object[]> rows) {
+        for (Object[] row : rows) {
+            applyScores((Long) row[0], row[1] != null ? (Integer) row[1] : 0, row[2] != null ? (Integer) row[2] : 0);
+        }
+    }
+
+    private void applyScores(Long userId, int totalPoints, int currentStreak) {
+        boards.get(LeaderboardType.POINTS).update(userId, totalPoints);
+        // Matches the old streak board, which only listed users with an active streak
+        if (currentStreak > 0) {
+            boards.get(LeaderboardType.STREAK).update(userId, currentStreak);
+        } else {
+            boards.get(LeaderboardType.STREAK).remove(userId);
+        }
+    }
+
+    private LeaderboardEntry entryAt(int rank, List<RankedScores.Entry> ranked) {
+        if (rank == 0 || ranked.isEmpty()) {
+            return null;
+        }
+        List<LeaderboardEntry> entries = toEntries(ranked);
+        return entries.isEmpty() ? null : entries.get(0);
+    }
+
+    private RankedScores currentBoard(LeaderboardType type) {
+        if (!type.isWindowed()) {
+            return boards.get(type);
+        }
+        WindowedScores window = windows.get(type);
+        rotateIfDue(type, window);
+        return window.getCurrent();
+    }
+
+    private void rotateIfDue(LeaderboardType type, WindowedScores window) {
+        window.rotate(periodOf(type, LocalDate.now()));
+    }
+
+    private void applyPointsEarned(Long userId, int points, LocalDate earnedOn) {
+        windows.forEach((type, window) -> window.add(userId, periodOf(type, earnedOn), points));
+    }
+
+    // Replays recently awarded points into the open windows and freezes the closed ones
+    private void rebuildWindows() {
+        LocalDate today = LocalDate.now();
+        LocalDate since = today.minusMonths(archivePeriods).withDayOfMonth(1);
+        List<Object[]> rows = pointsLedgerRepository.findPointsAwardedSince(since.atStartOfDay());
+
+        windows.forEach((type, window) -> {
+            int currentPeriod = periodOf(type, today);
+            Map<Integer, Map<Long, Long>> closedTotals = new HashMap<>();
+            for (Object[] row : rows) {
+                Long userId = (Long) row[0];
+                int points = row[1] != null ? (Integer) row[1] : 0;
+                int period = periodOf(type, ((LocalDateTime) row[2]).toLocalDate());
+                window.add(userId, period, points);
+                if (period < currentPeriod && period >= currentPeriod - archivePeriods) {
+                    closedTotals.computeIfAbsent(period, key -> new HashMap<>()).merge(userId, (long) points, Long::sum);
+                }
+            }
+            closedTotals.forEach((period, totals) -> {
+                RankedScores ranking = new RankedScores();
+                totals.forEach(ranking::update);
+                window.archive(period, ranking);
+            });
+        });
+    }
+
+    private LeaderboardResponse withPeriod(LeaderboardResponse response, LeaderboardType type, int periodsAgo) {
+        if (type.isWindowed()) {
+            response.setPeriodStart(periodStart(type, periodOf(type, LocalDate.now()) - periodsAgo));
+        }
+        return response;
+    }
+
+    private static int periodOf(LeaderboardType type, LocalDate date) {
+        if (type == LeaderboardType.WEEKLY) {
+            // Epoch day 0 is a Thursday; shift so weeks start on Monday
+            return (int) Math.floorDiv(date.toEpochDay() + 3, 7);
+        }
+        return date.getYear() * 12 + date.getMonthValue() - 1;
+    }
+
+    private static LocalDate periodStart(LeaderboardType type, int period) {
+        if (type == LeaderboardType.WEEKLY) {
+            return LocalDate.ofEpochDay(period * 7L - 3);
+        }
+        return LocalDate.of(period / 12, period % 12 + 1, 1);
+    }
+
+    private List<LeaderboardEntry> toEntries(List<RankedScores.Entry> ranked) {
+        if (ranked.isEmpty()) {
+            return Collections.emptyList();
+        }
+        List<Long> ids = new ArrayList<>(ranked.size());
+        for (RankedScores.Entry entry : ranked) {
+            ids.add(entry.getId());
+        }
+        Map<Long, Object[]> names = new HashMap<>();
+        for (Object[] row : userRepository.findDisplayNamesByIds(ids)) {
+            names.put((Long) row[0], row);
+        }
+
+        List<LeaderboardEntry> entries = new ArrayList<>(ranked.size());
+        for (RankedScores.Entry entry : ranked) {
+            Object[] name = names.get(entry.getId());
+            if (name == null) {
+                // Deleted since it was ranked (possibly while the node was down); drop it from every board
+                removeUser(entry.getId());
+                continue;
+            }
+            LeaderboardEntry result = new LeaderboardEntry(entry.getRank(), entry.getId(), entry.getScore());
+            result.setUsername((String) name[1]);
+            result.setDisplayName(displayName((String) name[1], (String) name[2], (String) name[3]));
+            entries.add(result);
+        }
+        return entries;
+    }
+
+    private void removeUser(Long userId) {
+        boards.values().forEach(board -> board.remove(userId));
+        windows.values().forEach(window -> window.remove(userId));
+    }
+
+    private static String displayName(String username, String firstName, String lastName) {
+        boolean hasFirst = firstName != null && !firstName.isBlank();
+        boolean hasLast = lastName != null && !lastName.isBlank();
+        if (hasFirst && hasLast) {
+            return firstName + " " + lastName;
+        }
+        if (hasFirst || hasLast) {
+            return hasFirst ? firstName : lastName;
+        }
+        return username;
+    }
+
+    private int clamp(int size) {
+        return Math.max(1, Math.min(size, maxPageSize));
+    }
+}
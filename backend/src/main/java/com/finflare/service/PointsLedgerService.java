@@ -0,0 +1,88 @@
+package com.finflare.service;
+
+import com.finflare.model.PointsLedgerEntry;
+import com.finflare.repository.PointsLedgerRepository;
+import com.finflare.repository.UserRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+@Service
+public class PointsLedgerService {
+
+    private static final Logger logger = LoggerFactory.getLogger(PointsLedgerService.class);
+
+    @Autowired
+    private PointsLedgerRepository pointsLedgerRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Value("${app.points.ledger.retention-days:400}")
+    private int retentionDays;
+
+    @Value("${app.points.ledger.compaction-batch-size:500}")
+    private int compactionBatchSize;
+
+    /**
+     * Appends a ledger row and applies the delta to the user's running balance in the
+     * same transaction. Returns the new balance.
+     */
+    @Transactional
+    public int award(Long userId, int delta, String reason, LocalDateTime awardedAt) {
+        pointsLedgerRepository.save(new PointsLedgerEntry(userId, delta, reason, awardedAt));
+        userRepository.addPoints(userId, delta, awardedAt);
+        Integer balance = userRepository.findTotalPointsById(userId);
+        return balance != null ? balance : 0;
+    }
+
+    // Folds rows older than the retention window into a single checkpoint row per user
+    @Scheduled(cron = "${app.points.ledger.compaction-cron:0 30 3 * * *}")
+    public void compact() {
+        LocalDateTime cutoff = LocalDateTime.now().minusDays(retentionDays);
+        long startedAt = System.currentTimeMillis();
+        long afterUserId = 0L;
+        int compactedUsers = 0;
+
+        while (true) {
+            List<Long> userIds = pointsLedgerRepository.findUserIdsToCompact(
+                    cutoff, afterUserId, PageRequest.of(0, compactionBatchSize));
+            if (userIds.isEmpty()) {
+                break;
+            }
+            transactionTemplate.executeWithoutResult(status -> compactUsers(userIds, cutoff));
+            compactedUsers += userIds.size();
+            afterUserId = userIds.get(userIds.size() - 1);
+        }
+
+        if (compactedUsers > 0) {
+            logger.info("Compacted points ledger for {} users in {} ms",
+                    compactedUsers, System.currentTimeMillis() - startedAt);
+        }
+    }
+
+    private void compactUsers(List<Long> userIds, LocalDateTime cutoff) {
+        List<PointsLedgerEntry> checkpoints = new ArrayList<>(userIds.size());
+        // Stays before the cutoff so the next run folds it together with newer expired rows
+        LocalDateTime checkpointAt = cutoff.minusSeconds(1);
+        for (Object[] row : pointsLedgerRepository.sumDeltasBefore(userIds, cutoff)) {
+            long total = (Long) row[1];
+            checkpoints.add(PointsLedgerEntry.checkpoint((Long) row[0], Math.toIntExact(total), checkpointAt));
+        }
+        pointsLedgerRepository.deleteBefore(userIds, cutoff);
+        pointsLedgerRepository.saveAll(checkpoints);
+    }
+}
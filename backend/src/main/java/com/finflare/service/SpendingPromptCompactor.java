@@ -0,0 +1,181 @@
+package com.finflare.service;
+
+import com.finflare.model.ExpenseCategory;
+import com.finflare.util.TokenEstimator;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.math.BigDecimal;
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.temporal.TemporalAdjusters;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Turns raw expense rows into a compact spending summary for the AI prompt: totals per
+ * category, per week, the biggest recurring descriptions and unusually large expenses.
+ * Sections are added in that order of importance and cut off once the token budget is
+ * reached, so the prompt size no longer grows with the number of expenses.
+ */
+@Component
+public class SpendingPromptCompactor {
+
+    @Value("${app.ai.spending-analysis.token-budget:600}")
+    private int tokenBudget;
+
+    @Value("${app.ai.spending-analysis.top-merchants:5}")
+    private int topMerchants;
+
+    @Value("${app.ai.spending-analysis.max-outliers:5}")
+    private int maxOutliers;
+
+    /**
+     * Rows are [expenseDate, category, description, amount], as returned by
+     * ExpenseRepository.getAnalysisRowsByUserIdAndDateRange.
+     */
+    public String compact(List<Object[]> rows, LocalDate startDate, LocalDate endDate) {
+        Budget budget = new Budget(tokenBudget);
+        budget.add(String.format("Period: %s to %s, %d expenses, total $%.2f",
+                startDate, endDate, rows.size(), total(rows)));
+        if (rows.isEmpty()) {
+            return budget.toString();
+        }
+
+        Map<ExpenseCategory, double[]> byCategory = new EnumMap<>(ExpenseCategory.class);
+        Map<LocalDate, Double> byWeek = new TreeMap<>();
+        Map<String, double[]> byMerchant = new HashMap<>();
+        for (Object[] row : rows) {
+            LocalDate date = (LocalDate) row[0];
+            ExpenseCategory category = (ExpenseCategory) row[1];
+            double amount = ((BigDecimal) row[3]).doubleValue();
+
+            double[] stats = byCategory.computeIfAbsent(category, key -> new double[3]);
+            stats[0] += amount;
+            stats[1]++;
+            stats[2] += amount * amount;
+
+            byWeek.merge(date.with(TemporalAdjusters.previousOrSame(DayOfWeek.MONDAY)), amount, Double::sum);
+
+            String merchant = normalizeDescription((String) row[2]);
+            if (!merchant.isEmpty()) {
+                double[] merchantStats = byMerchant.computeIfAbsent(merchant, key -> new double[2]);
+                merchantStats[0] += amount;
+                merchantStats[1]++;
+            }
+        }
+
+        if (!budget.add("By category (total, count, average):")) {
+            return budget.toString();
+        }
+        List<Map.Entry<ExpenseCategory, double[]>> categories = new ArrayList<>(byCategory.entrySet());
+        categories.sort((a, b) -> Double.compare(b.getValue()[0], a.getValue()[0]));
+        for (Map.Entry<ExpenseCategory, double[]> entry : categories) {
+            double[] stats = entry.getValue();
+            if (!budget.add(String.format("- %s: $%.2f, %d, $%.2f",
+                    entry.getKey().getDisplayName(), stats[0], (long) stats[1], stats[0] / stats[1]))) {
+                return budget.toString();
+            }
+        }
+
+        if (!budget.add("By week starting:")) {
+            return budget.toString();
+        }
+        for (Map.Entry<LocalDate, Double> entry : byWeek.entrySet()) {
+            if (!budget.add(String.format("- %s: $%.2f", entry.getKey(), entry.getValue()))) {
+                return budget.toString();
+            }
+        }
+
+        List<Map.Entry<String, double[]>> merchants = new ArrayList<>(byMerchant.entrySet());
+        merchants.sort(Comparator.<Map.Entry<String, double[]>>comparingDouble(e -> -e.getValue()[0])
+                .thenComparing(Map.Entry::getKey));
+        if (!merchants.isEmpty() && !budget.add("Top merchants:")) {
+            return budget.toString();
+        }
+        for (Map.Entry<String, double[]> entry : merchants.subList(0, Math.min(topMerchants, merchants.size()))) {
+            if (!budget.add(String.format("- %s: $%.2f over %d",
+                    entry.getKey(), entry.getValue()[0], (long) entry.getValue()[1]))) {
+                return budget.toString();
+            }
+        }
+
+        List<Object[]> outliers = findOutliers(rows, byCategory);
+        if (!outliers.isEmpty() && !budget.add("Unusually large expenses:")) {
+            return budget.toString();
+        }
+        for (Object[] row : outliers) {
+            if (!budget.add(String.format("- %s %s: $%.2f (%s)", row[0], normalizeDescription((String) row[2]),
+                    ((BigDecimal) row[3]).doubleValue(), ((ExpenseCategory) row[1]).getDisplayName()))) {
+                break;
+            }
+        }
+        return budget.toString();
+    }
+
+    // Expenses more than two standard deviations above their category mean, largest first
+    private List<Object[]> findOutliers(List<Object[]> rows, Map<ExpenseCategory, double[]> byCategory) {
+        List<Object[]> outliers = new ArrayList<>();
+        for (Object[] row : rows) {
+            double[] stats = byCategory.get((ExpenseCategory) row[1]);
+            if (stats[1] < 3) {
+                continue;
+            }
+            double mean = stats[0] / stats[1];
+            double variance = Math.max(0.0, stats[2] / stats[1] - mean * mean);
+            if (((BigDecimal) row[3]).doubleValue() > mean + 2 * Math.sqrt(variance)) {
+                outliers.add(row);
+            }
+        }
+        outliers.sort((a, b) -> ((BigDecimal) b[3]).compareTo((BigDecimal) a[3]));
+        return outliers.subList(0, Math.min(maxOutliers, outliers.size()));
+    }
+
+    private static double total(List<Object[]> rows) {
+        double total = 0;
+        for (Object[] row : rows) {
+            total += ((BigDecimal) row[3]).doubleValue();
+        }
+        return total;
+    }
+
+    private static String normalizeDescription(String description) {
+        if (description == null) {
+            return "";
+        }
+        String normalized = description.trim().replaceAll("\\s+", " ").toLowerCase(Locale.ROOT);
+        return normalized.length() > 40 ? normalized.substring(0, 40) : normalized;
+    }
+
+    private static final class Budget {
+        private final int limit;
+        private final StringBuilder text = new StringBuilder();
+        private int used;
+
+        Budget(int limit) {
+            this.limit = limit;
+        }
+
+        // Appends the line if it still fits; the first line is always kept
+        boolean add(String line) {
+            int cost = TokenEstimator.estimate(line) + 1;
+            if (used > 0 && used + cost > limit) {
+                return false;
+            }
+            text.append(line).append('\n');
+            used += cost;
+            return true;
+        }
+
+        @Override
+        public String toString() {
+            return text.toString();
+        }
+    }
+}
@@ -0,0 +1,67 @@
+package com.finflare.util;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Immutable ranking captured when a leaderboard window closes. Stored as parallel
+ * primitive arrays in rank order, plus an id-sorted index for rank lookups.
+ */
+public final class FrozenRanking {
+
+    private final int period;
+    private final long[] ids;
+    private final long[] scores;
+    private final long[] sortedIds;
+    private final int[] sortedRanks;
+
+    public FrozenRanking(int period, List<RankedScores.Entry> ranked) {
+        this.period = period;
+        int size = ranked.size();
+        this.ids = new long[size];
+        this.scores = new long[size];
+        for (int i = 0; i < size; i++) {
+            ids[i] = ranked.get(i).getId();
+            scores[i] = ranked.get(i).getScore();
+        }
+
+        Integer[] order = new Integer[size];
+        for (int i = 0; i < size; i++) {
+            order[i] = i;
+        }
+        Arrays.sort(order, (a, b) -> Long.compare(ids[a], ids[b]));
+        this.sortedIds = new long[size];
+        this.sortedRanks = new int[size];
+        for (int i = 0; i < size; i++) {
+            sortedIds[i] = ids[order[i]];
+            sortedRanks[i] = order[i] + 1;
+        }
+    }
+
+    public int getPeriod() {
+        return period;
+    }
+
+    public int size() {
+        return ids.length;
+    }
+
+    /**
+     * Returns the 1-based rank of the id, or 0 if it was not ranked.
+     */
+    public int rankOf(long id) {
+        int index = Arrays.binarySearch(sortedIds, id);
+        return index >= 0 ? sortedRanks[index] : 0;
+    }
+
+    public List<RankedScores.Entry> range(int fromRank, int count) {
+        int from = Math.max(fromRank, 1) - 1;
+        int to = Math.min(ids.length, from + Math.max(count, 0));
+        List<RankedScores.Entry> entries = new ArrayList<>(Math.max(0, to - from));
+        for (int i = from; i < to; i++) {
+            entries.add(new RankedScores.Entry(i + 1, ids[i], scores[i]));
+        }
+        return entries;
+    }
+}
@@ -0,0 +1,78 @@
+package com.finflare.util;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Runs tasks on a fixed set of single-threaded lanes picked by key, so tasks for
+ * the same key run one at a time in submission order while different keys run in
+ * parallel. Submission never blocks: when a lane's queue is full the task is
+ * rejected and the caller decides where it goes instead.
+ */
+public class KeyedSerialExecutor {
+
+    private final ThreadPoolExecutor[] lanes;
+    private final AtomicLong rejected = new AtomicLong();
+
+    public KeyedSerialExecutor(String namePrefix, int laneCount, int queueCapacity) {
+        this.lanes = new ThreadPoolExecutor[laneCount];
+        AtomicInteger threadIndex = new AtomicInteger();
+        for (int i = 0; i < laneCount; i++) {
+            lanes[i] = new ThreadPoolExecutor(1, 1, 0L, TimeUnit.MILLISECONDS,
+                    new LinkedBlockingQueue<>(queueCapacity),
+                    runnable -> {
+                        Thread thread = new Thread(runnable, namePrefix + threadIndex.incrementAndGet());
+                        thread.setDaemon(true);
+                        return thread;
+                    },
+                    new ThreadPoolExecutor.AbortPolicy());
+        }
+    }
+
+    // Returns false, without blocking, when the key's lane is full or shut down
+    public boolean tryExecute(Object key, Runnable task) {
+        try {
+            lanes[Math.floorMod(key.hashCode(), lanes.length)].execute(task);
+            return true;
+        } catch (RejectedExecutionException e) {
+            rejected.incrementAndGet();
+            return false;
+        }
+    }
+
+    public int queuedTasks() {
+        int queued = 0;
+        for (ThreadPoolExecutor lane : lanes) {
+            queued += lane.getQueue().size();
+        }
+        return queued;
+    }
+
+    public long rejectedTasks() {
+        return rejected.get();
+    }
+
+    // Removes and returns the tasks that have not started, lane by lane in submission order
+    public List<Runnable> drainQueued() {
+        List<Runnable> tasks = new ArrayList<>();
+        for (ThreadPoolExecutor lane : lanes) {
+            lane.getQueue().drainTo(tasks);
+        }
+        return tasks;
+    }
+
+    public void shutdown() throws InterruptedException {
+        for (ThreadPoolExecutor lane : lanes) {
+            lane.shutdown();
+        }
+        for (ThreadPoolExecutor lane : lanes) {
+            lane.awaitTermination(30, TimeUnit.SECONDS);
+        }
+    }
+}
@@ -0,0 +1,61 @@
+package com.finflare.util;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Lock-free latency histogram with power-of-two millisecond buckets: bucket 0 holds
+ * samples under 1 ms and bucket i holds [2^(i-1), 2^i) ms. Percentiles are reported
+ * as the upper bound of the bucket they fall in, so they are accurate to within 2x.
+ */
+public class LatencyHistogram {
+
+    private static final int BUCKETS = 24;
+
+    private final AtomicLongArray counts = new AtomicLongArray(BUCKETS);
+    private final LongAdder totalNanos = new LongAdder();
+    private final LongAdder samples = new LongAdder();
+
+    public void record(long nanos) {
+        long millis = Math.max(0L, nanos / 1_000_000L);
+        int bucket = millis == 0 ? 0 : Math.min(BUCKETS - 1, 64 - Long.numberOfLeadingZeros(millis));
+        counts.incrementAndGet(bucket);
+        totalNanos.add(nanos);
+        samples.increment();
+    }
+
+    public Map<String, Object> snapshot() {
+        long[] copy = new long[BUCKETS];
+        long count = 0;
+        for (int i = 0; i < BUCKETS; i++) {
+            copy[i] = counts.get(i);
+            count += copy[i];
+        }
+
+        Map<String, Object> snapshot = new LinkedHashMap<>();
+        snapshot.put("count", count);
+        long sampleCount = samples.sum();
+        snapshot.put("meanMs", sampleCount == 0 ? 0.0 : totalNanos.sum() / 1_000_000.0 / sampleCount);
+        snapshot.put("p50Ms", percentile(copy, count, 0.50));
+        snapshot.put("p90Ms", percentile(copy, count, 0.90));
+        snapshot.put("p99Ms", percentile(copy, count, 0.99));
+        return snapshot;
+    }
+
+    private static long percentile(long[] copy, long count, double quantile) {
+        if (count == 0) {
+            return 0;
+        }
+        long target = (long) Math.ceil(count * quantile);
+        long seen = 0;
+        for (int i = 0; i < copy.length; i++) {
+            seen += copy[i];
+            if (seen >= target) {
+                return 1L << i;
+            }
+        }
+        return 1L << (copy.length - 1);
+    }
+}
@@ -0,0 +1,220 @@
+package com.finflare.util;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+
+/**
+ * Order-statistic treap of (score, id) pairs, highest score first and lower id
+ * first on ties. Updates, rank lookups and rank-range reads are O(log n) plus the
+ * size of the range. All access is synchronized.
+ */
+public class RankedScores {
+
+    private final Map<Long, Long> scores = new HashMap<>();
+    private final SplittableRandom random = new SplittableRandom();
+    private Node root;
+
+    public synchronized void update(long id, long score) {
+        Long current = scores.put(id, score);
+        if (current != null) {
+            if (current == score) {
+                return;
+            }
+            root = delete(root, current, id);
+        }
+        Node node = new Node(id, score, random.nextInt());
+        Node[] parts = split(root, score, id);
+        root = merge(merge(parts[0], node), parts[1]);
+    }
+
+    public synchronized void remove(long id) {
+        Long current = scores.remove(id);
+        if (current != null) {
+            root = delete(root, current, id);
+        }
+    }
+
+    public synchronized void clear() {
+        scores.clear();
+        root = null;
+    }
+
+    public synchronized int size() {
+        return size(root);
+    }
+
+    public synchronized Long scoreOf(long id) {
+        return scores.get(id);
+    }
+
+    /**
+     * Returns the 1-based rank of the id, or 0 if it is not ranked.
+     */
+    public synchronized int rankOf(long id) {
+        Long score = scores.get(id);
+        if (score == null) {
+            return 0;
+        }
+        int before = 0;
+        Node node = root;
+        while (node != null) {
+            int cmp = compare(score, id, node.score, node.id);
+            if (cmp == 0) {
+                return before + size(node.left) + 1;
+            }
+            if (cmp < 0) {
+                node = node.left;
+            } else {
+                before += size(node.left) + 1;
+                node = node.right;
+            }
+        }
+        return 0;
+    }
+
+    /**
+     * Returns up to count entries starting at the 1-based rank fromRank.
+     */
+    public synchronized List<Entry> range(int fromRank, int count) {
+        List<Entry> entries = new ArrayList<>(Math.max(0, Math.min(count, size(root))));
+        if (count > 0) {
+            collect(root, Math.max(fromRank, 1) - 1, Math.max(fromRank, 1) - 1 + count, 0, entries);
+        }
+        return entries;
+    }
+
+    public synchronized void writeTo(DataOutput out) throws IOException {
+        out.writeInt(scores.size());
+        for (Map.Entry<Long, Long> entry : scores.entrySet()) {
+            out.writeLong(entry.getKey());
+            out.writeLong(entry.getValue());
+        }
+    }
+
+    public synchronized void readFrom(DataInput in) throws IOException {
+        clear();
+        int count = in.readInt();
+        for (int i = 0; i < count; i++) {
+            update(in.readLong(), in.readLong());
+        }
+    }
+
+    private void collect(Node node, int from, int to, int base, List<Entry> out) {
+        if (node == null) {
+            return;
+        }
+        int rank = base + size(node.left);
+        if (from < rank) {
+            collect(node.left, from, to, base, out);
+        }
+        if (rank >= from && rank < to) {
+            out.add(new Entry(rank + 1, node.id, node.score));
+        }
+        if (to > rank + 1) {
+            collect(node.right, from, to, rank + 1, out);
+        }
+    }
+
+    // Splits into nodes ordered before (score, id) and the rest
+    private Node[] split(Node node, long score, long id) {
+        if (node == null) {
+            return new Node[] { null, null };
+        }
+        if (compare(node.score, node.id, score, id) < 0) {
+            Node[] parts = split(node.right, score, id);
+            node.right = parts[0];
+            node.update();
+            return new Node[] { node, parts[1] };
+        }
+        Node[] parts = split(node.left, score, id);
+        node.left = parts[1];
+        node.update();
+        return new Node[] { parts[0], node };
+    }
+
+    private Node merge(Node left, Node right) {
+        if (left == null) {
+            return right;
+        }
+        if (right == null) {
+            return left;
+        }
+        if (left.priority > right.priority) {
+            left.right = merge(left.right, right);
+            left.update();
+            return left;
+        }
+        right.left = merge(left, right.left);
+        right.update();
+        return right;
+    }
+
+    private Node delete(Node node, long score, long id) {
+        if (node == null) {
+            return null;
+        }
+        int cmp = compare(score, id, node.score, node.id);
+        if (cmp == 0) {
+            return merge(node.left, node.right);
+        }
+        if (cmp < 0) {
+            node.left = delete(node.left, score, id);
+        } else {
+            node.right = delete(node.right, score, id);
+        }
+        node.update();
+        return node;
+    }
+
+    private static int compare(long scoreA, long idA, long scoreB, long idB) {
+        if (scoreA != scoreB) {
+            return scoreA > scoreB ? -1 : 1;
+        }
+        return Long.compare(idA, idB);
+    }
+
+    private static int size(Node node) {
+        return node == null ? 0 : node.size;
+    }
+
+    private static final class Node {
+        private final long id;
+        private final long score;
+        private final int priority;
+        private int size = 1;
+        private Node left;
+        private Node right;
+
+        Node(long id, long score, int priority) {
+            this.id = id;
+            this.score = score;
+            this.priority = priority;
+        }
+
+        void update() {
+            size = 1 + RankedScores.size(left) + RankedScores.size(right);
+        }
+    }
+
+    public static final class Entry {
+        private final int rank;
+        private final long id;
+        private final long score;
+
+        Entry(int rank, long id, long score) {
+            this.rank = rank;
+            this.id = id;
+            this.score = score;
+        }
+
+        public int getRank() { return rank; }
+        public long getId() { return id; }
+        public long getScore() { return score; }
+    }
+}
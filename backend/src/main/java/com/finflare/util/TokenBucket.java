@@ -0,0 +1,68 @@
+package com.finflare.util;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Lock-free token bucket. Instead of a token count plus a refill timestamp, the whole
+ * state is one "theoretical arrival time" (GCRA): the instant the bucket would be full
+ * again. Taking a token pushes it forward by one refill interval, and a request is
+ * allowed while that stays within capacity intervals of now. A single CAS updates it.
+ */
+public class TokenBucket {
+
+    private final int capacity;
+    private final long intervalNanos;
+    private final long burstNanos;
+    private final AtomicLong fullAt;
+
+    public TokenBucket(int capacity, double refillPerSecond, long nowNanos) {
+        this.capacity = capacity;
+        this.intervalNanos = Math.max(1L, (long) (1_000_000_000L / refillPerSecond));
+        this.burstNanos = intervalNanos * capacity;
+        this.fullAt = new AtomicLong(nowNanos);
+    }
+
+    public Probe tryConsume(long nowNanos) {
+        while (true) {
+            long current = fullAt.get();
+            long next = Math.max(current, nowNanos) + intervalNanos;
+            long debt = next - nowNanos;
+            if (debt > burstNanos) {
+                long untilFull = Math.max(0L, current - nowNanos);
+                return new Probe(false, 0, untilFull, debt - burstNanos);
+            }
+            if (fullAt.compareAndSet(current, next)) {
+                int remaining = (int) ((burstNanos - debt) / intervalNanos);
+                return new Probe(true, remaining, debt, 0L);
+            }
+        }
+    }
+
+    // True once the bucket has been full for at least idleNanos
+    public boolean isIdle(long nowNanos, long idleNanos) {
+        return nowNanos - fullAt.get() >= idleNanos;
+    }
+
+    public int getCapacity() {
+        return capacity;
+    }
+
+    public static final class Probe {
+        private final boolean allowed;
+        private final int remaining;
+        private final long nanosUntilFull;
+        private final long nanosUntilAllowed;
+
+        Probe(boolean allowed, int remaining, long nanosUntilFull, long nanosUntilAllowed) {
+            this.allowed = allowed;
+            this.remaining = remaining;
+            this.nanosUntilFull = nanosUntilFull;
+            this.nanosUntilAllowed = nanosUntilAllowed;
+        }
+
+        public boolean isAllowed() { return allowed; }
+        public int getRemaining() { return remaining; }
+        public long getNanosUntilFull() { return nanosUntilFull; }
+        public long getNanosUntilAllowed() { return nanosUntilAllowed; }
+    }
+}
@@ -0,0 +1,43 @@
+package com.finflare.util;
+
+/**
+ * Cheap, deterministic approximation of a BPE tokenizer's length. Letter runs cost
+ * about one token per four characters, digit runs one per three, whitespace is folded
+ * into the next word and every other character counts as its own token. It errs on
+ * the high side for English text, which is what a budget check wants.
+ */
+public final class TokenEstimator {
+
+    private TokenEstimator() {
+    }
+
+    public static int estimate(CharSequence text) {
+        int tokens = 0;
+        int letters = 0;
+        int digits = 0;
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            if (Character.isLetter(c)) {
+                if (digits > 0) {
+                    tokens += (digits + 2) / 3;
+                    digits = 0;
+                }
+                letters++;
+            } else if (Character.isDigit(c)) {
+                if (letters > 0) {
+                    tokens += (letters + 3) / 4;
+                    letters = 0;
+                }
+                digits++;
+            } else {
+                tokens += (letters + 3) / 4 + (digits + 2) / 3;
+                letters = 0;
+                digits = 0;
+                if (!Character.isWhitespace(c)) {
+                    tokens++;
+                }
+            }
+        }
+        return tokens + (letters + 3) / 4 + (digits + 2) / 3;
+    }
+}
@@ -0,0 +1,116 @@
+package com.finflare.util;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Points earned per calendar window (week, month, ...). Each user keeps a small ring
+ * of per-period buckets, and the open window is ranked in a {@link RankedScores}.
+ * Rotating to a new window freezes the open ranking into an archive and starts an
+ * empty one; user rings are reset lazily the next time a slot is reused, so
+ * rotation does no per-user work.
+ */
+public class WindowedScores {
+
+    private final int slots;
+    private final int archiveLimit;
+    private final Map<Long, Ring> rings = new HashMap<>();
+    private final TreeMap<Integer, FrozenRanking> archive = new TreeMap<>();
+    private RankedScores current = new RankedScores();
+    private int currentPeriod;
+
+    public WindowedScores(int slots, int archiveLimit, int currentPeriod) {
+        this.slots = slots;
+        this.archiveLimit = archiveLimit;
+        this.currentPeriod = currentPeriod;
+    }
+
+    public synchronized void add(long id, int period, long points) {
+        if (period > currentPeriod) {
+            rotate(period);
+        }
+        if (period < currentPeriod - slots + 1) {
+            return;
+        }
+        long total = rings.computeIfAbsent(id, key -> new Ring(slots)).add(period, points);
+        if (period == currentPeriod) {
+            current.update(id, total);
+        }
+    }
+
+    public synchronized void remove(long id) {
+        rings.remove(id);
+        current.remove(id);
+    }
+
+    public synchronized long pointsIn(long id, int period) {
+        Ring ring = rings.get(id);
+        return ring != null ? ring.get(period) : 0;
+    }
+
+    public synchronized void rotate(int period) {
+        if (period <= currentPeriod) {
+            return;
+        }
+        archive(currentPeriod, current);
+        current = new RankedScores();
+        currentPeriod = period;
+    }
+
+    public synchronized void archive(int period, RankedScores ranking) {
+        archive.put(period, new FrozenRanking(period, ranking.range(1, ranking.size())));
+        while (archive.size() > archiveLimit) {
+            archive.pollFirstEntry();
+        }
+    }
+
+    public synchronized RankedScores getCurrent() {
+        return current;
+    }
+
+    public synchronized int getCurrentPeriod() {
+        return currentPeriod;
+    }
+
+    public synchronized FrozenRanking getArchived(int period) {
+        return archive.get(period);
+    }
+
+    public synchronized List<Integer> getArchivedPeriods() {
+        return new ArrayList<>(archive.descendingKeySet());
+    }
+
+    private static final class Ring {
+        private final int[] periods;
+        private final long[] points;
+
+        Ring(int slots) {
+            this.periods = new int[slots];
+            this.points = new long[slots];
+            Arrays.fill(periods, Integer.MIN_VALUE);
+        }
+
+        long add(int period, long delta) {
+            int slot = Math.floorMod(period, periods.length);
+            if (periods[slot] > period) {
+                // Slot already reused by a newer period
+                return 0;
+            }
+            if (periods[slot] != period) {
+                periods[slot] = period;
+                points[slot] = 0;
+            }
+            points[slot] += delta;
+            return points[slot];
+        }
+
+        long get(int period) {
+            int slot = Math.floorMod(period, periods.length);
+            return periods[slot] == period ? points[slot] : 0;
+        }
+    }
+}
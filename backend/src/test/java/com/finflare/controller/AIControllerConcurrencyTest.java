@@ -0,0 +1,87 @@
+package com.finflare.controller;
+
+import com.finflare.llm.LlmGateway;
+import com.finflare.model.User;
+import com.finflare.repository.UserRepository;
+import com.finflare.security.JwtUtils;
+import com.finflare.security.UserPrincipal;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Measurement from the request: concurrent in-flight AI requests per servlet thread.
+ * With the DB work on the bounded scheduler and the LLM call composed reactively, a
+ * servlet thread is released while the provider call is outstanding, so two Tomcat
+ * threads carry many more than two in-flight calls. When the endpoints blocked, the
+ * ratio could not exceed one.
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, properties = {
+        "server.tomcat.threads.max=" + AIControllerConcurrencyTest.SERVLET_THREADS,
+        "server.tomcat.threads.min-spare=" + AIControllerConcurrencyTest.SERVLET_THREADS,
+        "app.llm.stub.first-token-ms=1000",
+        "app.llm.stub.per-token-ms=0",
+        "app.ratelimit.enabled=false"
+})
+@ActiveProfiles("test")
+class AIControllerConcurrencyTest {
+
+    static final int SERVLET_THREADS = 2;
+    private static final int REQUESTS = 24;
+
+    @LocalServerPort
+    private int port;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private JwtUtils jwtUtils;
+
+    @Autowired
+    private LlmGateway llmGateway;
+
+    @Test
+    void servletThreadsAreReleasedDuringTheProviderCall() throws Exception {
+        HttpClient client = HttpClient.newBuilder().connectTimeout(Duration.ofSeconds(5)).build();
+
+        long startedAt = System.nanoTime();
+        List<CompletableFuture<HttpResponse<String>>> responses = new ArrayList<>();
+        for (int i = 0; i < REQUESTS; i++) {
+            // One user per request, so each stores its own insight row and no prompts are coalesced
+            User user = userRepository.save(new User("ai-concurrency-" + i, "ai-concurrency-" + i + "@finflare.test", "unused"));
+            String token = jwtUtils.generateJwtToken(UserPrincipal.create(user));
+            HttpRequest request = HttpRequest.newBuilder(
+                            URI.create("http://localhost:" + port + "/api/ai/budget-advice?monthlyIncome=" + (1000 + i)))
+                    .header("Authorization", "Bearer " + token)
+                    .timeout(Duration.ofSeconds(30))
+                    .build();
+            responses.add(client.sendAsync(request, HttpResponse.BodyHandlers.ofString()));
+        }
+        for (CompletableFuture<HttpResponse<String>> response : responses) {
+            assertThat(response.get().statusCode()).isEqualTo(200);
+        }
+        double seconds = (System.nanoTime() - startedAt) / 1_000_000_000.0;
+
+        int peakInFlight = (Integer) llmGateway.getStats().get("peakInFlight");
+        System.out.printf("AI endpoints: %d requests on %d servlet threads in %.2f s, peak %d in-flight provider calls "
+                        + "(%.1f per servlet thread; at most 1.0 when the request thread blocks)%n",
+                REQUESTS, SERVLET_THREADS, seconds, peakInFlight, (double) peakInFlight / SERVLET_THREADS);
+        assertThat(peakInFlight).isGreaterThan(SERVLET_THREADS);
+        // Blocking threads would need REQUESTS / SERVLET_THREADS one-second rounds
+        assertThat(seconds).isLessThan(REQUESTS / SERVLET_THREADS / 2.0);
+    }
+}
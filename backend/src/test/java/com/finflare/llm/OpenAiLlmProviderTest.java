@@ -0,0 +1,158 @@
+package com.finflare.llm;
+
+import com.finflare.service.AIService;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.codec.ServerSentEvent;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Runs the provider against a local stand-in for the chat completions endpoint. Streaming
+ * requests are answered with a chunked SSE body, one delta per chunk with a pause between.
+ */
+class OpenAiLlmProviderTest {
+
+    private static final Duration TIMEOUT = Duration.ofSeconds(10);
+    private static final List<String> STREAMED_TOKENS = List.of("Cook", " at", " home", " more", " often.");
+    private static final long CHUNK_PAUSE_MS = 150;
+
+    private HttpServer server;
+    private volatile String completionBody;
+
+    @BeforeEach
+    void startServer() throws IOException {
+        server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        server.createContext("/v1/chat/completions", exchange -> {
+            String request = new String(exchange.getRequestBody().readAllBytes(), StandardCharsets.UTF_8);
+            if (request.contains("\"stream\":true")) {
+                streamCompletion(exchange);
+                return;
+            }
+            byte[] body = completionBody.getBytes(StandardCharsets.UTF_8);
+            exchange.getResponseHeaders().add("Content-Type", "application/json");
+            exchange.sendResponseHeaders(200, body.length);
+            try (OutputStream out = exchange.getResponseBody()) {
+                out.write(body);
+            }
+        });
+        server.start();
+    }
+
+    @AfterEach
+    void stopServer() {
+        server.stop(0);
+    }
+
+    @Test
+    void returnsMessageContentAndUsage() {
+        completionBody = "{\"choices\":[{\"message\":{\"role\":\"assistant\",\"content\":\"GROCERIES\"}}],"
+                + "\"usage\":{\"total_tokens\":42}}";
+
+        LlmCompletion completion = provider().complete(new LlmRequest("Categorize", 50)).block(TIMEOUT);
+
+        assertThat(completion.getContent()).isEqualTo("GROCERIES");
+        assertThat(completion.getTotalTokens()).isEqualTo(42);
+    }
+
+    @Test
+    void missingMessageContentIsAnError() {
+        completionBody = "{\"choices\":[],\"usage\":{\"total_tokens\":7}}";
+
+        assertThatThrownBy(() -> provider().complete(new LlmRequest("Categorize", 50)).block(TIMEOUT))
+                .hasMessageContaining("no message content");
+    }
+
+    @Test
+    void streamsTokensAsChunksArrive() {
+        long startedAt = System.nanoTime();
+        List<String> tokens = new ArrayList<>();
+        List<Long> arrivedAtMs = new ArrayList<>();
+
+        provider().stream(new LlmRequest("How do I save?", 200))
+                .doOnNext(token -> {
+                    tokens.add(token);
+                    arrivedAtMs.add((System.nanoTime() - startedAt) / 1_000_000);
+                })
+                .blockLast(TIMEOUT);
+
+        assertThat(tokens).containsExactlyElementsOf(STREAMED_TOKENS);
+        // The first token is relayed while the stub is still writing the rest of the reply
+        long firstTokenMs = arrivedAtMs.get(0);
+        long lastTokenMs = arrivedAtMs.get(arrivedAtMs.size() - 1);
+        assertThat(lastTokenMs - firstTokenMs).isGreaterThanOrEqualTo(CHUNK_PAUSE_MS * (STREAMED_TOKENS.size() - 2));
+    }
+
+    @Test
+    void chatStreamRelaysTokensThenDone() {
+        LlmGateway gateway = new LlmGateway();
+        ReflectionTestUtils.setField(gateway, "provider", provider());
+        gateway.init();
+        AIService aiService = new AIService();
+        ReflectionTestUtils.setField(aiService, "llmGateway", gateway);
+
+        List<ServerSentEvent<String>> events = aiService.streamChatbotResponse("How do I save?", null)
+                .collectList()
+                .block(TIMEOUT);
+
+        assertThat(events).extracting(ServerSentEvent::event)
+                .containsExactly("token", "token", "token", "token", "token", "done");
+        assertThat(events.stream().map(ServerSentEvent::data).collect(Collectors.joining()))
+                .isEqualTo(String.join("", STREAMED_TOKENS));
+    }
+
+    // Role chunk, a keep-alive comment, one content delta per chunk, a finish chunk, then [DONE], flushed one by one
+    private void streamCompletion(HttpExchange exchange) throws IOException {
+        exchange.getResponseHeaders().add("Content-Type", "text/event-stream");
+        exchange.sendResponseHeaders(200, 0);
+        try (OutputStream out = exchange.getResponseBody()) {
+            writeEvent(out, "{\"choices\":[{\"delta\":{\"role\":\"assistant\"}}]}");
+            out.write(": keep-alive\n\n".getBytes(StandardCharsets.UTF_8));
+            out.flush();
+            for (String token : STREAMED_TOKENS) {
+                writeEvent(out, "{\"choices\":[{\"delta\":{\"content\":\"" + token + "\"}}]}");
+                try {
+                    Thread.sleep(CHUNK_PAUSE_MS);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    return;
+                }
+            }
+            writeEvent(out, "{\"choices\":[{\"delta\":{},\"finish_reason\":\"stop\"}]}");
+            writeEvent(out, "[DONE]");
+        }
+    }
+
+    private static void writeEvent(OutputStream out, String data) throws IOException {
+        out.write(("data: " + data + "\n\n").getBytes(StandardCharsets.UTF_8));
+        out.flush();
+    }
+
+    private OpenAiLlmProvider provider() {
+        OpenAiLlmProvider provider = new OpenAiLlmProvider();
+        ReflectionTestUtils.setField(provider, "openaiApiKey", "test-key");
+        ReflectionTestUtils.setField(provider, "openaiApiUrl", "http://127.0.0.1:" + server.getAddress().getPort() + "/v1");
+        ReflectionTestUtils.setField(provider, "model", "test-model");
+        ReflectionTestUtils.setField(provider, "maxConcurrency", 4);
+        ReflectionTestUtils.setField(provider, "maxConnections", 4);
+        ReflectionTestUtils.setField(provider, "http2", false);
+        ReflectionTestUtils.setField(provider, "connectTimeoutMs", 3000);
+        ReflectionTestUtils.setField(provider, "responseTimeoutMs", 10000L);
+        provider.init();
+        return provider;
+    }
+}
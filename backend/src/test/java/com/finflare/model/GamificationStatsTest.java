@@ -0,0 +1,50 @@
+package com.finflare.model;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class GamificationStatsTest {
+
+    @Test
+    void activeDaysStayWithinColumnLength() {
+        GamificationStats stats = new GamificationStats(1L);
+        long today = LocalDate.of(2024, 6, 1).toEpochDay();
+
+        assertThat(stats.markActiveDay(today)).isTrue();
+        // Far outside the window in either direction
+        assertThat(stats.markActiveDay(LocalDate.of(1990, 1, 1).toEpochDay())).isFalse();
+        assertThat(stats.markActiveDay(today + 9000)).isTrue();
+        assertThat(stats.markActiveDay(today + 9000)).isFalse();
+        assertThat(stats.markActiveDay(today + 8999)).isTrue();
+
+        assertThat(stats.getActiveDayCount()).isEqualTo(3);
+    }
+
+    @Test
+    void budgetKeptMonthsMustBeConsecutive() {
+        GamificationStats stats = new GamificationStats(1L);
+        int january = 2024 * 12;
+
+        stats.recordBudgetKept(january, january);
+        stats.recordBudgetKept(january + 1, january + 1);
+        stats.recordBudgetKept(january + 1, january + 1);
+        assertThat(stats.getBudgetKeptMonths()).isEqualTo(2);
+
+        // March skipped
+        stats.recordBudgetKept(january + 3, january + 3);
+        assertThat(stats.getBudgetKeptMonths()).isEqualTo(1);
+
+        // A quarter kept counts each of its months
+        stats.recordBudgetKept(january + 4, january + 6);
+        assertThat(stats.getBudgetKeptMonths()).isEqualTo(4);
+
+        stats.recordBudgetMissed(january + 7);
+        stats.recordBudgetKept(january + 7, january + 7);
+        assertThat(stats.getBudgetKeptMonths()).isZero();
+        stats.recordBudgetKept(january + 8, january + 8);
+        assertThat(stats.getBudgetKeptMonths()).isEqualTo(1);
+    }
+}
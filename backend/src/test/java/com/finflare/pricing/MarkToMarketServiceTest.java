@@ -0,0 +1,79 @@
+package com.finflare.pricing;
+
+import com.finflare.model.User;
+import com.finflare.repository.UserRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.math.BigDecimal;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest(properties = {
+        "app.prices.source=file",
+        "app.prices.file.path=" + MarkToMarketServiceTest.PRICE_FILE,
+        "app.prices.rows-per-transaction=" + MarkToMarketServiceTest.ROWS_PER_TRANSACTION,
+        "app.prices.mark-interval-ms=3600000"
+})
+@ActiveProfiles("test")
+class MarkToMarketServiceTest {
+
+    static final String PRICE_FILE = "target/mark-to-market-test-prices.csv";
+    static final int ROWS_PER_TRANSACTION = 25;
+
+    @Autowired
+    private MarkToMarketService markToMarketService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @AfterEach
+    void tearDown() throws Exception {
+        jdbcTemplate.execute("TRUNCATE TABLE investments");
+        Files.deleteIfExists(Paths.get(PRICE_FILE));
+    }
+
+    @Test
+    void writesPricesInBoundedTransactionsAndLeavesUnpricedSymbolsAlone() throws Exception {
+        Long userId = userRepository.save(new User("mark-to-market-bound", "mark-to-market-bound@finflare.test", "unused")).getId();
+        // 40 holdings each of AAA and BBB are priced by the file; CCC is not in it
+        jdbcTemplate.update("INSERT INTO investments (symbol, name, type, quantity, purchase_price, purchase_date, user_id) "
+                + "SELECT CASE MOD(\"X\", 3) WHEN 0 THEN 'AAA' WHEN 1 THEN 'BBB' ELSE 'CCC' END, 'Holding', 'STOCK', 1, "
+                + "10.00, CURRENT_TIMESTAMP, ? FROM SYSTEM_RANGE(1, 120)", userId);
+        Path prices = Paths.get(PRICE_FILE);
+        Files.createDirectories(prices.getParent());
+        Files.writeString(prices, "AAA,12.50\nBBB,7.25\n");
+
+        markToMarketService.markToMarket();
+
+        Map<String, Object> stats = markToMarketService.getStats();
+        long rows = (Long) stats.get("lastMarkedRows");
+        int transactions = (Integer) stats.get("lastMarkedTransactions");
+        assertThat(stats).containsEntry("lastMarkedSymbols", 2);
+        assertThat(rows).isEqualTo(80L);
+        assertThat(transactions).isGreaterThanOrEqualTo(80 / ROWS_PER_TRANSACTION + 1);
+        assertThat(rows).isLessThanOrEqualTo((long) transactions * ROWS_PER_TRANSACTION);
+
+        assertThat(priceCount("AAA", "12.50")).isEqualTo(40);
+        assertThat(priceCount("BBB", "7.25")).isEqualTo(40);
+        assertThat(jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM investments WHERE symbol = 'CCC' AND current_price IS NULL", Integer.class))
+                .isEqualTo(40);
+    }
+
+    private int priceCount(String symbol, String price) {
+        return jdbcTemplate.queryForObject("SELECT COUNT(*) FROM investments WHERE symbol = ? AND current_price = ?",
+                Integer.class, symbol, new BigDecimal(price));
+    }
+}
@@ -0,0 +1,26 @@
+package com.finflare.pricing;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class PriceTableTest {
+
+    @Test
+    void seedIsNotAPriceUntilTheSourceSuppliesOne() {
+        PriceTable table = new PriceTable();
+        int id = table.register("aapl", 5000);
+
+        assertThat(table.priceOf("AAPL")).isZero();
+        assertThat(table.referencePriceOf(id)).isEqualTo(5000);
+        assertThat(table.drainChanged().size()).isZero();
+
+        assertThat(table.update("AAPL", 5100)).isTrue();
+        assertThat(table.priceOf("AAPL")).isEqualTo(5100);
+        assertThat(table.referencePriceOf(id)).isEqualTo(5100);
+
+        // A later symbol refresh moves the seed, not the supplied price
+        table.register("AAPL", 4000);
+        assertThat(table.priceOf("AAPL")).isEqualTo(5100);
+    }
+}
@@ -0,0 +1,96 @@
+package com.finflare.security;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.Collections;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+import static org.mockito.Mockito.withSettings;
+
+/**
+ * Benchmark from the request: the bearer-token filter path with and without the
+ * verified-token cache. JMH is not on the build's classpath, so this uses the same
+ * warm-up and best-of-rounds timing loop as the other benchmarks.
+ */
+class AuthTokenFilterBenchmarkTest {
+
+    private static final int REQUESTS_PER_ROUND = 10_000;
+    private static final int ROUNDS = 5;
+
+    @AfterEach
+    void clearContext() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    void cachedVerificationBeatsVerifyingEveryRequest() throws Exception {
+        JwtUtils issuer = jwtUtils(0);
+        String token = issuer.generateJwtToken(new UserPrincipal(1L, "bench", "bench@finflare.test", null,
+                Collections.singleton(new SimpleGrantedAuthority("ROLE_USER"))));
+
+        double uncachedMicros = microsPerRequest(filter(jwtUtils(0)), token);
+        double cachedMicros = microsPerRequest(filter(jwtUtils(4096)), token);
+
+        System.out.printf("Auth filter: %.2f us/request verifying every token, %.2f us/request with the verified-token cache%n",
+                uncachedMicros, cachedMicros);
+        assertThat(cachedMicros).isLessThan(uncachedMicros);
+    }
+
+    private double microsPerRequest(AuthTokenFilter filter, String token) throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/dashboard");
+        request.addHeader("Authorization", "Bearer " + token);
+
+        // Warm-up, and a check that the token is actually accepted on this path
+        runRound(filter, request);
+        assertThat(SecurityContextHolder.getContext().getAuthentication()).isNotNull();
+
+        long bestNanos = Long.MAX_VALUE;
+        for (int round = 0; round < ROUNDS; round++) {
+            long started = System.nanoTime();
+            runRound(filter, request);
+            bestNanos = Math.min(bestNanos, System.nanoTime() - started);
+        }
+        return bestNanos / 1000.0 / REQUESTS_PER_ROUND;
+    }
+
+    private void runRound(AuthTokenFilter filter, MockHttpServletRequest request) throws Exception {
+        for (int i = 0; i < REQUESTS_PER_ROUND; i++) {
+            SecurityContextHolder.clearContext();
+            filter.doFilter(request, new MockHttpServletResponse(), new MockFilterChain());
+        }
+    }
+
+    private static AuthTokenFilter filter(JwtUtils jwtUtils) {
+        // Stub-only mocks so the timing loop does not record millions of invocations
+        UserStatusCache userStatusCache = mock(UserStatusCache.class, withSettings().stubOnly());
+        when(userStatusCache.isTokenAllowed(anyLong(), any())).thenReturn(true);
+        TokenRevocationService revocations = mock(TokenRevocationService.class, withSettings().stubOnly());
+        when(revocations.isRevoked(any())).thenReturn(false);
+
+        AuthTokenFilter filter = new AuthTokenFilter();
+        ReflectionTestUtils.setField(filter, "jwtUtils", jwtUtils);
+        ReflectionTestUtils.setField(filter, "userStatusCache", userStatusCache);
+        ReflectionTestUtils.setField(filter, "tokenRevocationService", revocations);
+        return filter;
+    }
+
+    private static JwtUtils jwtUtils(int verifiedCacheSize) {
+        JwtUtils jwtUtils = new JwtUtils();
+        ReflectionTestUtils.setField(jwtUtils, "jwtSecret", "finflareTestSigningKeyThatIsLongEnoughForHs256Hmac");
+        ReflectionTestUtils.setField(jwtUtils, "jwtExpirationMs", 900_000);
+        ReflectionTestUtils.setField(jwtUtils, "verifiedCacheSize", verifiedCacheSize);
+        jwtUtils.init();
+        return jwtUtils;
+    }
+}
@@ -0,0 +1,118 @@
+package com.finflare.security;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadPoolExecutor;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Benchmark from the request: sign-in password checks per second per hashing core,
+ * with request threads handing BCrypt work to the bounded hashing pool the way
+ * AuthController does.
+ */
+class PasswordHashingServiceBenchmarkTest {
+
+    private static final int COST = 10;
+    private static final int LOGINS_PER_THREAD = 8;
+
+    private ThreadPoolTaskExecutor hashExecutor;
+    private ExecutorService requestThreads;
+
+    @AfterEach
+    void shutdown() {
+        if (requestThreads != null) {
+            requestThreads.shutdownNow();
+        }
+        if (hashExecutor != null) {
+            hashExecutor.shutdown();
+        }
+    }
+
+    @Test
+    void loginsPerSecondPerCore() throws Exception {
+        int poolSize = Math.max(1, Runtime.getRuntime().availableProcessors() / 2);
+        PasswordHashingService hashingService = hashingService(poolSize, 64);
+        AdaptiveBCryptPasswordEncoder encoder = new AdaptiveBCryptPasswordEncoder(COST);
+        String stored = encoder.encode("correct horse battery staple");
+
+        // Warm-up
+        assertThat(hashingService.call(() -> encoder.matches("correct horse battery staple", stored))).isTrue();
+
+        // Twice as many request threads as hashing threads, so the pool stays saturated
+        requestThreads = Executors.newFixedThreadPool(poolSize * 2);
+        int logins = poolSize * LOGINS_PER_THREAD;
+        List<Future<Boolean>> results = new ArrayList<>(logins);
+        long started = System.nanoTime();
+        for (int i = 0; i < logins; i++) {
+            results.add(requestThreads.submit(() ->
+                    hashingService.call(() -> encoder.matches("correct horse battery staple", stored))));
+        }
+        for (Future<Boolean> result : results) {
+            assertThat(result.get()).isTrue();
+        }
+        double seconds = (System.nanoTime() - started) / 1_000_000_000.0;
+
+        double loginsPerSecond = logins / seconds;
+        System.out.printf("Password hashing: %d logins at cost %d in %.2f s on %d hashing threads: "
+                        + "%.1f logins/s, %.1f logins/s per core%n",
+                logins, COST, seconds, poolSize, loginsPerSecond, loginsPerSecond / poolSize);
+        assertThat(loginsPerSecond).isPositive();
+    }
+
+    @Test
+    void fullQueueFailsFastInsteadOfWaiting() throws Exception {
+        PasswordHashingService hashingService = hashingService(1, 1);
+        requestThreads = Executors.newFixedThreadPool(2);
+        Object release = new Object();
+
+        // One running and one queued task fill the pool
+        for (int i = 0; i < 2; i++) {
+            requestThreads.submit(() -> hashingService.call(() -> {
+                synchronized (release) {
+                    release.wait(5_000);
+                }
+                return true;
+            }));
+        }
+        while (hashExecutor.getThreadPoolExecutor().getQueue().isEmpty()) {
+            Thread.sleep(5);
+        }
+
+        long before = System.nanoTime();
+        Throwable rejection = null;
+        try {
+            hashingService.call(() -> true);
+        } catch (PasswordHashingBusyException e) {
+            rejection = e;
+        }
+        assertThat(rejection).isNotNull();
+        assertThat(System.nanoTime() - before).isLessThan(100_000_000L);
+
+        synchronized (release) {
+            release.notifyAll();
+        }
+    }
+
+    private PasswordHashingService hashingService(int poolSize, int queueCapacity) {
+        hashExecutor = new ThreadPoolTaskExecutor();
+        hashExecutor.setCorePoolSize(poolSize);
+        hashExecutor.setMaxPoolSize(poolSize);
+        hashExecutor.setQueueCapacity(queueCapacity);
+        hashExecutor.setThreadNamePrefix("password-hash-");
+        hashExecutor.setRejectedExecutionHandler(new ThreadPoolExecutor.AbortPolicy());
+        hashExecutor.initialize();
+
+        PasswordHashingService hashingService = new PasswordHashingService();
+        ReflectionTestUtils.setField(hashingService, "passwordHashExecutor", hashExecutor);
+        return hashingService;
+    }
+}
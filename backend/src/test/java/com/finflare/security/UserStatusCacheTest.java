@@ -0,0 +1,76 @@
+package com.finflare.security;
+
+import com.finflare.repository.UserRepository;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Collections;
+import java.util.Date;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class UserStatusCacheTest {
+
+    @Mock
+    private UserRepository userRepository;
+
+    @Mock
+    private RefreshTokenService refreshTokenService;
+
+    @InjectMocks
+    private UserStatusCache userStatusCache;
+
+    @Test
+    void revokedTokensIssuedEarlierInTheSameSecondAreRejected() {
+        // Signed tokens carry iat truncated to the second
+        Date issuedThisSecond = new Date(System.currentTimeMillis() / 1000 * 1000);
+
+        userStatusCache.revokeTokens(1L);
+
+        assertThat(userStatusCache.isTokenAllowed(1L, issuedThisSecond)).isFalse();
+        assertThat(userStatusCache.isTokenAllowed(1L, new Date(System.currentTimeMillis() + 2000))).isTrue();
+        assertThat(userStatusCache.isTokenAllowed(2L, issuedThisSecond)).isTrue();
+    }
+
+    @Test
+    void restrictionsMadeDuringARefreshSurviveTheSwap() {
+        ReflectionTestUtils.setField(userStatusCache, "accessTokenExpirationMs", 900_000L);
+        Date issuedBefore = new Date(System.currentTimeMillis() - 5000);
+        // The reload reads the table, then the user is revoked and disabled here before the swap
+        when(userRepository.findTokenRevocationsSince(any())).thenAnswer(invocation -> {
+            userStatusCache.revokeTokens(1L);
+            userStatusCache.disableUser(2L);
+            return Collections.emptyList();
+        });
+        when(userRepository.findDisabledUserIds()).thenReturn(List.of());
+
+        userStatusCache.refresh();
+
+        assertThat(userStatusCache.isTokenAllowed(1L, issuedBefore)).isFalse();
+        assertThat(userStatusCache.isTokenAllowed(2L, new Date())).isFalse();
+    }
+
+    @Test
+    void refreshOnlyLoadsRevocationsYoungerThanAnAccessToken() {
+        ReflectionTestUtils.setField(userStatusCache, "accessTokenExpirationMs", 900_000L);
+        when(userRepository.findTokenRevocationsSince(any())).thenReturn(List.of());
+        when(userRepository.findDisabledUserIds()).thenReturn(List.of());
+
+        userStatusCache.refresh();
+
+        verify(userRepository).findTokenRevocationsSince(argThat(since ->
+                Duration.between(since, LocalDateTime.now().minusMinutes(15)).abs().getSeconds() < 5));
+    }
+}
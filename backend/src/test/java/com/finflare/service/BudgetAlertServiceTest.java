@@ -0,0 +1,155 @@
+package com.finflare.service;
+
+import com.finflare.model.AlertStatus;
+import com.finflare.model.Budget;
+import com.finflare.model.BudgetAlert;
+import com.finflare.model.ExpenseCategory;
+import com.finflare.model.User;
+import com.finflare.repository.BudgetAlertRepository;
+import com.finflare.repository.BudgetRepository;
+import com.finflare.repository.UserRepository;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BooleanSupplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest(properties = "app.alerts.digest.window-ms=0")
+@ActiveProfiles("test")
+class BudgetAlertServiceTest {
+
+    private static final SmtpStandIn smtp;
+
+    static {
+        try {
+            smtp = new SmtpStandIn();
+        } catch (IOException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    @DynamicPropertySource
+    static void mailProperties(DynamicPropertyRegistry registry) {
+        registry.add("spring.mail.host", () -> "localhost");
+        registry.add("spring.mail.port", smtp::getPort);
+        registry.add("spring.mail.username", () -> "alerts@finflare.test");
+        registry.add("spring.mail.properties.mail.smtp.auth", () -> "false");
+        registry.add("spring.mail.properties.mail.smtp.starttls.enable", () -> "false");
+    }
+
+    @Autowired
+    private BudgetAlertService budgetAlertService;
+
+    @Autowired
+    private BudgetAlertRepository budgetAlertRepository;
+
+    @Autowired
+    private BudgetRepository budgetRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @AfterAll
+    static void stopSmtp() throws IOException {
+        smtp.close();
+    }
+
+    @BeforeEach
+    void reset() {
+        budgetAlertRepository.deleteAll();
+        smtp.reset();
+    }
+
+    @Test
+    void sendsOneDigestPerUserAndMarksAlertsSent() throws Exception {
+        User user = saveUser();
+        queueAlert(saveBudget(user, ExpenseCategory.GROCERIES), user);
+        queueAlert(saveBudget(user, ExpenseCategory.TRAVEL), user);
+
+        budgetAlertService.dispatchDigests();
+
+        await(() -> allAlertsHaveStatus(AlertStatus.SENT));
+        assertThat(smtp.getMessages()).hasSize(1);
+        SmtpStandIn.Message message = smtp.getMessages().get(0);
+        assertThat(message.recipients).containsExactly("<" + user.getEmail() + ">");
+        assertThat(message.data)
+                .contains("Subject: FinFlare budget alerts (2)")
+                .contains("Groceries")
+                .contains("Travel");
+    }
+
+    @Test
+    void concurrentRunsSendEachDigestOnce() throws Exception {
+        User user = saveUser();
+        queueAlert(saveBudget(user, ExpenseCategory.GROCERIES), user);
+
+        ExecutorService runners = Executors.newFixedThreadPool(2);
+        CountDownLatch start = new CountDownLatch(1);
+        try {
+            for (int i = 0; i < 2; i++) {
+                runners.submit(() -> {
+                    start.await();
+                    budgetAlertService.dispatchDigests();
+                    return null;
+                });
+            }
+            start.countDown();
+            runners.shutdown();
+            assertThat(runners.awaitTermination(10, TimeUnit.SECONDS)).isTrue();
+        } finally {
+            runners.shutdownNow();
+        }
+
+        await(() -> allAlertsHaveStatus(AlertStatus.SENT));
+        // Give a duplicate send time to show up
+        Thread.sleep(500);
+        assertThat(smtp.getMessages()).hasSize(1);
+    }
+
+    private boolean allAlertsHaveStatus(AlertStatus status) {
+        List<BudgetAlert> alerts = budgetAlertRepository.findAll();
+        return !alerts.isEmpty() && alerts.stream().allMatch(alert -> alert.getStatus() == status);
+    }
+
+    private User saveUser() {
+        String name = "alerts-" + UUID.randomUUID().toString().substring(0, 8);
+        return userRepository.save(new User(name, name + "@example.com", "not-a-real-hash"));
+    }
+
+    private Budget saveBudget(User user, ExpenseCategory category) {
+        LocalDate start = LocalDate.now().withDayOfMonth(1);
+        Budget budget = new Budget(category, new BigDecimal("100.00"), start, start.plusMonths(1).minusDays(1), user);
+        budget.setSpentAmount(new BigDecimal("90.00"));
+        return budgetRepository.save(budget);
+    }
+
+    private void queueAlert(Budget budget, User user) {
+        budgetAlertRepository.save(new BudgetAlert(budget, user));
+    }
+
+    private static void await(BooleanSupplier condition) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 10_000;
+        while (!condition.getAsBoolean()) {
+            if (System.currentTimeMillis() > deadline) {
+                throw new AssertionError("Condition not met within 10s");
+            }
+            Thread.sleep(50);
+        }
+    }
+}
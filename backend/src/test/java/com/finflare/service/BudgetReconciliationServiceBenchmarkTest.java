@@ -0,0 +1,78 @@
+package com.finflare.service;
+
+import com.finflare.dto.ReconciliationReport;
+import com.finflare.model.JobStatus;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Measurement from the request: reconcile a million budgets in minutes with the shipped
+ * throttle (partition size, parallelism, pause and batch size from application.properties).
+ * Every budget has drifted, the worst case for the fix batches. Only runs with -Pbenchmark.
+ */
+@SpringBootTest(properties = {
+        "app.budgets.reconcile.users-per-partition=1000",
+        "app.budgets.reconcile.parallelism=4",
+        "app.budgets.reconcile.pause-ms=50",
+        "app.budgets.reconcile.batch-size=500"
+})
+@ActiveProfiles("test")
+@Tag("benchmark")
+class BudgetReconciliationServiceBenchmarkTest {
+
+    private static final int USERS = 100_000;
+    private static final int BUDGETS_PER_USER = 10;
+    private static final String[] CATEGORIES = {
+        "FOOD_DINING", "TRANSPORTATION", "SHOPPING", "ENTERTAINMENT", "BILLS_UTILITIES",
+        "HEALTHCARE", "EDUCATION", "TRAVEL", "GROCERIES", "OTHER"
+    };
+
+    @Autowired
+    private BudgetReconciliationService reconciliationService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    void reconcilesAMillionBudgetsInMinutes() throws Exception {
+        long firstUserId = jdbcTemplate.queryForObject("SELECT COALESCE(MAX(id), 0) + 1 FROM users", Long.class);
+        jdbcTemplate.update("INSERT INTO users (id, username, email, password, role, enabled) "
+                + "SELECT ? + \"X\", CONCAT('reconcile-bench-', \"X\"), CONCAT('reconcile-bench-', \"X\", '@example.com'), "
+                + "'not-a-real-hash', 'USER', TRUE FROM SYSTEM_RANGE(0, " + (USERS - 1) + ")", firstUserId);
+        // No expenses, so every stored spend of 10.00 is drift
+        for (int i = 0; i < BUDGETS_PER_USER; i++) {
+            jdbcTemplate.update("INSERT INTO budgets (category, budget_amount, spent_amount, start_date, end_date, "
+                    + "period, alert_enabled, alert_threshold, is_active, user_id) "
+                    + "SELECT ?, 500.00, 10.00, CURRENT_DATE, DATEADD('DAY', 30, CURRENT_DATE), 'MONTHLY', TRUE, 80, TRUE, "
+                    + "? + \"X\" FROM SYSTEM_RANGE(0, " + (USERS - 1) + ")", CATEGORIES[i], firstUserId);
+        }
+        long budgets = (long) USERS * BUDGETS_PER_USER;
+
+        long startedAt = System.nanoTime();
+        Long runId = reconciliationService.startOrResume("benchmark").getRunId();
+        AtomicBoolean running = (AtomicBoolean) ReflectionTestUtils.getField(reconciliationService, "running");
+        while (running.get()) {
+            Thread.sleep(100);
+        }
+        double seconds = (System.nanoTime() - startedAt) / 1_000_000_000.0;
+        ReconciliationReport report = reconciliationService.getReport(runId);
+
+        System.out.printf("Reconciliation: %d budgets checked, %d fixed across %d partitions in %.1f s "
+                        + "(%.0f budgets/s with the shipped throttle)%n",
+                report.getBudgetsChecked(), report.getBudgetsFixed(), report.getTotalPartitions(), seconds,
+                report.getBudgetsChecked() / seconds);
+        assertThat(report.getStatus()).isEqualTo(JobStatus.COMPLETED);
+        assertThat(report.getBudgetsChecked()).isGreaterThanOrEqualTo(budgets);
+        assertThat(report.getBudgetsFixed()).isGreaterThanOrEqualTo(budgets);
+        assertThat(seconds).isLessThan(600.0);
+    }
+}
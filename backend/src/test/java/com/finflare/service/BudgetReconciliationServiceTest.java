@@ -0,0 +1,142 @@
+package com.finflare.service;
+
+import com.finflare.dto.ReconciliationReport;
+import com.finflare.model.Budget;
+import com.finflare.model.Expense;
+import com.finflare.model.ExpenseCategory;
+import com.finflare.model.JobStatus;
+import com.finflare.model.User;
+import com.finflare.repository.BudgetRepository;
+import com.finflare.repository.ExpenseRepository;
+import com.finflare.repository.UserRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.SpyBean;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.doAnswer;
+
+@SpringBootTest(properties = {
+        "app.budgets.reconcile.users-per-partition=1",
+        "app.budgets.reconcile.pause-ms=0"
+})
+@ActiveProfiles("test")
+class BudgetReconciliationServiceTest {
+
+    private static final String BUMP_SPENT_SQL = "UPDATE budgets SET spent_amount = spent_amount + 5 WHERE id = ?";
+
+    @Autowired
+    private BudgetReconciliationService reconciliationService;
+
+    @Autowired
+    private BudgetRepository budgetRepository;
+
+    @Autowired
+    private ExpenseRepository expenseRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    // Lets a test act between a partition's read and its fix batch
+    @SpyBean
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    void fixesDriftButNotBudgetsWrittenSinceTheRead() throws Exception {
+        User user = createUser();
+        Budget drifted = createBudget(user, ExpenseCategory.FOOD_DINING, "100.00", "60.00");
+        Budget accurate = createBudget(user, ExpenseCategory.TRANSPORTATION, "25.00", "25.00");
+        Budget racing = createBudget(user, ExpenseCategory.ENTERTAINMENT, "10.00", "30.00");
+
+        // An expense lands on the racing budget after the partition read it
+        doAnswer(invocation -> {
+            if (containsBudget(invocation.getArgument(1), racing.getId())) {
+                jdbcTemplate.update(BUMP_SPENT_SQL, racing.getId());
+            }
+            return invocation.callRealMethod();
+        }).when(jdbcTemplate).batchUpdate(anyString(), anyList());
+
+        ReconciliationReport report = runToEnd(reconciliationService.startOrResume("test").getRunId());
+
+        assertThat(report.getStatus()).isEqualTo(JobStatus.COMPLETED);
+        assertThat(report.getBudgetsChecked()).isGreaterThanOrEqualTo(3);
+        assertThat(report.getTotalDrift()).isGreaterThanOrEqualTo(new BigDecimal("60.00"));
+        assertThat(spentOf(drifted)).isEqualByComparingTo("60.00");
+        assertThat(spentOf(accurate)).isEqualByComparingTo("25.00");
+        // The compare-and-set missed, so the concurrent write is kept rather than overwritten
+        assertThat(spentOf(racing)).isEqualByComparingTo("15.00");
+    }
+
+    @Test
+    void resumesTheUnfinishedPartitionsOfAFailedRun() throws Exception {
+        User user = createUser();
+        Budget drifted = createBudget(user, ExpenseCategory.SHOPPING, "80.00", "20.00");
+
+        AtomicBoolean failed = new AtomicBoolean();
+        doAnswer(invocation -> {
+            if (containsBudget(invocation.getArgument(1), drifted.getId()) && failed.compareAndSet(false, true)) {
+                throw new IllegalStateException("database went away");
+            }
+            return invocation.callRealMethod();
+        }).when(jdbcTemplate).batchUpdate(anyString(), anyList());
+
+        Long runId = reconciliationService.startOrResume("test").getRunId();
+        ReconciliationReport stopped = runToEnd(runId);
+        assertThat(stopped.getStatus()).isEqualTo(JobStatus.RUNNING);
+        assertThat(stopped.getFailureReason()).contains("database went away");
+        assertThat(stopped.getCompletedPartitions()).isLessThan(stopped.getTotalPartitions());
+        assertThat(spentOf(drifted)).isEqualByComparingTo("80.00");
+
+        ReconciliationReport resumed = reconciliationService.startOrResume("test");
+        assertThat(resumed.getRunId()).isEqualTo(runId);
+        ReconciliationReport finished = runToEnd(runId);
+        assertThat(finished.getStatus()).isEqualTo(JobStatus.COMPLETED);
+        assertThat(finished.getFailureReason()).isNull();
+        assertThat(finished.getCompletedPartitions()).isEqualTo(finished.getTotalPartitions());
+        assertThat(spentOf(drifted)).isEqualByComparingTo("20.00");
+    }
+
+    private ReconciliationReport runToEnd(Long runId) throws InterruptedException {
+        AtomicBoolean running = (AtomicBoolean) ReflectionTestUtils.getField(reconciliationService, "running");
+        long deadline = System.currentTimeMillis() + 30_000;
+        while (running.get() && System.currentTimeMillis() < deadline) {
+            Thread.sleep(20);
+        }
+        assertThat(running.get()).isFalse();
+        return reconciliationService.getReport(runId);
+    }
+
+    private User createUser() {
+        String name = "reconcile-" + UUID.randomUUID().toString().substring(0, 8);
+        return userRepository.save(new User(name, name + "@example.com", "not-a-real-hash"));
+    }
+
+    // A budget whose stored spend is `stored` while its expenses add up to `actual`
+    private Budget createBudget(User user, ExpenseCategory category, String stored, String actual) {
+        LocalDate start = LocalDate.now().withDayOfMonth(1);
+        Budget budget = new Budget(category, new BigDecimal("500.00"), start, start.plusMonths(1).minusDays(1), user);
+        budget.setSpentAmount(new BigDecimal(stored));
+        expenseRepository.save(new Expense(new BigDecimal(actual), "Reconciliation test", category, start, user));
+        return budgetRepository.save(budget);
+    }
+
+    private BigDecimal spentOf(Budget budget) {
+        return budgetRepository.findById(budget.getId()).orElseThrow().getSpentAmount();
+    }
+
+    private static boolean containsBudget(List<Object[]> fixes, Long budgetId) {
+        return fixes.stream().anyMatch(fix -> budgetId.equals(fix[1]));
+    }
+}
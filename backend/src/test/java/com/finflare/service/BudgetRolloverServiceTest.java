@@ -0,0 +1,78 @@
+package com.finflare.service;
+
+import com.finflare.model.Budget;
+import com.finflare.model.BudgetPeriod;
+import com.finflare.model.Expense;
+import com.finflare.model.ExpenseCategory;
+import com.finflare.model.User;
+import com.finflare.repository.BudgetRepository;
+import com.finflare.repository.ExpenseRepository;
+import com.finflare.repository.UserRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest
+@ActiveProfiles("test")
+class BudgetRolloverServiceTest {
+
+    @Autowired
+    private BudgetRolloverService budgetRolloverService;
+
+    @Autowired
+    private BudgetRepository budgetRepository;
+
+    @Autowired
+    private ExpenseRepository expenseRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Test
+    void rollsExpiredBudgetsIntoSeededSuccessors() {
+        LocalDate today = LocalDate.now();
+        String name = "rollover-" + UUID.randomUUID().toString().substring(0, 8);
+        User user = userRepository.save(new User(name, name + "@example.com", "not-a-real-hash"));
+
+        LocalDate lastMonth = today.withDayOfMonth(1).minusMonths(1);
+        Budget monthly = new Budget(ExpenseCategory.GROCERIES, new BigDecimal("100.00"),
+                lastMonth, lastMonth.plusMonths(1).minusDays(1), user);
+        budgetRepository.save(monthly);
+
+        Budget weekly = new Budget(ExpenseCategory.TRAVEL, new BigDecimal("50.00"),
+                today.minusDays(14), today.minusDays(8), user);
+        weekly.setPeriod(BudgetPeriod.WEEKLY);
+        budgetRepository.save(weekly);
+
+        expenseRepository.save(new Expense(new BigDecimal("20.00"), "Market", ExpenseCategory.GROCERIES, today, user));
+        expenseRepository.save(new Expense(new BigDecimal("5.00"), "Bus", ExpenseCategory.TRAVEL, today, user));
+        // Inside the monthly window but before the weekly successor starts
+        expenseRepository.save(new Expense(new BigDecimal("10.00"), "Taxi", ExpenseCategory.TRAVEL, today.minusDays(10), user));
+
+        budgetRolloverService.rollOverExpiredBudgets();
+
+        List<Budget> active = budgetRepository.findByUserAndIsActiveOrderByCreatedAtDesc(user, true);
+        assertThat(active).hasSize(2);
+
+        Budget nextMonthly = active.stream().filter(b -> b.getCategory() == ExpenseCategory.GROCERIES).findFirst().orElseThrow();
+        assertThat(nextMonthly.getStartDate()).isEqualTo(today.withDayOfMonth(1));
+        assertThat(nextMonthly.getPeriod()).isEqualTo(BudgetPeriod.MONTHLY);
+        assertThat(nextMonthly.getSpentAmount()).isEqualByComparingTo("20.00");
+
+        Budget nextWeekly = active.stream().filter(b -> b.getCategory() == ExpenseCategory.TRAVEL).findFirst().orElseThrow();
+        assertThat(nextWeekly.getStartDate()).isEqualTo(today);
+        assertThat(nextWeekly.getEndDate()).isEqualTo(today.plusDays(6));
+        assertThat(nextWeekly.getSpentAmount()).isEqualByComparingTo("5.00");
+
+        assertThat(budgetRepository.findById(monthly.getId()).orElseThrow().isActive()).isFalse();
+        assertThat(budgetRepository.findById(weekly.getId()).orElseThrow().isActive()).isFalse();
+    }
+}
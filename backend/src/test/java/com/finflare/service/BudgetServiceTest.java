@@ -0,0 +1,83 @@
+package com.finflare.service;
+
+import com.finflare.model.Budget;
+import com.finflare.model.BudgetAlert;
+import com.finflare.model.ExpenseCategory;
+import com.finflare.model.User;
+import com.finflare.repository.BudgetAlertRepository;
+import com.finflare.repository.BudgetRepository;
+import com.finflare.repository.UserRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest
+@ActiveProfiles("test")
+class BudgetServiceTest {
+
+    private static final int THREADS = 8;
+    private static final int EXPENSES_PER_THREAD = 25;
+
+    @Autowired
+    private BudgetService budgetService;
+
+    @Autowired
+    private BudgetRepository budgetRepository;
+
+    @Autowired
+    private BudgetAlertRepository budgetAlertRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Test
+    void concurrentExpensesAreAllCountedAndTheThresholdAlertIsQueued() throws Exception {
+        String name = "spending-" + UUID.randomUUID().toString().substring(0, 8);
+        User user = userRepository.save(new User(name, name + "@example.com", "not-a-real-hash"));
+        LocalDate start = LocalDate.now().withDayOfMonth(1);
+        Budget budget = budgetRepository.save(new Budget(ExpenseCategory.FOOD_DINING, new BigDecimal("1000.00"),
+                start, start.plusMonths(1).minusDays(1), user));
+
+        ExecutorService pool = Executors.newFixedThreadPool(THREADS);
+        CountDownLatch go = new CountDownLatch(1);
+        for (int t = 0; t < THREADS; t++) {
+            pool.execute(() -> {
+                try {
+                    go.await();
+                    for (int i = 0; i < EXPENSES_PER_THREAD; i++) {
+                        budgetService.updateBudgetSpending(user.getId(), ExpenseCategory.FOOD_DINING,
+                                new BigDecimal("4.50"), LocalDate.now());
+                    }
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            });
+        }
+        go.countDown();
+        pool.shutdown();
+        assertThat(pool.awaitTermination(30, TimeUnit.SECONDS)).isTrue();
+
+        // 200 x 4.50 = 900.00: every addition counted, the 80% threshold crossed, the limit not
+        assertThat(budgetRepository.findById(budget.getId()).orElseThrow().getSpentAmount())
+                .isEqualByComparingTo("900.00");
+        List<BudgetAlert> alerts = budgetAlertRepository.findAll().stream()
+                .filter(alert -> budget.getId().equals(alert.getBudgetId()))
+                .collect(Collectors.toList());
+        assertThat(alerts).isNotEmpty();
+        assertThat(alerts).allMatch(alert -> alert.getSpentAmount().compareTo(new BigDecimal("800.00")) >= 0
+                && !alert.isOverBudget());
+    }
+}
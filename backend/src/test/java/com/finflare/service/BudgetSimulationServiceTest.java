@@ -0,0 +1,165 @@
+package com.finflare.service;
+
+import com.finflare.dto.BudgetResponse;
+import com.finflare.dto.BudgetScenario;
+import com.finflare.dto.BudgetScenarioChange;
+import com.finflare.dto.BudgetScenarioResult;
+import com.finflare.dto.BudgetSimulationRequest;
+import com.finflare.dto.BudgetSimulationResponse;
+import com.finflare.model.BudgetPeriod;
+import com.finflare.model.ExpenseCategory;
+import com.finflare.repository.BudgetRepository;
+import com.finflare.repository.ExpenseRepository;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class BudgetSimulationServiceTest {
+
+    private static final Long USER_ID = 1L;
+
+    @Mock
+    private ExpenseRepository expenseRepository;
+
+    @Mock
+    private BudgetRepository budgetRepository;
+
+    @InjectMocks
+    private BudgetSimulationService budgetSimulationService;
+
+    @Test
+    void replaysSpendingAgainstEachScenario() {
+        LocalDate today = LocalDate.now();
+        givenBudgets(budget(ExpenseCategory.GROCERIES, "100.00", BudgetPeriod.MONTHLY));
+        givenDailyTotals(List.<Object[]>of(new Object[] { today, ExpenseCategory.GROCERIES, new BigDecimal("90.00") }));
+
+        BudgetSimulationResponse response = budgetSimulationService.simulate(USER_ID,
+                request(1, scenario("tight", change(ExpenseCategory.GROCERIES, "50.00", null))));
+
+        // 90 of 100 crosses the 80% threshold only
+        assertThat(response.getCurrent().getAlertCount()).isEqualTo(1);
+        assertThat(response.getCurrent().getOverBudgetDays()).isZero();
+        assertThat(response.getCurrent().getProjectedSavings()).isEqualByComparingTo("0");
+
+        BudgetScenarioResult tight = response.getScenarios().get(0);
+        assertThat(tight.getName()).isEqualTo("tight");
+        assertThat(tight.getAlertCount()).isEqualTo(2);
+        assertThat(tight.getOverBudgetDays()).isEqualTo(1);
+        assertThat(tight.getProjectedSavings()).isEqualByComparingTo("40.00");
+    }
+
+    /**
+     * Benchmark from the request: 100 scenarios over two years of daily spending should
+     * come back well under a second. Best of several runs, after warm-up.
+     */
+    @Test
+    void hundredScenariosOverTwoYearsRunWellUnderASecond() {
+        int months = 24;
+        LocalDate endDate = LocalDate.now();
+        LocalDate startDate = endDate.minusMonths(months).plusDays(1);
+        ExpenseCategory[] categories = ExpenseCategory.values();
+        BudgetPeriod[] periods = BudgetPeriod.values();
+        Random random = new Random(42);
+
+        List<Object[]> rows = new ArrayList<>();
+        for (LocalDate date = startDate; !date.isAfter(endDate); date = date.plusDays(1)) {
+            for (ExpenseCategory category : categories) {
+                if (random.nextInt(3) == 0) {
+                    rows.add(new Object[] { date, category, BigDecimal.valueOf(100 + random.nextInt(20000), 2) });
+                }
+            }
+        }
+        givenDailyTotals(rows);
+
+        List<BudgetResponse> budgets = new ArrayList<>();
+        for (ExpenseCategory category : categories) {
+            budgets.add(budget(category, "1500.00", BudgetPeriod.MONTHLY));
+        }
+        givenBudgets(budgets.toArray(new BudgetResponse[0]));
+
+        List<BudgetScenario> scenarios = new ArrayList<>();
+        for (int i = 0; i < 100; i++) {
+            BudgetScenario scenario = new BudgetScenario();
+            scenario.setName("scenario-" + i);
+            for (ExpenseCategory category : categories) {
+                BudgetScenarioChange change = change(category,
+                        BigDecimal.valueOf(50_000 + random.nextInt(300_000), 2).toPlainString(),
+                        periods[random.nextInt(periods.length)]);
+                change.setAlertThreshold(50 + random.nextInt(50));
+                scenario.getChanges().add(change);
+            }
+            scenarios.add(scenario);
+        }
+        BudgetSimulationRequest request = new BudgetSimulationRequest();
+        request.setMonths(months);
+        request.setScenarios(scenarios);
+
+        for (int i = 0; i < 5; i++) {
+            budgetSimulationService.simulate(USER_ID, request);
+        }
+
+        long bestNanos = Long.MAX_VALUE;
+        BudgetSimulationResponse response = null;
+        for (int i = 0; i < 5; i++) {
+            long started = System.nanoTime();
+            response = budgetSimulationService.simulate(USER_ID, request);
+            bestNanos = Math.min(bestNanos, System.nanoTime() - started);
+        }
+
+        System.out.printf("Budget simulation: 100 scenarios x %d days x %d categories in %.1f ms%n",
+                endDate.toEpochDay() - startDate.toEpochDay() + 1, categories.length,
+                bestNanos / 1_000_000.0);
+        assertThat(response.getScenarios()).hasSize(100);
+        assertThat(bestNanos).isLessThan(1_000_000_000L);
+    }
+
+    private void givenDailyTotals(List<Object[]> rows) {
+        when(expenseRepository.getDailyCategoryTotalsByUserIdAndDateRange(eq(USER_ID), any(), any())).thenReturn(rows);
+    }
+
+    private void givenBudgets(BudgetResponse... budgets) {
+        when(budgetRepository.findActiveResponsesByUserId(USER_ID)).thenReturn(List.of(budgets));
+    }
+
+    private static BudgetResponse budget(ExpenseCategory category, String amount, BudgetPeriod period) {
+        LocalDate start = LocalDate.now().withDayOfMonth(1);
+        return new BudgetResponse(null, category, new BigDecimal(amount), BigDecimal.ZERO,
+                start, start.plusMonths(1).minusDays(1), period, true, 80, true, null, null);
+    }
+
+    private static BudgetScenarioChange change(ExpenseCategory category, String amount, BudgetPeriod period) {
+        BudgetScenarioChange change = new BudgetScenarioChange();
+        change.setCategory(category);
+        change.setBudgetAmount(new BigDecimal(amount));
+        change.setPeriod(period);
+        return change;
+    }
+
+    private static BudgetScenario scenario(String name, BudgetScenarioChange... changes) {
+        BudgetScenario scenario = new BudgetScenario();
+        scenario.setName(name);
+        scenario.setChanges(new ArrayList<>(List.of(changes)));
+        return scenario;
+    }
+
+    private static BudgetSimulationRequest request(int months, BudgetScenario... scenarios) {
+        BudgetSimulationRequest request = new BudgetSimulationRequest();
+        request.setMonths(months);
+        request.setScenarios(List.of(scenarios));
+        return request;
+    }
+}
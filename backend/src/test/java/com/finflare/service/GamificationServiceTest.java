@@ -0,0 +1,63 @@
+package com.finflare.service;
+
+import com.finflare.event.ExpenseAddedEvent;
+import com.finflare.model.Expense;
+import com.finflare.model.ExpenseCategory;
+import com.finflare.model.GamificationStats;
+import com.finflare.model.User;
+import com.finflare.repository.ExpenseRepository;
+import com.finflare.repository.GamificationStatsRepository;
+import com.finflare.repository.UserRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest
+@ActiveProfiles("test")
+class GamificationServiceTest {
+
+    @Autowired
+    private GamificationService gamificationService;
+
+    @Autowired
+    private GamificationStatsRepository gamificationStatsRepository;
+
+    @Autowired
+    private ExpenseRepository expenseRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Test
+    void seededDailyCountUsesTheDayExpensesWereLogged() {
+        String name = "tracker-" + UUID.randomUUID().toString().substring(0, 8);
+        User user = userRepository.save(new User(name, name + "@example.com", "not-a-real-hash"));
+        // Both logged today; one is backdated, so counting by expenseDate would see only one
+        expenseRepository.save(new Expense(new BigDecimal("12.00"), "Lunch", ExpenseCategory.FOOD_DINING,
+                LocalDate.now(), user));
+        Expense backdated = expenseRepository.save(new Expense(new BigDecimal("40.00"), "Last week's groceries",
+                ExpenseCategory.FOOD_DINING, LocalDate.now().minusDays(6), user));
+
+        gamificationService.handleExpenseAdded(new ExpenseAddedEvent(user.getId(), backdated.getId(),
+                backdated.getCategory(), backdated.getExpenseDate(), LocalDateTime.now()));
+        GamificationStats seeded = gamificationStatsRepository.findById(user.getId()).orElseThrow();
+        assertThat(seeded.getCountDay()).isEqualTo(LocalDate.now().toEpochDay());
+        assertThat(seeded.getCountDayExpenses()).isEqualTo(2);
+
+        // The next expense logged today is counted on top of the seed
+        Expense next = expenseRepository.save(new Expense(new BigDecimal("3.50"), "Coffee",
+                ExpenseCategory.FOOD_DINING, LocalDate.now().minusDays(1), user));
+        gamificationService.handleExpenseAdded(new ExpenseAddedEvent(user.getId(), next.getId(),
+                next.getCategory(), next.getExpenseDate(), LocalDateTime.now()));
+        assertThat(gamificationStatsRepository.findById(user.getId()).orElseThrow().getCountDayExpenses())
+                .isEqualTo(3);
+    }
+}
@@ -0,0 +1,64 @@
+package com.finflare.service;
+
+import com.finflare.model.InvestmentType;
+import com.finflare.pricing.PriceTable;
+import com.finflare.repository.InvestmentRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class InvestmentServiceTest {
+
+    @Mock
+    private InvestmentRepository investmentRepository;
+
+    @Mock
+    private PriceTable priceTable;
+
+    @InjectMocks
+    private InvestmentService investmentService;
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(investmentService, "summaryCacheSize", 100);
+        investmentService.init();
+    }
+
+    @Test
+    void summaryBuiltAcrossAnInvalidationIsNotCached() {
+        List<Object[]> before = positions(new BigDecimal("100"));
+        List<Object[]> after = positions(new BigDecimal("250"));
+        when(investmentRepository.getPositionsByUserId(1L))
+                .thenAnswer(invocation -> {
+                    // A trade commits while this read is building its summary
+                    ReflectionTestUtils.invokeMethod(investmentService, "invalidate", 1L);
+                    return before;
+                })
+                .thenReturn(after);
+
+        assertThat(investmentService.getPortfolioSummary(1L).getTotalValue()).isEqualByComparingTo("100");
+        assertThat(investmentService.getPortfolioSummary(1L).getTotalValue()).isEqualByComparingTo("250");
+        assertThat(investmentService.getPortfolioSummary(1L).getTotalValue()).isEqualByComparingTo("250");
+        verify(investmentRepository, times(2)).getPositionsByUserId(1L);
+    }
+
+    private static List<Object[]> positions(BigDecimal value) {
+        List<Object[]> rows = new ArrayList<>();
+        rows.add(new Object[] { InvestmentType.STOCK, "AAPL", 10L, new BigDecimal("100"), value });
+        return rows;
+    }
+}
@@ -0,0 +1,50 @@
+package com.finflare.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class KeyedSerialExecutorTest {
+
+    @Test
+    void fullLaneRejectsInsteadOfBlocking() throws Exception {
+        KeyedSerialExecutor executor = new KeyedSerialExecutor("test-", 1, 2);
+        CountDownLatch release = new CountDownLatch(1);
+        CountDownLatch started = new CountDownLatch(1);
+        try {
+            assertThat(executor.tryExecute(1L, () -> {
+                started.countDown();
+                awaitQuietly(release);
+            })).isTrue();
+            assertThat(started.await(5, TimeUnit.SECONDS)).isTrue();
+
+            Runnable queued = () -> { };
+            assertThat(executor.tryExecute(1L, queued)).isTrue();
+            assertThat(executor.tryExecute(1L, queued)).isTrue();
+
+            long before = System.nanoTime();
+            assertThat(executor.tryExecute(1L, queued)).isFalse();
+            assertThat(System.nanoTime() - before).isLessThan(TimeUnit.MILLISECONDS.toNanos(100));
+            assertThat(executor.rejectedTasks()).isEqualTo(1);
+
+            List<Runnable> drained = executor.drainQueued();
+            assertThat(drained).hasSize(2);
+            assertThat(executor.queuedTasks()).isZero();
+        } finally {
+            release.countDown();
+            executor.shutdown();
+        }
+    }
+
+    private static void awaitQuietly(CountDownLatch latch) {
+        try {
+            latch.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
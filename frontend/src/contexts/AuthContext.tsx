@@ -42,14 +42,21 @@ export const AuthProvider: React.FC<AuthProviderProps> = ({ children }) => {
       const token = localStorage.getItem('finflare_token');
       if (token) {
         try {
-          const response = await apiService.validateToken();
+          let response = await apiService.validateToken();
+          if (!response.valid && localStorage.getItem('finflare_refresh_token')) {
+            // Access tokens are short-lived; renew before giving up on the session
+            await apiService.refreshSession();
+            response = await apiService.validateToken();
+          }
           if (response.valid && response.user) {
             setUser(response.user);
           } else {
             localStorage.removeItem('finflare_token');
+            localStorage.removeItem('finflare_refresh_token');
           }
         } catch (error) {
           localStorage.removeItem('finflare_token');
+          localStorage.removeItem('finflare_refresh_token');
         }
       }
       setLoading(false);
@@ -62,6 +69,9 @@ export const AuthProvider: React.FC<AuthProviderProps> = ({ children }) => {
     try {
       const response = await apiService.login(username, password);
       localStorage.setItem('finflare_token', response.accessToken);
+      if (response.refreshToken) {
+        localStorage.setItem('finflare_refresh_token', response.refreshToken);
+      }
       setUser(response);
       toast.success('Welcome back!');
       return true;
@@ -92,7 +102,11 @@ export const AuthProvider: React.FC<AuthProviderProps> = ({ children }) => {
   };
 
   const logout = () => {
+    const refreshToken = localStorage.getItem('finflare_refresh_token');
+    // Revokes the access and refresh tokens server-side; the local session ends either way
+    apiService.logout(refreshToken).catch(() => undefined);
     localStorage.removeItem('finflare_token');
+    localStorage.removeItem('finflare_refresh_token');
     setUser(null);
     toast.success('Logged out successfully');
   };
@@ -1,4 +1,4 @@
-import axios, { AxiosInstance, AxiosResponse } from 'axios';
+import axios, { AxiosInstance, AxiosResponse, InternalAxiosRequestConfig } from 'axios';
 import { 
   AuthResponse, 
   User, 
@@ -10,8 +10,12 @@ import {
   FinancialForecast 
 } from '../types';
 
+type RetryableRequest = InternalAxiosRequestConfig & { _retried?: boolean };
+
 class ApiService {
   private api: AxiosInstance;
+  // Shared by concurrent 401s: a refresh token is single-use, so a second refresh with it would end the session
+  private refreshing: Promise<string> | null = null;
 
   constructor() {
     this.api = axios.create({
@@ -33,25 +37,68 @@ class ApiService {
       (error) => Promise.reject(error)
     );
 
-    // Add response interceptor to handle auth errors
+    // Add response interceptor to refresh expired access tokens and handle auth errors
     this.api.interceptors.response.use(
       (response) => response,
-      (error) => {
-        if (error.response?.status === 401) {
-          localStorage.removeItem('finflare_token');
-          window.location.href = '/login';
+      async (error) => {
+        const original = error.config as RetryableRequest | undefined;
+        if (error.response?.status !== 401 || !original) {
+          return Promise.reject(error);
+        }
+
+        if (!original._retried && !original.url?.startsWith('/auth/')) {
+          original._retried = true;
+          try {
+            const accessToken = await this.refreshSession();
+            original.headers.Authorization = `Bearer ${accessToken}`;
+            return this.api(original);
+          } catch {
+            // Fall through to logging out
+          }
         }
+
+        localStorage.removeItem('finflare_token');
+        localStorage.removeItem('finflare_refresh_token');
+        window.location.href = '/login';
         return Promise.reject(error);
       }
     );
   }
 
+  // Exchanges the stored refresh token for a new access token and refresh token
+  refreshSession(): Promise<string> {
+    const refreshToken = localStorage.getItem('finflare_refresh_token');
+    if (!refreshToken) {
+      return Promise.reject(new Error('No refresh token'));
+    }
+    if (!this.refreshing) {
+      // Plain axios, so a failed refresh does not re-enter the interceptor
+      this.refreshing = axios
+        .post<AuthResponse>('/api/auth/refresh', { refreshToken })
+        .then((response) => {
+          localStorage.setItem('finflare_token', response.data.accessToken);
+          if (response.data.refreshToken) {
+            localStorage.setItem('finflare_refresh_token', response.data.refreshToken);
+          }
+          return response.data.accessToken;
+        })
+        .finally(() => {
+          this.refreshing = null;
+        });
+    }
+    return this.refreshing;
+  }
+
   // Auth endpoints
   async login(username: string, password: string): Promise<AuthResponse> {
     const response = await this.api.post('/auth/signin', { username, password });
     return response.data;
   }
 
+  async logout(refreshToken: string | null): Promise<void> {
+    await this.api.post('/auth/logout', refreshToken ? { refreshToken } : {});
+  }
+
   async register(userData: {
     username: string;
     email: string;
@@ -11,6 +11,8 @@ export interface User {
 
 export interface AuthResponse {
   accessToken: string;
+  refreshToken?: string;
+  expiresIn?: number;
   tokenType: string;
   id: number;
   username: string;